@@ -0,0 +1,3 @@
+ALTER TABLE genetic_sequences ADD COLUMN digest CHAR(32) NULL AFTER sequence;
+
+CREATE INDEX idx_digest ON genetic_sequences(digest);
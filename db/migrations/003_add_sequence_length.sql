@@ -0,0 +1,8 @@
+ALTER TABLE genetic_sequences ADD COLUMN length INT NULL AFTER sequence;
+
+UPDATE genetic_sequences SET length = CHAR_LENGTH(sequence) WHERE length IS NULL;
+
+-- Rows stored before 002 get their digest here; ASCII sequences hash the same as in SequenceDigest
+UPDATE genetic_sequences SET digest = LEFT(SHA2(sequence, 256), 32) WHERE digest IS NULL;
+
+ALTER TABLE genetic_sequences MODIFY length INT NOT NULL;
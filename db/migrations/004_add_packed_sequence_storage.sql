@@ -0,0 +1,4 @@
+ALTER TABLE genetic_sequences
+    MODIFY sequence LONGTEXT NULL,
+    ADD COLUMN packed_sequence LONGBLOB NULL AFTER sequence,
+    ADD COLUMN checksum INT UNSIGNED NULL AFTER packed_sequence;
@@ -0,0 +1,181 @@
+package master.ucaldas.algorithm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton compiled into a dense DFA over the alphabet actually used by the
+ * motifs (A/C/G/T/N for nucleotide panels). Scanning is a single case-insensitive pass with one
+ * table lookup per character; characters that appear in no motif send the automaton back to
+ * the root. A compiled automaton is immutable and can be shared across sequences and threads.
+ */
+public class AhoCorasick {
+    private static final int ALPHABET_LIMIT = 128;
+
+    private final List<String> patterns;
+    private final int[] patternLengths;
+    private final byte[] symbols;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[] firstOutput;
+    private final int[] nextOutput;
+    private final int[] outputPattern;
+
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int patternIndex, int start);
+    }
+
+    private AhoCorasick(List<String> patterns, int[] patternLengths, byte[] symbols, int alphabetSize,
+                        int[] transitions, int[] firstOutput, int[] nextOutput, int[] outputPattern) {
+        this.patterns = patterns;
+        this.patternLengths = patternLengths;
+        this.symbols = symbols;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.firstOutput = firstOutput;
+        this.nextOutput = nextOutput;
+        this.outputPattern = outputPattern;
+    }
+
+    public static AhoCorasick compile(Collection<String> motifs) {
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String motif : motifs) {
+            if (motif == null || motif.isEmpty()) {
+                throw new IllegalArgumentException("El motivo no puede estar vacío");
+            }
+            unique.add(motif.toUpperCase());
+        }
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un motivo");
+        }
+        List<String> patterns = List.copyOf(unique);
+
+        byte[] symbols = new byte[ALPHABET_LIMIT];
+        Arrays.fill(symbols, (byte) -1);
+        int alphabetSize = 0;
+        int totalLength = 0;
+        for (String pattern : patterns) {
+            totalLength += pattern.length();
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c >= ALPHABET_LIMIT) {
+                    throw new IllegalArgumentException("Carácter no soportado en el motivo: " + c);
+                }
+                if (symbols[c] < 0) {
+                    symbols[c] = (byte) alphabetSize;
+                    symbols[Character.toLowerCase(c)] = (byte) alphabetSize;
+                    alphabetSize++;
+                }
+            }
+        }
+
+        int maxStates = totalLength + 1;
+        int[] transitions = new int[maxStates * alphabetSize];
+        Arrays.fill(transitions, -1);
+        int[] terminal = new int[maxStates];
+        Arrays.fill(terminal, -1);
+        int[] patternLengths = new int[patterns.size()];
+        int states = 1;
+
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            patternLengths[p] = pattern.length();
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int slot = state * alphabetSize + symbols[pattern.charAt(i)];
+                if (transitions[slot] < 0) {
+                    transitions[slot] = states++;
+                }
+                state = transitions[slot];
+            }
+            terminal[state] = p;
+        }
+
+        int[] fail = new int[states];
+        int[] dictionaryLink = new int[states];
+        Arrays.fill(dictionaryLink, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < alphabetSize; c++) {
+            int child = transitions[c];
+            if (child < 0) {
+                transitions[c] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failState = fail[state];
+            dictionaryLink[state] = terminal[failState] >= 0 ? failState : dictionaryLink[failState];
+            for (int c = 0; c < alphabetSize; c++) {
+                int slot = state * alphabetSize + c;
+                int child = transitions[slot];
+                if (child < 0) {
+                    transitions[slot] = transitions[failState * alphabetSize + c];
+                } else {
+                    fail[child] = transitions[failState * alphabetSize + c];
+                    queue.add(child);
+                }
+            }
+        }
+
+        // Flatten each state's outputs (its own pattern plus those reached via dictionary links)
+        // into linked lists so scanning never follows failure links.
+        int[] firstOutput = new int[states];
+        Arrays.fill(firstOutput, -1);
+        List<int[]> outputs = new ArrayList<>();
+        for (int state = 0; state < states; state++) {
+            int last = -1;
+            for (int s = terminal[state] >= 0 ? state : dictionaryLink[state]; s >= 0; s = dictionaryLink[s]) {
+                int node = outputs.size();
+                outputs.add(new int[]{terminal[s], -1});
+                if (last < 0) {
+                    firstOutput[state] = node;
+                } else {
+                    outputs.get(last)[1] = node;
+                }
+                last = node;
+            }
+        }
+        int[] outputPattern = new int[outputs.size()];
+        int[] nextOutput = new int[outputs.size()];
+        for (int i = 0; i < outputs.size(); i++) {
+            outputPattern[i] = outputs.get(i)[0];
+            nextOutput[i] = outputs.get(i)[1];
+        }
+
+        return new AhoCorasick(patterns, patternLengths, symbols, alphabetSize,
+                Arrays.copyOf(transitions, states * alphabetSize), firstOutput, nextOutput, outputPattern);
+    }
+
+    public void scan(CharSequence text, MatchListener listener) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int symbol = c < ALPHABET_LIMIT ? symbols[c] : -1;
+            if (symbol < 0) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * alphabetSize + symbol];
+            for (int out = firstOutput[state]; out >= 0; out = nextOutput[out]) {
+                int pattern = outputPattern[out];
+                listener.onMatch(pattern, i - patternLengths[pattern] + 1);
+            }
+        }
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public int getPatternCount() {
+        return patterns.size();
+    }
+}
@@ -0,0 +1,17 @@
+package master.ucaldas.algorithm;
+
+public record Alignment(int score,
+                        int matches,
+                        int mismatches,
+                        int gapOpens,
+                        int alignedLength,
+                        int start1,
+                        int end1,
+                        int start2,
+                        int end2,
+                        String cigar) {
+
+    public double identityPercentage() {
+        return alignedLength == 0 ? 0.0 : (double) matches / alignedLength * 100.0;
+    }
+}
@@ -0,0 +1,128 @@
+package master.ucaldas.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import master.ucaldas.model.DistanceMatrix;
+import master.ucaldas.model.GeneticSequence;
+
+/**
+ * All-vs-all global alignment: the upper triangle of the pair space is cut into square tiles
+ * that are aligned in parallel, and each pair's distance (1 - identity) is mirrored into a
+ * dense row-major matrix. With a MinHash prefilter, pairs whose estimated identity falls
+ * below the threshold are recorded at the maximum distance without being aligned.
+ */
+public class AllPairsAligner {
+    private static final int DEFAULT_TILE_SIZE = 16;
+    // Largest array length every JVM allocates.
+    private static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final ScoringScheme scoring;
+    private final int tileSize;
+    private final ForkJoinPool pool;
+    private double minIdentity;
+
+    public AllPairsAligner() {
+        this(ScoringScheme.DEFAULT, DEFAULT_TILE_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public AllPairsAligner(ScoringScheme scoring, int tileSize, ForkJoinPool pool) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+        }
+        this.scoring = scoring;
+        this.tileSize = tileSize;
+        this.pool = pool;
+    }
+
+    public AllPairsAligner withPrefilter(double minIdentity) {
+        this.minIdentity = minIdentity;
+        return this;
+    }
+
+    public DistanceMatrix compute(List<GeneticSequence> sequences) {
+        int n = sequences.size();
+        if ((long) n * n > MAX_CELLS) {
+            throw new IllegalArgumentException("Demasiadas secuencias para una matriz de distancias: " + n
+                    + " (máximo " + (int) Math.sqrt(MAX_CELLS) + ")");
+        }
+        List<String> names = new ArrayList<>(n);
+        CharSequence[] bodies = new CharSequence[n];
+        MinHashSketch[] sketches = minIdentity > 0.0 ? new MinHashSketch[n] : null;
+        for (int i = 0; i < n; i++) {
+            names.add(sequences.get(i).getName());
+            bodies[i] = sequences.get(i).getBases();
+            if (sketches != null) {
+                sketches[i] = MinHashSketch.of(sequences.get(i));
+            }
+        }
+
+        double[] distances = new double[n * n];
+        List<int[]> tiles = new ArrayList<>();
+        for (int row = 0; row < n; row += tileSize) {
+            for (int col = row; col < n; col += tileSize) {
+                tiles.add(new int[]{row, col});
+            }
+        }
+
+        pool.invoke(new TileTask(tiles, 0, tiles.size(), bodies, sketches, distances));
+        return new DistanceMatrix(names, distances);
+    }
+
+    private void alignTile(int row, int col, CharSequence[] bodies, MinHashSketch[] sketches, double[] distances,
+                           SequenceAligner aligner) {
+        int n = bodies.length;
+        int rowEnd = Math.min(row + tileSize, n);
+        int colEnd = Math.min(col + tileSize, n);
+        for (int i = row; i < rowEnd; i++) {
+            for (int j = Math.max(col, i + 1); j < colEnd; j++) {
+                double distance = isFilteredOut(sketches, i, j) ? 1.0 : 1.0 - aligner.alignGlobal(bodies[i], bodies[j]).identityPercentage() / 100.0;
+                distances[i * n + j] = distance;
+                distances[j * n + i] = distance;
+            }
+        }
+    }
+
+    private boolean isFilteredOut(MinHashSketch[] sketches, int i, int j) {
+        if (sketches == null || sketches[i].isEmpty() || sketches[j].isEmpty()) {
+            return false;
+        }
+        return sketches[i].estimateIdentity(sketches[j]) < minIdentity;
+    }
+
+    // Fork/join tasks are never serialized.
+    @SuppressWarnings("serial")
+    private class TileTask extends RecursiveAction {
+        private final List<int[]> tiles;
+        private final int from;
+        private final int to;
+        private final CharSequence[] bodies;
+        private final MinHashSketch[] sketches;
+        private final double[] distances;
+
+        TileTask(List<int[]> tiles, int from, int to, CharSequence[] bodies, MinHashSketch[] sketches, double[] distances) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.bodies = bodies;
+            this.sketches = sketches;
+            this.distances = distances;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                SequenceAligner aligner = new SequenceAligner(scoring);
+                for (int t = from; t < to; t++) {
+                    alignTile(tiles.get(t)[0], tiles.get(t)[1], bodies, sketches, distances, aligner);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(tiles, from, mid, bodies, sketches, distances),
+                    new TileTask(tiles, mid, to, bodies, sketches, distances));
+        }
+    }
+}
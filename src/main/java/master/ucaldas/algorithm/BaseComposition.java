@@ -0,0 +1,198 @@
+package master.ucaldas.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import master.ucaldas.model.PackedSequence;
+
+/**
+ * Symbol counts of a sequence computed without per-base allocation. Packed sequences are tallied
+ * 32 bases per word with SWAR popcounts and their exception runs added afterwards; plain text goes
+ * through a 128-entry case-folding table. Long inputs are split into chunks counted in parallel.
+ */
+public final class BaseComposition {
+    private static final long LOW_BITS = 0x5555555555555555L;
+    private static final int PARALLEL_THRESHOLD = 1 << 22;
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int OTHER = 0;
+    private static final byte[] FOLD = new byte[128];
+    private static final String AMBIGUITY_CODES = "RYSWKMBDHV";
+
+    static {
+        for (int c = 1; c < 128; c++) {
+            FOLD[c] = (byte) Character.toUpperCase((char) c);
+        }
+    }
+
+    private final long[] counts;
+
+    private BaseComposition(long[] counts) {
+        this.counts = counts;
+    }
+
+    public static BaseComposition of(CharSequence sequence) {
+        return of(sequence, ForkJoinPool.commonPool());
+    }
+
+    public static BaseComposition of(CharSequence sequence, ForkJoinPool pool) {
+        long[] counts = new long[128];
+        if (sequence instanceof PackedSequence packed && packed.isPacked()) {
+            countPacked(packed, pool, counts);
+        } else {
+            int n = sequence.length();
+            long[] tally = n >= PARALLEL_THRESHOLD
+                    ? pool.invoke(new TextTask(sequence, 0, n))
+                    : countText(sequence, 0, n);
+            System.arraycopy(tally, 0, counts, 0, counts.length);
+        }
+        return new BaseComposition(counts);
+    }
+
+    private static void countPacked(PackedSequence packed, ForkJoinPool pool, long[] counts) {
+        int words = packed.wordCount();
+        long[] tally = packed.length() >= PARALLEL_THRESHOLD
+                ? pool.invoke(new WordTask(packed, 0, words))
+                : countWords(packed, 0, words);
+
+        long padding = (long) words * PackedSequence.BASES_PER_WORD - packed.length();
+        long exceptions = 0;
+        for (int r = 0; r < packed.exceptionRunCount(); r++) {
+            long runLength = packed.exceptionRunEnd(r) - packed.exceptionRunStart(r);
+            counts[fold(packed.exceptionRunSymbol(r))] += runLength;
+            exceptions += runLength;
+        }
+        long codeZero = (long) words * PackedSequence.BASES_PER_WORD - tally[1] - tally[2] - tally[3];
+        counts[packed.baseSymbol(0)] += codeZero - padding - exceptions;
+        counts[packed.baseSymbol(1)] += tally[1];
+        counts[packed.baseSymbol(2)] += tally[2];
+        counts[packed.baseSymbol(3)] += tally[3];
+    }
+
+    private static long[] countWords(PackedSequence packed, int from, int to) {
+        long c = 0;
+        long g = 0;
+        long t = 0;
+        for (int w = from; w < to; w++) {
+            long word = packed.word(w);
+            long lo = word & LOW_BITS;
+            long hi = (word >>> 1) & LOW_BITS;
+            c += Long.bitCount(lo & ~hi);
+            g += Long.bitCount(hi & ~lo);
+            t += Long.bitCount(hi & lo);
+        }
+        return new long[]{0, c, g, t};
+    }
+
+    private static long[] countText(CharSequence text, int from, int to) {
+        long[] tally = new long[128];
+        for (int i = from; i < to; i++) {
+            tally[fold(text.charAt(i))]++;
+        }
+        return tally;
+    }
+
+    private static int fold(char c) {
+        return c < 128 ? FOLD[c] : OTHER;
+    }
+
+    public long count(char symbol) {
+        return counts[fold(symbol)];
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getDefiniteBases() {
+        return count('A') + count('C') + count('G') + count('T') + count('U');
+    }
+
+    public long getUnknownBases() {
+        return count('N');
+    }
+
+    public long getAmbiguousBases() {
+        long ambiguous = 0;
+        for (int i = 0; i < AMBIGUITY_CODES.length(); i++) {
+            ambiguous += count(AMBIGUITY_CODES.charAt(i));
+        }
+        return ambiguous;
+    }
+
+    public long getOtherSymbols() {
+        return getTotal() - getDefiniteBases() - getUnknownBases() - getAmbiguousBases();
+    }
+
+    public double getGcPercentage() {
+        long definite = getDefiniteBases();
+        return definite == 0 ? 0.0 : (double) (count('G') + count('C')) / definite * 100.0;
+    }
+
+    public double getAtPercentage() {
+        long definite = getDefiniteBases();
+        return definite == 0 ? 0.0 : (double) (count('A') + count('T') + count('U')) / definite * 100.0;
+    }
+
+    private static long[] add(long[] left, long[] right) {
+        for (int i = 0; i < left.length; i++) {
+            left[i] += right[i];
+        }
+        return left;
+    }
+
+    // Fork/join tasks are never serialized.
+    @SuppressWarnings("serial")
+    private static final class WordTask extends RecursiveTask<long[]> {
+        private static final int WORD_CHUNK = CHUNK_SIZE / PackedSequence.BASES_PER_WORD;
+        private final PackedSequence packed;
+        private final int from;
+        private final int to;
+
+        WordTask(PackedSequence packed, int from, int to) {
+            this.packed = packed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= WORD_CHUNK) {
+                return countWords(packed, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            WordTask right = new WordTask(packed, mid, to);
+            right.fork();
+            long[] left = new WordTask(packed, from, mid).compute();
+            return add(left, right.join());
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class TextTask extends RecursiveTask<long[]> {
+        private final CharSequence text;
+        private final int from;
+        private final int to;
+
+        TextTask(CharSequence text, int from, int to) {
+            this.text = text;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return countText(text, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            TextTask right = new TextTask(text, mid, to);
+            right.fork();
+            long[] left = new TextTask(text, from, mid).compute();
+            return add(left, right.join());
+        }
+    }
+}
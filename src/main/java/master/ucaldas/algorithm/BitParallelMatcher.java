@@ -0,0 +1,170 @@
+package master.ucaldas.algorithm;
+
+/**
+ * IUPAC-aware approximate matcher for motifs of up to 64 symbols. Each motif position becomes a
+ * bit of a machine word: k-mismatch search runs Shift-And with k + 1 state words (Baeza-Yates &
+ * Gonnet / Wu & Manber) and k-edit search runs Myers' bit-vector algorithm, so both scan the
+ * text in O(n) word operations.
+ */
+public class BitParallelMatcher {
+    public static final int MAX_MOTIF_LENGTH = 64;
+
+    private static final byte[] IUPAC_MASKS = new byte[128];
+
+    static {
+        setMask('A', 0b0001);
+        setMask('C', 0b0010);
+        setMask('G', 0b0100);
+        setMask('T', 0b1000);
+        setMask('U', 0b1000);
+        setMask('R', 0b0101);
+        setMask('Y', 0b1010);
+        setMask('S', 0b0110);
+        setMask('W', 0b1001);
+        setMask('K', 0b1100);
+        setMask('M', 0b0011);
+        setMask('B', 0b1110);
+        setMask('D', 0b1101);
+        setMask('H', 0b1011);
+        setMask('V', 0b0111);
+        setMask('N', 0b1111);
+    }
+
+    public enum ErrorModel {
+        MISMATCH,
+        EDIT
+    }
+
+    @FunctionalInterface
+    public interface HitListener {
+        void onHit(int position, int distance);
+    }
+
+    private final String motif;
+    private final int length;
+    private final int maxErrors;
+    private final ErrorModel errorModel;
+    private final long[] eq = new long[128];
+
+    public BitParallelMatcher(String motif, boolean degenerate, int maxErrors, ErrorModel errorModel) {
+        if (motif == null || motif.isEmpty()) {
+            throw new IllegalArgumentException("El motivo no puede estar vacío");
+        }
+        if (motif.length() > MAX_MOTIF_LENGTH) {
+            throw new IllegalArgumentException("El motivo no puede superar " + MAX_MOTIF_LENGTH + " símbolos en búsqueda aproximada");
+        }
+        if (maxErrors < 0 || maxErrors >= motif.length()) {
+            throw new IllegalArgumentException("El número de errores debe estar entre 0 y " + (motif.length() - 1));
+        }
+        this.motif = motif.toUpperCase();
+        this.length = motif.length();
+        this.maxErrors = maxErrors;
+        this.errorModel = errorModel;
+
+        byte[] motifMasks = new byte[length];
+        for (int i = 0; i < length; i++) {
+            char c = this.motif.charAt(i);
+            motifMasks[i] = c < 128 ? IUPAC_MASKS[c] : 0;
+            if (degenerate && motifMasks[i] == 0) {
+                throw new IllegalArgumentException("Carácter no IUPAC en el motivo: " + c);
+            }
+        }
+
+        // A text symbol matches a degenerate position when every base it may stand for is
+        // allowed there, so an N in the text only matches an N in the motif.
+        for (char c = 0; c < 128; c++) {
+            int textMask = IUPAC_MASKS[c];
+            long bits = 0;
+            for (int i = 0; i < length; i++) {
+                boolean matches = degenerate
+                        ? textMask != 0 && (textMask & ~motifMasks[i]) == 0
+                        : Character.toUpperCase(c) == this.motif.charAt(i);
+                if (matches) {
+                    bits |= 1L << i;
+                }
+            }
+            eq[c] = bits;
+        }
+    }
+
+    public void scan(CharSequence text, HitListener listener) {
+        if (errorModel == ErrorModel.EDIT && maxErrors > 0) {
+            scanEdit(text, listener);
+        } else {
+            scanMismatch(text, listener);
+        }
+    }
+
+    private long eq(char c) {
+        return c < 128 ? eq[c] : 0L;
+    }
+
+    private void scanMismatch(CharSequence text, HitListener listener) {
+        long[] states = new long[maxErrors + 1];
+        long accept = 1L << (length - 1);
+        for (int i = 0; i < text.length(); i++) {
+            long mask = eq(text.charAt(i));
+            long previous = states[0];
+            states[0] = ((previous << 1) | 1L) & mask;
+            for (int d = 1; d <= maxErrors; d++) {
+                long current = states[d];
+                states[d] = (((current << 1) | 1L) & mask) | ((previous << 1) | 1L);
+                previous = current;
+            }
+            if (i + 1 >= length && (states[maxErrors] & accept) != 0) {
+                int distance = 0;
+                while ((states[distance] & accept) == 0) {
+                    distance++;
+                }
+                listener.onHit(i - length + 1, distance);
+            }
+        }
+    }
+
+    private void scanEdit(CharSequence text, HitListener listener) {
+        long pv = length == 64 ? -1L : (1L << length) - 1;
+        long mv = 0L;
+        long high = 1L << (length - 1);
+        int score = length;
+        for (int i = 0; i < text.length(); i++) {
+            long mask = eq(text.charAt(i));
+            long xv = mask | mv;
+            long xh = (((mask & pv) + pv) ^ pv) | mask;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & high) != 0) {
+                score++;
+            } else if ((mh & high) != 0) {
+                score--;
+            }
+            ph <<= 1;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+            if (score <= maxErrors) {
+                listener.onHit(i, score);
+            }
+        }
+    }
+
+    public String getMotif() {
+        return motif;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public ErrorModel getErrorModel() {
+        return errorModel;
+    }
+
+    public boolean reportsEndPositions() {
+        return errorModel == ErrorModel.EDIT && maxErrors > 0;
+    }
+
+    private static void setMask(char base, int mask) {
+        IUPAC_MASKS[base] = (byte) mask;
+        IUPAC_MASKS[Character.toLowerCase(base)] = (byte) mask;
+    }
+}
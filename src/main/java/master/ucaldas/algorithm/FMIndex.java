@@ -0,0 +1,233 @@
+package master.ucaldas.algorithm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * FM-index (BWT + occurrence checkpoints + sampled suffix array) over a single sequence,
+ * case-insensitive. Counting a pattern takes O(m) rank queries and locating its occurrences
+ * O(m + occ * sampleRate). The index can be written to and read back from a binary stream.
+ */
+public class FMIndex {
+    private static final int FORMAT_MAGIC = 0x464D4931;
+    private static final int CHECKPOINT_SHIFT = 6;
+    private static final int CHECKPOINT_INTERVAL = 1 << CHECKPOINT_SHIFT;
+    private static final int DEFAULT_SAMPLE_RATE = 32;
+
+    private final int length;
+    private final char[] alphabet;
+    private final byte[] codes = new byte[128];
+    private final byte[] bwt;
+    private final int[] counts;
+    private final int sampleRate;
+    private final long[] sampledRows;
+    private final int[] samples;
+    private int[] checkpoints;
+    private int[] sampleRanks;
+
+    private FMIndex(int length, char[] alphabet, byte[] bwt, int sampleRate, long[] sampledRows, int[] samples) {
+        this.length = length;
+        this.alphabet = alphabet;
+        this.bwt = bwt;
+        this.sampleRate = sampleRate;
+        this.sampledRows = sampledRows;
+        this.samples = samples;
+        Arrays.fill(codes, (byte) -1);
+        for (int c = 0; c < alphabet.length; c++) {
+            codes[alphabet[c]] = (byte) (c + 1);
+            codes[Character.toLowerCase(alphabet[c])] = (byte) (c + 1);
+        }
+        this.counts = new int[alphabet.length + 2];
+        buildRankStructures();
+    }
+
+    public static FMIndex build(CharSequence sequence) {
+        return build(sequence, DEFAULT_SAMPLE_RATE);
+    }
+
+    public static FMIndex build(CharSequence sequence, int sampleRate) {
+        int n = sequence.length();
+        boolean[] present = new boolean[128];
+        for (int i = 0; i < n; i++) {
+            char c = Character.toUpperCase(sequence.charAt(i));
+            if (c >= 128) {
+                throw new IllegalArgumentException("Carácter no soportado por el índice: " + c);
+            }
+            present[c] = true;
+        }
+        int alphabetSize = 0;
+        char[] alphabet = new char[128];
+        int[] mapping = new int[128];
+        for (char c = 0; c < 128; c++) {
+            if (present[c]) {
+                alphabet[alphabetSize] = c;
+                mapping[c] = ++alphabetSize;
+            }
+        }
+
+        int[] text = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            text[i] = mapping[Character.toUpperCase(sequence.charAt(i))];
+        }
+        int[] sa = SuffixArray.build(text, alphabetSize + 1);
+
+        byte[] bwt = new byte[n + 1];
+        long[] sampledRows = new long[((n + 1) >> 6) + 1];
+        int sampleCount = 0;
+        for (int row = 0; row <= n; row++) {
+            int suffix = sa[row];
+            bwt[row] = (byte) (suffix == 0 ? 0 : text[suffix - 1]);
+            if (suffix % sampleRate == 0) {
+                sampledRows[row >> 6] |= 1L << row;
+                sampleCount++;
+            }
+        }
+        int[] samples = new int[sampleCount];
+        for (int row = 0, s = 0; row <= n; row++) {
+            if (sa[row] % sampleRate == 0) {
+                samples[s++] = sa[row];
+            }
+        }
+        return new FMIndex(n, Arrays.copyOf(alphabet, alphabetSize), bwt, sampleRate, sampledRows, samples);
+    }
+
+    private void buildRankStructures() {
+        int symbols = alphabet.length + 1;
+        int rows = bwt.length;
+        checkpoints = new int[((rows >> CHECKPOINT_SHIFT) + 1) * symbols];
+        int[] running = new int[symbols];
+        for (int row = 0; row < rows; row++) {
+            if ((row & (CHECKPOINT_INTERVAL - 1)) == 0) {
+                System.arraycopy(running, 0, checkpoints, (row >> CHECKPOINT_SHIFT) * symbols, symbols);
+            }
+            running[bwt[row]]++;
+        }
+        if ((rows & (CHECKPOINT_INTERVAL - 1)) == 0) {
+            System.arraycopy(running, 0, checkpoints, (rows >> CHECKPOINT_SHIFT) * symbols, symbols);
+        }
+        for (int c = 0; c < symbols; c++) {
+            counts[c + 1] = counts[c] + running[c];
+        }
+
+        sampleRanks = new int[sampledRows.length + 1];
+        for (int w = 0; w < sampledRows.length; w++) {
+            sampleRanks[w + 1] = sampleRanks[w] + Long.bitCount(sampledRows[w]);
+        }
+    }
+
+    private int occ(int symbol, int row) {
+        int block = row >> CHECKPOINT_SHIFT;
+        int count = checkpoints[block * (alphabet.length + 1) + symbol];
+        for (int i = block << CHECKPOINT_SHIFT; i < row; i++) {
+            if (bwt[i] == symbol) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int[] range(CharSequence pattern) {
+        if (pattern.isEmpty()) {
+            return null;
+        }
+        int lo = 0;
+        int hi = bwt.length;
+        for (int k = pattern.length() - 1; k >= 0; k--) {
+            char c = pattern.charAt(k);
+            int symbol = c < 128 ? codes[c] : -1;
+            if (symbol <= 0) {
+                return null;
+            }
+            lo = counts[symbol] + occ(symbol, lo);
+            hi = counts[symbol] + occ(symbol, hi);
+            if (lo >= hi) {
+                return null;
+            }
+        }
+        return new int[]{lo, hi};
+    }
+
+    public int count(CharSequence pattern) {
+        int[] range = range(pattern);
+        return range == null ? 0 : range[1] - range[0];
+    }
+
+    public int[] locate(CharSequence pattern) {
+        int[] range = range(pattern);
+        if (range == null) {
+            return new int[0];
+        }
+        int[] positions = new int[range[1] - range[0]];
+        for (int row = range[0]; row < range[1]; row++) {
+            positions[row - range[0]] = suffixAt(row);
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    private int suffixAt(int row) {
+        int steps = 0;
+        while ((sampledRows[row >> 6] & (1L << row)) == 0) {
+            int symbol = bwt[row];
+            if (symbol == 0) {
+                return steps;
+            }
+            row = counts[symbol] + occ(symbol, row);
+            steps++;
+        }
+        int rank = sampleRanks[row >> 6] + Long.bitCount(sampledRows[row >> 6] & ((1L << row) - 1));
+        return samples[rank] + steps;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public long estimatedBytes() {
+        return bwt.length + 4L * checkpoints.length + 8L * sampledRows.length + 4L * (samples.length + sampleRanks.length);
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(length);
+        out.writeInt(sampleRate);
+        out.writeInt(alphabet.length);
+        for (char c : alphabet) {
+            out.writeChar(c);
+        }
+        out.write(bwt);
+        out.writeInt(sampledRows.length);
+        for (long word : sampledRows) {
+            out.writeLong(word);
+        }
+        out.writeInt(samples.length);
+        for (int sample : samples) {
+            out.writeInt(sample);
+        }
+    }
+
+    public static FMIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC) {
+            throw new IOException("Formato de índice FM no reconocido");
+        }
+        int length = in.readInt();
+        int sampleRate = in.readInt();
+        char[] alphabet = new char[in.readInt()];
+        for (int i = 0; i < alphabet.length; i++) {
+            alphabet[i] = in.readChar();
+        }
+        byte[] bwt = new byte[length + 1];
+        in.readFully(bwt);
+        long[] sampledRows = new long[in.readInt()];
+        for (int i = 0; i < sampledRows.length; i++) {
+            sampledRows[i] = in.readLong();
+        }
+        int[] samples = new int[in.readInt()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = in.readInt();
+        }
+        return new FMIndex(length, alphabet, bwt, sampleRate, sampledRows, samples);
+    }
+}
@@ -0,0 +1,193 @@
+package master.ucaldas.algorithm;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import master.ucaldas.model.GeneticSequence;
+
+/**
+ * Bottom-s MinHash sketch over canonical nucleotide k-mers, as used by Mash: the Jaccard index
+ * of two sequences is estimated from their sketches alone and converted into an approximate
+ * nucleotide identity.
+ */
+public class MinHashSketch {
+    public static final int DEFAULT_KMER_SIZE = 16;
+    public static final int DEFAULT_SKETCH_SIZE = 1000;
+
+    private static final byte[] BASE_CODES = new byte[128];
+    private static final int CACHE_SIZE = 256;
+    private static final Map<String, MinHashSketch> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MinHashSketch> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    static {
+        Arrays.fill(BASE_CODES, (byte) -1);
+        BASE_CODES['A'] = 0;
+        BASE_CODES['a'] = 0;
+        BASE_CODES['C'] = 1;
+        BASE_CODES['c'] = 1;
+        BASE_CODES['G'] = 2;
+        BASE_CODES['g'] = 2;
+        BASE_CODES['T'] = 3;
+        BASE_CODES['t'] = 3;
+        BASE_CODES['U'] = 3;
+        BASE_CODES['u'] = 3;
+    }
+
+    private final int kmerSize;
+    private final int sketchSize;
+    private final long[] hashes;
+
+    private MinHashSketch(int kmerSize, int sketchSize, long[] hashes) {
+        this.kmerSize = kmerSize;
+        this.sketchSize = sketchSize;
+        this.hashes = hashes;
+    }
+
+    public static MinHashSketch of(GeneticSequence sequence) {
+        return of(sequence, DEFAULT_KMER_SIZE, DEFAULT_SKETCH_SIZE);
+    }
+
+    public static MinHashSketch of(GeneticSequence sequence, int kmerSize, int sketchSize) {
+        String key = sequence.getDigest().toHex() + ":" + kmerSize + ":" + sketchSize;
+        synchronized (CACHE) {
+            MinHashSketch cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        MinHashSketch sketch = build(sequence.getBases(), kmerSize, sketchSize);
+        synchronized (CACHE) {
+            CACHE.put(key, sketch);
+        }
+        return sketch;
+    }
+
+    public static MinHashSketch build(CharSequence sequence, int kmerSize, int sketchSize) {
+        if (kmerSize < 1 || kmerSize > 31) {
+            throw new IllegalArgumentException("El tamaño de k-mer debe estar entre 1 y 31");
+        }
+        if (sketchSize < 1) {
+            throw new IllegalArgumentException("El tamaño del sketch debe ser positivo");
+        }
+
+        long mask = (1L << (2 * kmerSize)) - 1;
+        int shift = 2 * (kmerSize - 1);
+        long forward = 0;
+        long reverse = 0;
+        int valid = 0;
+
+        long[] buffer = new long[2 * sketchSize];
+        int count = 0;
+        long threshold = Long.MAX_VALUE;
+
+        for (int i = 0; i < sequence.length(); i++) {
+            char c = sequence.charAt(i);
+            int code = c < 128 ? BASE_CODES[c] : -1;
+            if (code < 0) {
+                valid = 0;
+                continue;
+            }
+            forward = ((forward << 2) | code) & mask;
+            reverse = (reverse >>> 2) | ((long) (3 - code) << shift);
+            if (++valid < kmerSize) {
+                continue;
+            }
+
+            long hash = mix(Math.min(forward, reverse));
+            if (hash >= threshold) {
+                continue;
+            }
+            buffer[count++] = hash;
+            if (count == buffer.length) {
+                count = compact(buffer, count, sketchSize);
+                if (count == sketchSize) {
+                    threshold = buffer[count - 1];
+                }
+            }
+        }
+
+        count = compact(buffer, count, sketchSize);
+        return new MinHashSketch(kmerSize, sketchSize, Arrays.copyOf(buffer, count));
+    }
+
+    public double jaccard(MinHashSketch other) {
+        if (kmerSize != other.kmerSize) {
+            throw new IllegalArgumentException("Los sketches usan tamaños de k-mer distintos");
+        }
+        int limit = Math.min(sketchSize, other.sketchSize);
+        int i = 0;
+        int j = 0;
+        int seen = 0;
+        int shared = 0;
+        while (seen < limit && i < hashes.length && j < other.hashes.length) {
+            long a = hashes[i];
+            long b = other.hashes[j];
+            if (a == b) {
+                shared++;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+            seen++;
+        }
+        while (seen < limit && (i < hashes.length || j < other.hashes.length)) {
+            if (i < hashes.length) {
+                i++;
+            } else {
+                j++;
+            }
+            seen++;
+        }
+        return seen == 0 ? 0.0 : (double) shared / seen;
+    }
+
+    public double estimateIdentity(MinHashSketch other) {
+        double j = jaccard(other);
+        if (j <= 0.0) {
+            return 0.0;
+        }
+        double distance = -Math.log(2.0 * j / (1.0 + j)) / kmerSize;
+        return Math.max(0.0, 1.0 - distance);
+    }
+
+    public boolean isEmpty() {
+        return hashes.length == 0;
+    }
+
+    public int getKmerSize() {
+        return kmerSize;
+    }
+
+    public int getSketchSize() {
+        return sketchSize;
+    }
+
+    public int getHashCount() {
+        return hashes.length;
+    }
+
+    private static int compact(long[] buffer, int count, int keep) {
+        Arrays.sort(buffer, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count && unique < keep; i++) {
+            if (unique == 0 || buffer[unique - 1] != buffer[i]) {
+                buffer[unique++] = buffer[i];
+            }
+        }
+        return unique;
+    }
+
+    private static long mix(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (key ^ (key >>> 33)) >>> 1;
+    }
+}
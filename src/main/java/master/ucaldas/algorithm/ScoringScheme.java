@@ -0,0 +1,19 @@
+package master.ucaldas.algorithm;
+
+public record ScoringScheme(int match, int mismatch, int gapOpen, int gapExtend) {
+
+    public static final ScoringScheme DEFAULT = new ScoringScheme(2, -3, 5, 2);
+
+    public ScoringScheme {
+        if (match <= 0 || mismatch > 0) {
+            throw new IllegalArgumentException("El puntaje de coincidencia debe ser positivo y el de discrepancia no positivo");
+        }
+        if (gapOpen < 0 || gapExtend <= 0) {
+            throw new IllegalArgumentException("Las penalizaciones de gap deben ser positivas");
+        }
+    }
+
+    public int gapCost(int length) {
+        return length <= 0 ? 0 : gapOpen + gapExtend * length;
+    }
+}
@@ -0,0 +1,638 @@
+package master.ucaldas.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Affine-gap aligner (Gotoh scoring) that runs in linear memory: global alignments use a
+ * banded Myers-Miller divide and conquer (Hirschberg for affine gaps) and local alignments
+ * locate their end and start with two score-only passes before aligning the hit globally.
+ * Global bands grow until provably optimal or X-drop safe, so diverged but collinear inputs
+ * cost O((m + n) * k) for a band a few hundred diagonals wide rather than O(m * n). A band
+ * stops growing at {@link #MAX_BAND_CELLS} cells, so unrelated or badly diverged long inputs get
+ * the best alignment inside that band, which can score below the true optimum. Local
+ * alignments are exact up to {@link #EXACT_LOCAL_CELLS} cells; beyond that they are seeded with
+ * exact k-mer hits and extended in a band, which can miss hits without such a seed.
+ * Instances keep reusable work rows, so they must not be shared between threads.
+ */
+public class SequenceAligner {
+    private static final int NEG_INF = Integer.MIN_VALUE / 4;
+    private static final int INF = Integer.MAX_VALUE / 4;
+    private static final int INITIAL_BAND = 32;
+    static final long EXACT_LOCAL_CELLS = 1L << 24;
+    static final long MAX_BAND_CELLS = 1L << 26;
+    private static final int SEED_LENGTH = 8;
+    private static final int MAX_SEED_OCCURRENCES = 64;
+    private static final int DIAGONAL_BIN = 64;
+    private static final int SEED_CANDIDATES = 3;
+    private static final Alignment EMPTY = new Alignment(0, 0, 0, 0, 0, 0, 0, 0, 0, "");
+
+    private final ScoringScheme scoring;
+    private final int g;
+    private final int h;
+    private final int matchCost;
+    private final int mismatchCost;
+    private final int xDrop;
+
+    private byte[] a;
+    private byte[] b;
+    private int aBase;
+    private int bBase;
+    private int bandLo;
+    private int bandHi;
+    private int[] cc;
+    private int[] dd;
+    private int[] rr;
+    private int[] ss;
+    private CigarBuilder cigar;
+    private boolean trackEdges;
+    private long edgeSlack;
+
+    public SequenceAligner() {
+        this(ScoringScheme.DEFAULT);
+    }
+
+    public SequenceAligner(ScoringScheme scoring) {
+        this(scoring, 25 * (scoring.match() - scoring.mismatch()) + scoring.gapOpen());
+    }
+
+    /**
+     * @param xDrop how far below the best score a band edge must stay for the band to be kept
+     */
+    public SequenceAligner(ScoringScheme scoring, int xDrop) {
+        if (xDrop <= 0) {
+            throw new IllegalArgumentException("El umbral X-drop debe ser positivo");
+        }
+        this.scoring = scoring;
+        this.xDrop = xDrop;
+        this.g = scoring.gapOpen();
+        this.h = scoring.gapExtend();
+        this.matchCost = -scoring.match();
+        this.mismatchCost = -scoring.mismatch();
+    }
+
+    public Alignment alignGlobal(CharSequence seq1, CharSequence seq2) {
+        return alignGlobal(encode(seq1), encode(seq2));
+    }
+
+    public Alignment alignLocal(CharSequence seq1, CharSequence seq2) {
+        return alignLocal(encode(seq1), encode(seq2));
+    }
+
+    public ScoringScheme getScoring() {
+        return scoring;
+    }
+
+    private Alignment alignGlobal(byte[] seq1, byte[] seq2) {
+        return traceGlobal(seq1, 0, seq1.length, seq2, 0, seq2.length);
+    }
+
+    // Small inputs get an exact Smith-Waterman pass; larger ones are seeded with exact k-mer hits
+    // and only the best few diagonal ranges are extended.
+    private Alignment alignLocal(byte[] seq1, byte[] seq2) {
+        int m = seq1.length;
+        int n = seq2.length;
+        if ((long) m * n <= EXACT_LOCAL_CELLS) {
+            return extendLocal(seq1, seq2, -m, n);
+        }
+        Alignment best = EMPTY;
+        for (int[] diagonals : seedDiagonals(seq1, seq2)) {
+            Alignment hit = extendLocal(seq1, seq2, diagonals[0], diagonals[1]);
+            if (hit.score() > best.score()) {
+                best = hit;
+            }
+        }
+        return best;
+    }
+
+    // Banded Smith-Waterman over diagonals [dLo, dHi] (d = j - i). The band doubles while a cell
+    // on one of its edges scores within xDrop of the best hit, so a hit drifting off the seed
+    // diagonal is followed instead of cut.
+    private Alignment extendLocal(byte[] seq1, byte[] seq2, int dLo, int dHi) {
+        int m = seq1.length;
+        int n = seq2.length;
+        int[] end;
+        while (true) {
+            end = localEnd(seq1, seq2, dLo, dHi);
+            if ((dLo <= -m && dHi >= n) || end[3] <= Math.max(end[0] - xDrop, xDrop)) {
+                break;
+            }
+            int width = dHi - dLo;
+            dLo = (int) Math.max(-m, (long) dLo - width);
+            dHi = (int) Math.min(n, (long) dHi + width);
+        }
+        if (end[0] <= 0) {
+            return EMPTY;
+        }
+        int[] start = findLocalStart(seq1, seq2, end[1], end[2], end[0], dLo, dHi);
+        return traceGlobal(seq1, start[0], end[1], seq2, start[1], end[2]);
+    }
+
+    // Returns {best, bestI, bestJ, best score seen on a band edge}.
+    private int[] localEnd(byte[] seq1, byte[] seq2, int dLo, int dHi) {
+        int m = seq1.length;
+        int n = seq2.length;
+        int[] hRow = new int[n + 1];
+        int[] fRow = new int[n + 1];
+        Arrays.fill(fRow, NEG_INF);
+
+        int best = 0;
+        int bestI = 0;
+        int bestJ = 0;
+        int edgeBest = 0;
+        int openExtend = scoring.gapOpen() + scoring.gapExtend();
+        int extend = scoring.gapExtend();
+
+        for (int i = 1; i <= m; i++) {
+            int lo = (int) Math.max(1L, (long) i + dLo);
+            int hi = (int) Math.min(n, (long) i + dHi);
+            if (lo > hi) {
+                continue;
+            }
+            if ((long) i + dHi <= n) {
+                hRow[hi] = 0;
+                fRow[hi] = NEG_INF;
+            }
+            byte ai = seq1[i - 1];
+            int diag = hRow[lo - 1];
+            int e = NEG_INF;
+            int left = 0;
+            for (int j = lo; j <= hi; j++) {
+                int up = hRow[j];
+                e = Math.max(e - extend, left - openExtend);
+                int f = Math.max(fRow[j] - extend, up - openExtend);
+                int hv = diag + (ai == seq2[j - 1] ? scoring.match() : scoring.mismatch());
+                hv = Math.max(Math.max(hv, 0), Math.max(e, f));
+                diag = up;
+                hRow[j] = hv;
+                fRow[j] = f;
+                left = hv;
+                if (hv > best) {
+                    best = hv;
+                    bestI = i;
+                    bestJ = j;
+                }
+            }
+            if ((long) i + dLo > 1) {
+                edgeBest = Math.max(edgeBest, hRow[lo]);
+            }
+            if ((long) i + dHi < n) {
+                edgeBest = Math.max(edgeBest, hRow[hi]);
+            }
+        }
+        return new int[]{best, bestI, bestJ, edgeBest};
+    }
+
+    // Anchored pass over the reversed prefixes ending at (endI, endJ), restricted to the band the
+    // end was found in: the first cell that reaches the local optimum marks where it starts.
+    private int[] findLocalStart(byte[] seq1, byte[] seq2, int endI, int endJ, int best, int dLo, int dHi) {
+        int openExtend = scoring.gapOpen() + scoring.gapExtend();
+        int extend = scoring.gapExtend();
+        long lowest = (long) endJ - endI - dHi;
+        long highest = (long) endJ - endI - dLo;
+        int[] hRow = new int[endJ + 1];
+        int[] fRow = new int[endJ + 1];
+        Arrays.fill(hRow, NEG_INF);
+        Arrays.fill(fRow, NEG_INF);
+        for (int j = 0; j <= Math.min(endJ, highest); j++) {
+            hRow[j] = -scoring.gapCost(j);
+        }
+
+        for (int i = 1; i <= endI; i++) {
+            int lo = (int) Math.max(1L, i + lowest);
+            int hi = (int) Math.min(endJ, i + highest);
+            if (i + highest <= endJ) {
+                hRow[hi] = NEG_INF;
+                fRow[hi] = NEG_INF;
+            }
+            byte ai = seq1[endI - i];
+            int diag = hRow[lo - 1];
+            int left = NEG_INF;
+            if (lo == 1) {
+                left = i + lowest <= 0 ? -scoring.gapCost(i) : NEG_INF;
+                hRow[0] = left;
+            }
+            int e = NEG_INF;
+            for (int j = lo; j <= hi; j++) {
+                int up = hRow[j];
+                e = Math.max(e - extend, left - openExtend);
+                int f = Math.max(fRow[j] - extend, up - openExtend);
+                int hv = diag + (ai == seq2[endJ - j] ? scoring.match() : scoring.mismatch());
+                hv = Math.max(hv, Math.max(e, f));
+                diag = up;
+                hRow[j] = hv;
+                fRow[j] = f;
+                left = hv;
+                if (hv == best) {
+                    return new int[]{endI - i, endJ - j};
+                }
+            }
+        }
+        return new int[]{0, 0};
+    }
+
+    // Counts exact SEED_LENGTH-mer hits of seq1 in seq2 per bin of diagonals and returns the
+    // diagonal ranges of the busiest bins, padded by the initial band.
+    private static List<int[]> seedDiagonals(byte[] seq1, byte[] seq2) {
+        int m = seq1.length;
+        int n = seq2.length;
+        List<int[]> ranges = new ArrayList<>();
+        if (m < SEED_LENGTH || n < SEED_LENGTH) {
+            ranges.add(new int[]{-m, n});
+            return ranges;
+        }
+
+        long[] index = new long[n - SEED_LENGTH + 1];
+        long kmer = 0;
+        for (int j = 0; j < n; j++) {
+            kmer = (kmer << 8) | (seq2[j] & 0xFF);
+            if (j >= SEED_LENGTH - 1) {
+                int start = j - SEED_LENGTH + 1;
+                index[start] = (seedKey(kmer) << 32) | start;
+            }
+        }
+        Arrays.sort(index);
+
+        int[] bins = new int[(int) (((long) m + n) / DIAGONAL_BIN) + 1];
+        kmer = 0;
+        for (int i = 0; i < m; i++) {
+            kmer = (kmer << 8) | (seq1[i] & 0xFF);
+            if (i < SEED_LENGTH - 1) {
+                continue;
+            }
+            long key = seedKey(kmer);
+            int first = lowerBound(index, key << 32);
+            int last = lowerBound(index, (key + 1) << 32);
+            if (last - first > MAX_SEED_OCCURRENCES) {
+                continue;
+            }
+            int start = i - SEED_LENGTH + 1;
+            for (int p = first; p < last; p++) {
+                int j = (int) index[p];
+                bins[(j - start + m) / DIAGONAL_BIN]++;
+            }
+        }
+
+        for (int candidate = 0; candidate < SEED_CANDIDATES; candidate++) {
+            int bestBin = -1;
+            for (int b = 0; b < bins.length; b++) {
+                if (bins[b] > 0 && (bestBin < 0 || bins[b] > bins[bestBin])) {
+                    bestBin = b;
+                }
+            }
+            if (bestBin < 0) {
+                break;
+            }
+            for (int b = Math.max(0, bestBin - 1); b <= Math.min(bins.length - 1, bestBin + 1); b++) {
+                bins[b] = 0;
+            }
+            int dLo = (int) Math.max(-m, (long) bestBin * DIAGONAL_BIN - m - INITIAL_BAND);
+            int dHi = (int) Math.min(n, (long) (bestBin + 1) * DIAGONAL_BIN - m + INITIAL_BAND);
+            ranges.add(new int[]{dLo, dHi});
+        }
+        return ranges;
+    }
+
+    private static long seedKey(long kmer) {
+        long x = kmer * 0x9E3779B97F4A7C15L;
+        return (x ^ (x >>> 29)) >>> 34;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private Alignment traceGlobal(byte[] seq1, int from1, int to1, byte[] seq2, int from2, int to2) {
+        int m = to1 - from1;
+        int n = to2 - from2;
+        this.a = seq1;
+        this.b = seq2;
+        this.aBase = from1;
+        this.bBase = from2;
+        this.cc = new int[n + 1];
+        this.dd = new int[n + 1];
+        this.rr = new int[n + 1];
+        this.ss = new int[n + 1];
+        this.cigar = new CigarBuilder();
+
+        chooseBand(m, n);
+        diff(0, 0, m, n, g, g);
+
+        CigarBuilder ops = this.cigar;
+        this.a = null;
+        this.b = null;
+        this.cc = null;
+        this.dd = null;
+        this.rr = null;
+        this.ss = null;
+        this.cigar = null;
+
+        int score = ops.matches * scoring.match() + ops.mismatches * scoring.mismatch() - ops.gapPenalty(scoring);
+        return new Alignment(score, ops.matches, ops.mismatches, ops.gapOpens, ops.columns,
+                from1, to1, from2, to2, ops.toString());
+    }
+
+    // Doubles a diagonal band around the main diagonal until it is provably optimal or X-drop
+    // safe. Written as score = (m + n) * match / 2 - C, with C a non-negative cost of mismatches,
+    // gap columns and opens, a path leaving the band costs at least its |n - m| + 2(k + 1) gap
+    // columns and two opens. Failing that proof, the band is kept when every cell on its edges
+    // is more than xDrop worse than the best cell of its row, so no in-band path leans on it.
+    // Neither holds for unrelated inputs, so growth also stops before MAX_BAND_CELLS is exceeded.
+    private void chooseBand(int m, int n) {
+        int k = INITIAL_BAND;
+        while (true) {
+            bandLo = Math.min(0, n - m) - k;
+            bandHi = Math.max(0, n - m) + k;
+            if (bandLo <= -m && bandHi >= n) {
+                return;
+            }
+            trackEdges = true;
+            edgeSlack = Long.MAX_VALUE;
+            forward(0, 0, m, n, g);
+            trackEdges = false;
+            long bandedCost = ((long) m + n) * scoring.match() + 2L * cc[n];
+            long gapColumns = Math.abs((long) n - m) + 2L * (k + 1);
+            long outsideCost = gapColumns * (2L * h + scoring.match()) + 4L * g;
+            if (bandedCost <= outsideCost || edgeSlack > 2L * xDrop
+                    || (long) m * (Math.abs((long) n - m) + 4L * k + 1) > MAX_BAND_CELLS) {
+                return;
+            }
+            k *= 2;
+        }
+    }
+
+    // Doubled cost C of cell (i, j) in the current forward row, comparable across the row.
+    private long normalizedCost(int i, int j) {
+        return 2L * cc[j] + (long) (i + j) * scoring.match();
+    }
+
+    private void recordEdgeSlack(int i, int lo, int hi, int n) {
+        long rowMin = Long.MAX_VALUE;
+        for (int j = lo; j <= hi; j++) {
+            rowMin = Math.min(rowMin, normalizedCost(i, j));
+        }
+        if ((long) i + bandLo > 0) {
+            edgeSlack = Math.min(edgeSlack, normalizedCost(i, lo) - rowMin);
+        }
+        if ((long) i + bandHi < n) {
+            edgeSlack = Math.min(edgeSlack, normalizedCost(i, hi) - rowMin);
+        }
+    }
+
+    private int cost(int i, int j) {
+        return a[aBase + i] == b[bBase + j] ? matchCost : mismatchCost;
+    }
+
+    private int gap(int length) {
+        return length <= 0 ? 0 : g + h * length;
+    }
+
+    private int bandStart(int row, int aOff, int bOff) {
+        return (int) Math.max(0L, (long) aOff + row + bandLo - bOff);
+    }
+
+    private int bandEnd(int row, int aOff, int bOff, int n) {
+        return (int) Math.min(n, (long) aOff + row + bandHi - bOff);
+    }
+
+    // Fills cc/dd with the costs of row `rows` of the sub-problem starting at (aOff, bOff);
+    // cells outside the band stay at INF.
+    private void forward(int aOff, int bOff, int rows, int n, int tb) {
+        int hi0 = bandEnd(0, aOff, bOff, n);
+        cc[0] = 0;
+        int t = g;
+        for (int j = 1; j <= n; j++) {
+            t += h;
+            cc[j] = j <= hi0 ? t : INF;
+            dd[j] = j <= hi0 ? t + g : INF;
+        }
+        t = tb;
+        for (int i = 1; i <= rows; i++) {
+            int lo = bandStart(i, aOff, bOff);
+            int hi = bandEnd(i, aOff, bOff, n);
+            t += h;
+            int s;
+            int c;
+            int e;
+            if (lo == 0) {
+                s = cc[0];
+                c = t;
+                cc[0] = c;
+                e = t + g;
+                lo = 1;
+            } else {
+                s = cc[lo - 1];
+                c = INF;
+                e = INF;
+                cc[lo - 1] = INF;
+                dd[lo - 1] = INF;
+            }
+            int ai = aOff + i - 1;
+            for (int j = lo; j <= hi; j++) {
+                e = Math.min(e, c + g) + h;
+                int d = Math.min(dd[j], cc[j] + g) + h;
+                c = Math.min(Math.min(d, e), s + cost(ai, bOff + j - 1));
+                s = cc[j];
+                cc[j] = c;
+                dd[j] = d;
+            }
+            if (trackEdges) {
+                recordEdgeSlack(i, lo, hi, n);
+            }
+        }
+        dd[0] = cc[0];
+    }
+
+    private void reverse(int aOff, int bOff, int m, int fromRow, int n, int te) {
+        int lo0 = bandStart(m, aOff, bOff);
+        rr[n] = 0;
+        int t = g;
+        for (int j = n - 1; j >= 0; j--) {
+            t += h;
+            rr[j] = j >= lo0 ? t : INF;
+            ss[j] = j >= lo0 ? t + g : INF;
+        }
+        t = te;
+        for (int i = m - 1; i >= fromRow; i--) {
+            int lo = bandStart(i, aOff, bOff);
+            int hi = bandEnd(i, aOff, bOff, n);
+            t += h;
+            int s;
+            int c;
+            int e;
+            if (hi == n) {
+                s = rr[n];
+                c = t;
+                rr[n] = c;
+                e = t + g;
+                hi = n - 1;
+            } else {
+                s = rr[hi + 1];
+                c = INF;
+                e = INF;
+                rr[hi + 1] = INF;
+                ss[hi + 1] = INF;
+            }
+            int ai = aOff + i;
+            for (int j = hi; j >= lo; j--) {
+                e = Math.min(e, c + g) + h;
+                int d = Math.min(ss[j], rr[j] + g) + h;
+                c = Math.min(Math.min(d, e), s + cost(ai, bOff + j));
+                s = rr[j];
+                rr[j] = c;
+                ss[j] = d;
+            }
+        }
+        ss[n] = rr[n];
+    }
+
+    // Myers & Miller (1988): aligns rows [aOff, aOff+m) with columns [bOff, bOff+n) minimising
+    // cost, where tb/te are the opening costs charged to a leading/trailing deletion gap.
+    private void diff(int aOff, int bOff, int m, int n, int tb, int te) {
+        if (n <= 0) {
+            if (m > 0) {
+                cigar.add('D', m);
+            }
+            return;
+        }
+        if (m <= 1) {
+            if (m <= 0) {
+                cigar.add('I', n);
+                return;
+            }
+            int best = Math.min(tb, te) + h + gap(n);
+            int bestJ = 0;
+            for (int j = 1; j <= n; j++) {
+                int c = gap(j - 1) + cost(aOff, bOff + j - 1) + gap(n - j);
+                if (c < best) {
+                    best = c;
+                    bestJ = j;
+                }
+            }
+            if (bestJ == 0) {
+                if (tb <= te) {
+                    cigar.add('D', 1);
+                    cigar.add('I', n);
+                } else {
+                    cigar.add('I', n);
+                    cigar.add('D', 1);
+                }
+            } else {
+                if (bestJ > 1) {
+                    cigar.add('I', bestJ - 1);
+                }
+                cigar.add(cost(aOff, bOff + bestJ - 1) == matchCost ? '=' : 'X', 1);
+                if (bestJ < n) {
+                    cigar.add('I', n - bestJ);
+                }
+            }
+            return;
+        }
+
+        int midi = m / 2;
+        forward(aOff, bOff, midi, n, tb);
+        reverse(aOff, bOff, m, midi, n, te);
+
+        int lo = bandStart(midi, aOff, bOff);
+        int hi = bandEnd(midi, aOff, bOff, n);
+        int midc = INF;
+        int midj = lo;
+        boolean deletionSplit = false;
+        for (int j = lo; j <= hi; j++) {
+            int c = cc[j] + rr[j];
+            if (c <= midc && (c < midc || (cc[j] != dd[j] && rr[j] == ss[j]))) {
+                midc = c;
+                midj = j;
+            }
+        }
+        for (int j = hi; j >= lo; j--) {
+            int c = dd[j] + ss[j] - g;
+            if (c < midc) {
+                midc = c;
+                midj = j;
+                deletionSplit = true;
+            }
+        }
+
+        if (!deletionSplit) {
+            diff(aOff, bOff, midi, midj, tb, g);
+            diff(aOff + midi, bOff + midj, m - midi, n - midj, g, te);
+        } else {
+            diff(aOff, bOff, midi - 1, midj, tb, 0);
+            cigar.add('D', 2);
+            diff(aOff + midi + 1, bOff + midj, m - midi - 1, n - midj, 0, te);
+        }
+    }
+
+    private static byte[] encode(CharSequence sequence) {
+        byte[] encoded = new byte[sequence.length()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = (byte) Character.toUpperCase(sequence.charAt(i));
+        }
+        return encoded;
+    }
+
+    private static final class CigarBuilder {
+        private final StringBuilder text = new StringBuilder();
+        private char lastOp;
+        private int lastLength;
+        private int matches;
+        private int mismatches;
+        private int gapOpens;
+        private int gapColumns;
+        private int columns;
+
+        void add(char op, int length) {
+            if (length <= 0) {
+                return;
+            }
+            columns += length;
+            switch (op) {
+                case '=' -> matches += length;
+                case 'X' -> mismatches += length;
+                default -> {
+                    gapColumns += length;
+                    if (op != lastOp) {
+                        gapOpens++;
+                    }
+                }
+            }
+            if (op == lastOp) {
+                lastLength += length;
+            } else {
+                flush();
+                lastOp = op;
+                lastLength = length;
+            }
+        }
+
+        int gapPenalty(ScoringScheme scoring) {
+            return gapOpens * scoring.gapOpen() + gapColumns * scoring.gapExtend();
+        }
+
+        private void flush() {
+            if (lastLength > 0) {
+                text.append(lastLength).append(lastOp);
+            }
+        }
+
+        @Override
+        public String toString() {
+            flush();
+            lastLength = 0;
+            lastOp = 0;
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package master.ucaldas.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Sliding-window GC content and AT/GC skew. Window counts are updated incrementally, adding the
+ * bases that enter and removing the ones that leave, so the whole profile costs O(n) regardless
+ * of window size. Windows are streamed to a listener; {@link #compute} collects them into
+ * primitive arrays.
+ */
+public class SkewProfile {
+    public static final int DEFAULT_WINDOW_SIZE = 1000;
+    public static final int DEFAULT_STEP_SIZE = 500;
+
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        String bases = "ACGTU";
+        for (int i = 0; i < bases.length(); i++) {
+            byte code = (byte) Math.min(i, 3);
+            CODES[bases.charAt(i)] = code;
+            CODES[Character.toLowerCase(bases.charAt(i))] = code;
+        }
+    }
+
+    @FunctionalInterface
+    public interface WindowListener {
+        void onWindow(int start, int end, double gcPercentage, double gcSkew, double atSkew, double cumulativeGcSkew);
+    }
+
+    private final int windowSize;
+    private final int stepSize;
+
+    public SkewProfile(int windowSize, int stepSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("El tamaño de ventana debe ser positivo");
+        }
+        if (stepSize < 1) {
+            throw new IllegalArgumentException("El paso debe ser positivo");
+        }
+        this.windowSize = windowSize;
+        this.stepSize = stepSize;
+    }
+
+    public int windowCount(int length) {
+        return length <= windowSize ? (length > 0 ? 1 : 0) : (length - windowSize) / stepSize + 1;
+    }
+
+    public void scan(CharSequence sequence, WindowListener listener) {
+        int n = sequence.length();
+        int windows = windowCount(n);
+        int[] counts = new int[4];
+        int start = 0;
+        int end = Math.min(windowSize, n);
+        add(sequence, 0, end, counts, 1);
+        double cumulative = 0.0;
+
+        for (int w = 0; w < windows; w++) {
+            if (w > 0) {
+                int nextStart = start + stepSize;
+                int nextEnd = nextStart + windowSize;
+                if (stepSize < windowSize) {
+                    add(sequence, start, nextStart, counts, -1);
+                    add(sequence, end, nextEnd, counts, 1);
+                } else {
+                    Arrays.fill(counts, 0);
+                    add(sequence, nextStart, nextEnd, counts, 1);
+                }
+                start = nextStart;
+                end = nextEnd;
+            }
+            int a = counts[0];
+            int c = counts[1];
+            int g = counts[2];
+            int t = counts[3];
+            int definite = a + c + g + t;
+            double gcPercentage = definite == 0 ? 0.0 : (double) (g + c) / definite * 100.0;
+            double gcSkew = g + c == 0 ? 0.0 : (double) (g - c) / (g + c);
+            double atSkew = a + t == 0 ? 0.0 : (double) (a - t) / (a + t);
+            cumulative += gcSkew;
+            listener.onWindow(start, end, gcPercentage, gcSkew, atSkew, cumulative);
+        }
+    }
+
+    public Profile compute(CharSequence sequence) {
+        int windows = windowCount(sequence.length());
+        Profile profile = new Profile(windows);
+        int[] index = {0};
+        scan(sequence, (start, end, gcPercentage, gcSkew, atSkew, cumulativeGcSkew) -> {
+            int w = index[0]++;
+            profile.windowStarts[w] = start;
+            profile.gcPercentage[w] = gcPercentage;
+            profile.gcSkew[w] = gcSkew;
+            profile.atSkew[w] = atSkew;
+            profile.cumulativeGcSkew[w] = cumulativeGcSkew;
+        });
+        return profile;
+    }
+
+    private static void add(CharSequence sequence, int from, int to, int[] counts, int delta) {
+        for (int i = from; i < to; i++) {
+            char c = sequence.charAt(i);
+            int code = c < 128 ? CODES[c] : -1;
+            if (code >= 0) {
+                counts[code] += delta;
+            }
+        }
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getStepSize() {
+        return stepSize;
+    }
+
+    public static final class Profile {
+        private final int[] windowStarts;
+        private final double[] gcPercentage;
+        private final double[] gcSkew;
+        private final double[] atSkew;
+        private final double[] cumulativeGcSkew;
+
+        private Profile(int windows) {
+            windowStarts = new int[windows];
+            gcPercentage = new double[windows];
+            gcSkew = new double[windows];
+            atSkew = new double[windows];
+            cumulativeGcSkew = new double[windows];
+        }
+
+        public int size() {
+            return windowStarts.length;
+        }
+
+        public int[] getWindowStarts() {
+            return windowStarts;
+        }
+
+        public double[] getGcPercentage() {
+            return gcPercentage;
+        }
+
+        public double[] getGcSkew() {
+            return gcSkew;
+        }
+
+        public double[] getAtSkew() {
+            return atSkew;
+        }
+
+        public double[] getCumulativeGcSkew() {
+            return cumulativeGcSkew;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package master.ucaldas.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Linear-time suffix array construction by induced sorting (SA-IS, Nong, Zhang &amp; Chan 2009).
+ * The input must end with a unique sentinel 0 that is smaller than every other symbol.
+ */
+public final class SuffixArray {
+
+    private SuffixArray() {
+    }
+
+    public static int[] build(int[] text, int alphabetSize) {
+        int n = text.length;
+        if (n == 0 || text[n - 1] != 0) {
+            throw new IllegalArgumentException("El texto debe terminar con el centinela 0");
+        }
+        int[] sa = new int[n];
+        if (n == 1) {
+            return sa;
+        }
+        sais(text, sa, n, alphabetSize);
+        return sa;
+    }
+
+    private static void sais(int[] s, int[] sa, int n, int k) {
+        boolean[] sType = new boolean[n];
+        sType[n - 1] = true;
+        for (int i = n - 2; i >= 0; i--) {
+            sType[i] = s[i] < s[i + 1] || (s[i] == s[i + 1] && sType[i + 1]);
+        }
+
+        int[] buckets = new int[k];
+        bucketBounds(s, buckets, n, k, true);
+        Arrays.fill(sa, -1);
+        for (int i = 1; i < n; i++) {
+            if (isLms(sType, i)) {
+                sa[--buckets[s[i]]] = i;
+            }
+        }
+        induce(s, sa, sType, buckets, n, k);
+
+        int lmsCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (isLms(sType, sa[i])) {
+                sa[lmsCount++] = sa[i];
+            }
+        }
+
+        Arrays.fill(sa, lmsCount, n, -1);
+        int names = 0;
+        int previous = -1;
+        for (int i = 0; i < lmsCount; i++) {
+            int position = sa[i];
+            boolean different = false;
+            for (int d = 0; ; d++) {
+                if (previous < 0 || s[position + d] != s[previous + d] || sType[position + d] != sType[previous + d]) {
+                    different = true;
+                    break;
+                }
+                if (d > 0 && (isLms(sType, position + d) || isLms(sType, previous + d))) {
+                    break;
+                }
+            }
+            if (different) {
+                names++;
+                previous = position;
+            }
+            sa[lmsCount + position / 2] = names - 1;
+        }
+
+        int[] reduced = new int[lmsCount];
+        for (int i = n - 1, j = lmsCount - 1; i >= lmsCount; i--) {
+            if (sa[i] >= 0) {
+                reduced[j--] = sa[i];
+            }
+        }
+
+        int[] reducedSa = new int[lmsCount];
+        if (names < lmsCount) {
+            sais(reduced, reducedSa, lmsCount, names);
+        } else {
+            for (int i = 0; i < lmsCount; i++) {
+                reducedSa[reduced[i]] = i;
+            }
+        }
+
+        for (int i = 1, j = 0; i < n; i++) {
+            if (isLms(sType, i)) {
+                reduced[j++] = i;
+            }
+        }
+        for (int i = 0; i < lmsCount; i++) {
+            reducedSa[i] = reduced[reducedSa[i]];
+        }
+
+        bucketBounds(s, buckets, n, k, true);
+        Arrays.fill(sa, -1);
+        for (int i = lmsCount - 1; i >= 0; i--) {
+            int position = reducedSa[i];
+            sa[--buckets[s[position]]] = position;
+        }
+        induce(s, sa, sType, buckets, n, k);
+    }
+
+    private static void induce(int[] s, int[] sa, boolean[] sType, int[] buckets, int n, int k) {
+        bucketBounds(s, buckets, n, k, false);
+        for (int i = 0; i < n; i++) {
+            int j = sa[i] - 1;
+            if (j >= 0 && !sType[j]) {
+                sa[buckets[s[j]]++] = j;
+            }
+        }
+        bucketBounds(s, buckets, n, k, true);
+        for (int i = n - 1; i >= 0; i--) {
+            int j = sa[i] - 1;
+            if (j >= 0 && sType[j]) {
+                sa[--buckets[s[j]]] = j;
+            }
+        }
+    }
+
+    private static void bucketBounds(int[] s, int[] buckets, int n, int k, boolean ends) {
+        Arrays.fill(buckets, 0);
+        for (int i = 0; i < n; i++) {
+            buckets[s[i]]++;
+        }
+        int sum = 0;
+        for (int c = 0; c < k; c++) {
+            sum += buckets[c];
+            buckets[c] = ends ? sum : sum - buckets[c];
+        }
+    }
+
+    private static boolean isLms(boolean[] sType, int i) {
+        return i > 0 && sType[i] && !sType[i - 1];
+    }
+}
@@ -82,7 +82,7 @@ public class Report {
         
         switch (filterType) {
             case "ALIGNMENT" -> {
-                csv.append("Tipo,Fecha,Secuencia1,Longitud1,Secuencia2,Longitud2,Similitud(%),SecuenciaMasLarga\n");
+                csv.append("Tipo,Fecha,Secuencia1,Longitud1,Secuencia2,Longitud2,Similitud(%),SecuenciaMasLarga,Modo,Puntaje,CIGAR\n");
                 for (AnalysisResult result : filteredResults) {
                     if (!"ALIGNMENT".equals(result.getAnalysisType())) continue;
                     csv.append(escapeCSV(result.getAnalysisType())).append(",");
@@ -92,7 +92,10 @@ public class Report {
                     csv.append(escapeCSV(String.valueOf(result.getData("sequence2")))).append(",");
                     csv.append(result.getData("length2")).append(",");
                     csv.append(String.format("%.2f", result.getData("similarity_percentage"))).append(",");
-                    csv.append(escapeCSV(String.valueOf(result.getData("longer_sequence")))).append("\n");
+                    csv.append(escapeCSV(String.valueOf(result.getData("longer_sequence")))).append(",");
+                    csv.append(escapeCSV(result.getData("alignment_mode") != null ? String.valueOf(result.getData("alignment_mode")) : "POSITIONAL")).append(",");
+                    csv.append(result.getData("alignment_score") != null ? result.getData("alignment_score") : "").append(",");
+                    csv.append(escapeCSV(result.getData("cigar") != null ? String.valueOf(result.getData("cigar")) : "")).append("\n");
                 }
             }
             case "MOTIF_DETECTION" -> {
@@ -111,7 +114,7 @@ public class Report {
                 }
             }
             case "STRUCTURE_PREDICTION" -> {
-                csv.append("Tipo,Fecha,Secuencia,Longitud,A,T,C,G,EstructuraPredicha\n");
+                csv.append("Tipo,Fecha,Secuencia,Longitud,A,T,C,G,U,N,IUPAC,GC(%),EstructuraPredicha\n");
                 for (AnalysisResult result : filteredResults) {
                     if (!"STRUCTURE_PREDICTION".equals(result.getAnalysisType())) continue;
                     csv.append(escapeCSV(result.getAnalysisType())).append(",");
@@ -120,14 +123,52 @@ public class Report {
                     csv.append(result.getData("sequence_length")).append(",");
 
                     @SuppressWarnings("unchecked")
-                    Map<Character, Integer> baseCounts = (Map<Character, Integer>) result.getData("base_counts");
+                    Map<Character, Long> baseCounts = (Map<Character, Long>) result.getData("base_counts");
                     csv.append(baseCounts.get('A')).append(",");
                     csv.append(baseCounts.get('T')).append(",");
                     csv.append(baseCounts.get('C')).append(",");
                     csv.append(baseCounts.get('G')).append(",");
+                    csv.append(baseCounts.getOrDefault('U', 0L)).append(",");
+                    csv.append(result.getData("n_count")).append(",");
+                    csv.append(result.getData("ambiguous_count")).append(",");
+                    csv.append(result.getData("gc_percentage")).append(",");
                     csv.append(escapeCSV(String.valueOf(result.getData("predicted_structure")))).append("\n");
                 }
             }
+            case "MINHASH_SIMILARITY" -> {
+                csv.append("Tipo,Fecha,Secuencia1,Secuencia2,Kmer,Sketch,Jaccard,ANI(%)\n");
+                for (AnalysisResult result : filteredResults) {
+                    if (!"MINHASH_SIMILARITY".equals(result.getAnalysisType())) continue;
+                    csv.append(escapeCSV(result.getAnalysisType())).append(",");
+                    csv.append(escapeCSV(result.getTimestamp().toString())).append(",");
+                    csv.append(escapeCSV(String.valueOf(result.getData("sequence1")))).append(",");
+                    csv.append(escapeCSV(String.valueOf(result.getData("sequence2")))).append(",");
+                    csv.append(result.getData("kmer_size")).append(",");
+                    csv.append(result.getData("sketch_size")).append(",");
+                    csv.append(String.format("%.4f", result.getData("jaccard"))).append(",");
+                    csv.append(String.format("%.2f", result.getData("ani_percentage"))).append("\n");
+                }
+            }
+            case "GC_SKEW_PROFILE" -> {
+                csv.append("Tipo,Fecha,Secuencia,Inicio,GC(%),SesgoGC,SesgoAT,SesgoGCAcumulado\n");
+                for (AnalysisResult result : filteredResults) {
+                    if (!"GC_SKEW_PROFILE".equals(result.getAnalysisType())) continue;
+                    int[] starts = (int[]) result.getData("window_starts");
+                    double[] gc = (double[]) result.getData("gc_percentage");
+                    double[] gcSkew = (double[]) result.getData("gc_skew");
+                    double[] atSkew = (double[]) result.getData("at_skew");
+                    double[] cumulative = (double[]) result.getData("cumulative_gc_skew");
+                    String prefix = escapeCSV(result.getAnalysisType()) + "," + escapeCSV(result.getTimestamp().toString())
+                            + "," + escapeCSV(String.valueOf(result.getData("sequence_name"))) + ",";
+                    for (int w = 0; w < starts.length; w++) {
+                        csv.append(prefix).append(starts[w]).append(",");
+                        csv.append(String.format("%.2f", gc[w])).append(",");
+                        csv.append(String.format("%.4f", gcSkew[w])).append(",");
+                        csv.append(String.format("%.4f", atSkew[w])).append(",");
+                        csv.append(String.format("%.4f", cumulative[w])).append("\n");
+                    }
+                }
+            }
             case "ALL" -> {
                 csv.append("Tipo,Fecha,Datos\n");
                 for (AnalysisResult result : analysisResults) {
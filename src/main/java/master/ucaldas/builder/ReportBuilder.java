@@ -38,6 +38,20 @@ public class ReportBuilder {
         section.append("│\n");
         section.append(String.format("│  Similitud:   %.2f%%\n", result.getData("similarity_percentage")));
         section.append(String.format("│  Más larga:   %s\n", result.getData("longer_sequence")));
+        if (result.getData("cigar") != null) {
+            String cigar = (String) result.getData("cigar");
+            if (cigar.length() > 60) {
+                cigar = cigar.substring(0, 57) + "...";
+            }
+            section.append("│\n");
+            section.append(String.format("│  Modo:        %s\n", result.getData("alignment_mode")));
+            section.append(String.format("│  Puntaje:     %d\n", result.getData("alignment_score")));
+            section.append(String.format("│  Columnas:    %d (%d coincidencias, %d gaps abiertos)\n",
+                    result.getData("aligned_length"), result.getData("matches"), result.getData("gap_opens")));
+            section.append(String.format("│  Región 1:    %d-%d\n", result.getData("start1"), result.getData("end1")));
+            section.append(String.format("│  Región 2:    %d-%d\n", result.getData("start2"), result.getData("end2")));
+            section.append(String.format("│  CIGAR:       %s\n", cigar));
+        }
         section.append("└").append("─".repeat(79));
 
         report.addSection(section.toString());
@@ -58,8 +72,24 @@ public class ReportBuilder {
         section.append(String.format("│  Secuencia: %s\n", result.getData("sequence_name")));
         section.append(String.format("│  Motivo:    %s\n", result.getData("motif")));
         section.append(String.format("│  Ocurrencias: %d\n", result.getData("occurrences")));
+        if (result.getData("search_mode") != null) {
+            section.append(String.format("│  Búsqueda:  %s\n", result.getData("search_mode")));
+            if ("END".equals(result.getData("position_anchor"))) {
+                section.append("│  (las posiciones indican el final de cada ocurrencia)\n");
+            }
+        }
         section.append("│\n");
 
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> motifCounts = (Map<String, Integer>) result.getData("motif_counts");
+        if (motifCounts != null) {
+            section.append("│  Ocurrencias por motivo:\n");
+            for (Map.Entry<String, Integer> entry : motifCounts.entrySet()) {
+                section.append(String.format("│    %-20s %d\n", entry.getKey(), entry.getValue()));
+            }
+            section.append("│\n");
+        }
+
         @SuppressWarnings("unchecked")
         List<Integer> positions = (List<Integer>) result.getData("positions");
         
@@ -102,13 +132,22 @@ public class ReportBuilder {
         section.append("│\n");
 
         @SuppressWarnings("unchecked")
-        Map<Character, Integer> baseCounts = (Map<Character, Integer>) result.getData("base_counts");
+        Map<Character, Long> baseCounts = (Map<Character, Long>) result.getData("base_counts");
         
         section.append("│  Composición de bases:\n");
         section.append(String.format("│    A (Adenina):  %d\n", baseCounts.get('A')));
         section.append(String.format("│    T (Timina):   %d\n", baseCounts.get('T')));
         section.append(String.format("│    C (Citosina): %d\n", baseCounts.get('C')));
         section.append(String.format("│    G (Guanina):  %d\n", baseCounts.get('G')));
+        if (baseCounts.containsKey('U')) {
+            section.append(String.format("│    U (Uracilo):  %d\n", baseCounts.get('U')));
+        }
+        if (result.getData("n_count") != null) {
+            section.append(String.format("│    N (Desconocida): %d\n", result.getData("n_count")));
+            section.append(String.format("│    Códigos IUPAC ambiguos: %d\n", result.getData("ambiguous_count")));
+            section.append(String.format("│  Contenido GC: %.2f%% (sobre %d bases definidas)\n",
+                    result.getData("gc_percentage"), result.getData("definite_bases")));
+        }
         section.append("│\n");
         section.append(String.format("│  Estructura predicha: %s\n", result.getData("predicted_structure")));
         section.append("└").append("─".repeat(79));
@@ -118,6 +157,59 @@ public class ReportBuilder {
         return this;
     }
 
+    public ReportBuilder addGcSkewProfileSection(AnalysisResult result) {
+        if (!"GC_SKEW_PROFILE".equals(result.getAnalysisType())) {
+            return this;
+        }
+
+        StringBuilder section = new StringBuilder();
+        section.append("┌─ PERFIL DE GC Y SESGO ").append("─".repeat(55)).append("\n");
+        section.append("│\n");
+        section.append(String.format("│  Fecha: %s\n", result.getTimestamp().format(dateFormatter)));
+        section.append("│\n");
+        section.append(String.format("│  Secuencia: %s\n", result.getData("sequence_name")));
+        section.append(String.format("│  Longitud:  %d bases\n", result.getData("sequence_length")));
+        section.append(String.format("│  Ventana:   %d bases, paso %d\n", result.getData("window_size"), result.getData("step_size")));
+        section.append(String.format("│  Ventanas:  %d\n", result.getData("window_count")));
+        if (result.getData("mean_gc_percentage") != null) {
+            section.append("│\n");
+            section.append(String.format("│  GC medio:  %.2f%% (mín. %.2f%%, máx. %.2f%%)\n", result.getData("mean_gc_percentage"),
+                    result.getData("min_gc_percentage"), result.getData("max_gc_percentage")));
+            section.append(String.format("│  Mínimo del sesgo GC acumulado: posición %d (origen probable)\n",
+                    result.getData("cumulative_skew_min_position")));
+            section.append(String.format("│  Máximo del sesgo GC acumulado: posición %d (término probable)\n",
+                    result.getData("cumulative_skew_max_position")));
+        }
+        section.append("└").append("─".repeat(79));
+
+        report.addSection(section.toString());
+        report.addAnalysisResult(result);
+        return this;
+    }
+
+    public ReportBuilder addMinHashSection(AnalysisResult result) {
+        if (!"MINHASH_SIMILARITY".equals(result.getAnalysisType())) {
+            return this;
+        }
+
+        StringBuilder section = new StringBuilder();
+        section.append("┌─ SIMILITUD APROXIMADA (MINHASH) ").append("─".repeat(45)).append("\n");
+        section.append("│\n");
+        section.append(String.format("│  Fecha: %s\n", result.getTimestamp().format(dateFormatter)));
+        section.append("│\n");
+        section.append(String.format("│  Secuencia 1: %s (%d hashes)\n", result.getData("sequence1"), result.getData("hashes1")));
+        section.append(String.format("│  Secuencia 2: %s (%d hashes)\n", result.getData("sequence2"), result.getData("hashes2")));
+        section.append(String.format("│  k-mer: %d   Sketch: %d\n", result.getData("kmer_size"), result.getData("sketch_size")));
+        section.append("│\n");
+        section.append(String.format("│  Jaccard estimado: %.4f\n", result.getData("jaccard")));
+        section.append(String.format("│  ANI estimada:     %.2f%%\n", result.getData("ani_percentage")));
+        section.append("└").append("─".repeat(79));
+
+        report.addSection(section.toString());
+        report.addAnalysisResult(result);
+        return this;
+    }
+
     public ReportBuilder addCustomSection(String sectionContent) {
         report.addSection(sectionContent);
         return this;
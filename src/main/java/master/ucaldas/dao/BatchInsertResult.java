@@ -0,0 +1,39 @@
+package master.ucaldas.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one or more batched inserts: how many rows were stored and, for every rejected
+ * sequence, its name and the database's reason.
+ */
+public class BatchInsertResult {
+    private int inserted;
+    private final List<String> failures = new ArrayList<>();
+
+    void addInserted(int rows) {
+        inserted += rows;
+    }
+
+    void addFailure(String name, String reason) {
+        failures.add(name + ": " + reason);
+    }
+
+    public void merge(BatchInsertResult other) {
+        inserted += other.inserted;
+        failures.addAll(other.failures);
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getFailedCount() {
+        return failures.size();
+    }
+
+    public List<String> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+}
@@ -0,0 +1,737 @@
+package master.ucaldas.dao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+
+import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.PackedSequence;
+import master.ucaldas.model.PackedSequenceCodec;
+import master.ucaldas.model.SequenceDigest;
+import master.ucaldas.model.SequenceSummary;
+
+/**
+ * Embedded {@link SequenceRepository} that needs no database. Sequences are appended to
+ * {@code sequences.dat}. Each record holds the metadata, guarded by a CRC32, followed by the
+ * body in {@link PackedSequenceCodec} format. {@code sequences.idx} is a memory-mapped
+ * open-addressing hash table from a 64-bit hash of the name to the record offset, so a lookup
+ * by name reads one slot and one record. Names match case-insensitively, like the MySQL table.
+ * The index only ever grows in place, so no mapped region is truncated or replaced; it is rebuilt
+ * from the data file when it is missing or damaged, and catches up with records appended after
+ * its last update. A torn record at the end of the data file is truncated on open.
+ */
+public class FileSequenceRepository implements SequenceRepository {
+    private static final int DATA_MAGIC = 0x47535144;
+    private static final int INDEX_MAGIC = 0x47535149;
+    private static final int FORMAT_VERSION = 1;
+    private static final int INDEX_VERSION = 2;
+    private static final int DATA_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final int MAX_METADATA = 1 << 20;
+    private static final int INDEX_HEADER = 32;
+    private static final int CAPACITY_AT = 8;
+    private static final int COUNT_AT = 12;
+    private static final int NEXT_ID_AT = 16;
+    private static final int DATA_END_AT = 24;
+    private static final int SLOT_SIZE = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private record Entry(long offset, int id, String name, String description, String type, LocalDateTime creationDate,
+                         int length, String digest, long bodyOffset, int bodyLength, long bodyChecksum) {
+        long end() {
+            return bodyOffset + bodyLength;
+        }
+    }
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel data;
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int count;
+    private int nextId;
+    private long dataEnd;
+    private long generation;
+
+    public FileSequenceRepository(Path directory) {
+        this.dataFile = directory.resolve("sequences.dat");
+        this.indexFile = directory.resolve("sequences.idx");
+        try {
+            Files.createDirectories(directory);
+            open();
+        } catch (IOException e) {
+            System.err.println("Error abriendo el repositorio de secuencias en " + directory + ": " + e.getMessage());
+            closeChannels();
+        }
+    }
+
+    private void open() throws IOException {
+        data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = data.size();
+        ByteBuffer header = ByteBuffer.allocate(DATA_HEADER);
+        if (size == 0) {
+            header.putInt(DATA_MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(data, header, 0);
+            size = DATA_HEADER;
+        } else if (size < DATA_HEADER || !readFully(data, header, 0) || header.getInt(0) != DATA_MAGIC
+                || header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Formato de archivo de secuencias desconocido: " + dataFile);
+        }
+
+        if (!openIndex() || dataEnd > size) {
+            if (Files.exists(indexFile)) {
+                System.err.println("Índice de secuencias dañado o desactualizado, se reconstruye: " + indexFile);
+            }
+            resetIndex();
+        }
+        long end = indexRecords(dataEnd, size);
+        if (end < size) {
+            System.err.println("Repositorio de secuencias truncado en el byte " + end + " por un registro incompleto");
+            data.truncate(end);
+        }
+        dataEnd = end;
+        writeIndexHeader();
+    }
+
+    private boolean openIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER);
+        if (!readFully(indexChannel, header, 0) || header.getInt(0) != INDEX_MAGIC
+                || header.getInt(4) != INDEX_VERSION) {
+            return false;
+        }
+        int slots = header.getInt(CAPACITY_AT);
+        if (slots < INITIAL_CAPACITY || Integer.bitCount(slots) != 1
+                || indexChannel.size() != INDEX_HEADER + (long) slots * SLOT_SIZE) {
+            return false;
+        }
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+        capacity = slots;
+        count = header.getInt(COUNT_AT);
+        nextId = header.getInt(NEXT_ID_AT);
+        dataEnd = header.getLong(DATA_END_AT);
+        int occupied = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (index.getLong(INDEX_HEADER + slot * SLOT_SIZE) != 0) {
+                occupied++;
+            }
+        }
+        return occupied == count && dataEnd >= DATA_HEADER;
+    }
+
+    /**
+     * Empties the index. A mapped table is cleared in place; the file is only truncated when
+     * nothing maps it yet.
+     */
+    private void resetIndex() throws IOException {
+        if (index != null) {
+            invalidateIndexHeader();
+            clearSlots(index, capacity);
+        } else {
+            if (indexChannel == null) {
+                indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+            }
+            indexChannel.truncate(0);
+            index = mapIndex(indexChannel, INITIAL_CAPACITY);
+            capacity = INITIAL_CAPACITY;
+        }
+        count = 0;
+        nextId = 1;
+        dataEnd = DATA_HEADER;
+    }
+
+    /**
+     * Extends the file to hold {@code slots} slots if needed and maps it; never shrinks it.
+     */
+    private static MappedByteBuffer mapIndex(FileChannel channel, int slots) throws IOException {
+        long size = INDEX_HEADER + (long) slots * SLOT_SIZE;
+        if (channel.size() < size) {
+            writeFully(channel, ByteBuffer.allocate(1), size - 1);
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static void clearSlots(MappedByteBuffer target, int slots) {
+        for (int at = INDEX_HEADER; at < INDEX_HEADER + slots * SLOT_SIZE; at += 8) {
+            target.putLong(at, 0);
+        }
+    }
+
+    // Marks the index as damaged while it is rewritten, so a crash midway makes the next open
+    // rebuild it from the data file.
+    private void invalidateIndexHeader() {
+        index.putInt(0, 0);
+    }
+
+    private void writeIndexHeader() {
+        index.putInt(0, INDEX_MAGIC)
+                .putInt(4, INDEX_VERSION)
+                .putInt(CAPACITY_AT, capacity)
+                .putInt(COUNT_AT, count)
+                .putInt(NEXT_ID_AT, nextId)
+                .putLong(DATA_END_AT, dataEnd);
+    }
+
+    /**
+     * Adds the records in {@code [from, to)} to the index, stopping at the first damaged one;
+     * returns the end of the last valid record.
+     */
+    private long indexRecords(long from, long to) throws IOException {
+        long position = from;
+        while (position < to) {
+            Entry entry = readEntry(position, to);
+            if (entry == null) {
+                break;
+            }
+            if (findEntry(entry.name()) == null) {
+                addToIndex(entry.name(), position);
+                count++;
+            }
+            nextId = Math.max(nextId, entry.id() + 1);
+            position = entry.end();
+            dataEnd = position;
+        }
+        return position;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return data != null;
+    }
+
+    @Override
+    public boolean insert(GeneticSequence sequence) {
+        BatchInsertResult result = insertBatch(List.of(sequence));
+        if (result.getFailedCount() > 0) {
+            System.err.println("Error insertando secuencia: " + result.getFailures().get(0));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Appends the sequences and makes them durable with a single flush. Each sequence succeeds
+     * or fails on its own: a duplicate name or a failed write is reported for that sequence,
+     * its partial record is cut off and the rest are still stored.
+     */
+    @Override
+    public BatchInsertResult insertBatch(List<GeneticSequence> sequences) {
+        BatchInsertResult result = new BatchInsertResult();
+        if (sequences.isEmpty()) {
+            return result;
+        }
+
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            for (GeneticSequence sequence : sequences) {
+                if (sequence.getName() == null || sequence.getType() == null) {
+                    result.addFailure(String.valueOf(sequence.getName()), "nombre y tipo son obligatorios");
+                    continue;
+                }
+                try {
+                    if (findEntry(sequence.getName()) != null) {
+                        result.addFailure(sequence.getName(), "ya existe una secuencia con ese nombre");
+                    } else {
+                        append(sequence);
+                        result.addInserted(1);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error escribiendo la secuencia '" + sequence.getName() + "': " + e.getMessage());
+                    result.addFailure(sequence.getName(), String.valueOf(e.getMessage()));
+                    truncateQuietly();
+                }
+            }
+            try {
+                data.force(false);
+            } catch (IOException e) {
+                System.err.println("Error sincronizando el repositorio de secuencias: " + e.getMessage());
+            }
+            writeIndexHeader();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Encodes the whole record before writing it, so encoding errors leave the file untouched,
+     * and only advances {@code dataEnd} once both the record and its index slot are in place.
+     */
+    private void append(GeneticSequence sequence) throws IOException {
+        byte[] body = PackedSequenceCodec.encode(sequence.getBases());
+        int id = nextId;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(id);
+            out.writeUTF(sequence.getName());
+            out.writeBoolean(sequence.getDescription() != null);
+            if (sequence.getDescription() != null) {
+                byte[] description = sequence.getDescription().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(description.length);
+                out.write(description);
+            }
+            out.writeUTF(sequence.getType());
+            out.writeUTF(LocalDateTime.now().toString());
+            out.writeInt(sequence.getLength());
+            out.writeUTF(sequence.getDigest().toHex());
+            out.writeInt(body.length);
+            out.writeLong(PackedSequenceCodec.checksum(body));
+        }
+        byte[] metadata = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(metadata);
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER).putInt(metadata.length).putInt((int) crc.getValue());
+
+        long position = dataEnd;
+        long end = position;
+        for (ByteBuffer buffer : new ByteBuffer[]{header.flip(), ByteBuffer.wrap(metadata), ByteBuffer.wrap(body)}) {
+            int length = buffer.remaining();
+            writeFully(data, buffer, end);
+            end += length;
+        }
+        addToIndex(sequence.getName(), position);
+        count++;
+        nextId++;
+        dataEnd = end;
+        sequence.setId(id);
+    }
+
+    private void truncateQuietly() {
+        try {
+            data.truncate(dataEnd);
+        } catch (IOException e) {
+            System.err.println("Error recortando el repositorio de secuencias: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<GeneticSequence> findAll() {
+        try (Stream<GeneticSequence> sequences = streamAll()) {
+            return sequences.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    @Override
+    public List<GeneticSequence> findByType(String type) {
+        try (Stream<GeneticSequence> sequences = streamByType(type)) {
+            return sequences.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    @Override
+    public GeneticSequence findByName(String name) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            Entry entry = findEntry(name);
+            return entry != null ? toLoadedSequence(entry) : null;
+        } catch (IOException e) {
+            System.err.println("Error buscando secuencia: " + e.getMessage());
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public GeneticSequence findLazyByName(String name) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            Entry entry = findEntry(name);
+            if (entry == null) {
+                return null;
+            }
+            GeneticSequence sequence = toSequence(entry);
+            long readGeneration = generation;
+            sequence.setLazySequence(entry.length(), () -> {
+                lock.readLock().lock();
+                try {
+                    ensureCurrent(readGeneration);
+                    return readBody(entry);
+                } catch (IOException | IllegalStateException e) {
+                    System.err.println("Error cargando contenido de secuencia: " + e.getMessage());
+                    return null;
+                } finally {
+                    lock.readLock().unlock();
+                }
+            });
+            return sequence;
+        } catch (IOException e) {
+            System.err.println("Error buscando secuencia: " + e.getMessage());
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, GeneticSequence> findByNames(Collection<String> names) {
+        Map<String, GeneticSequence> found = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            for (String name : names) {
+                Entry entry = name != null && !found.containsKey(name) ? findEntry(name) : null;
+                if (entry != null) {
+                    found.put(name, toLoadedSequence(entry));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error buscando secuencias: " + e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    @Override
+    public Stream<GeneticSequence> streamAll() {
+        return scan(entry -> true, this::toLoadedSequence);
+    }
+
+    @Override
+    public Stream<GeneticSequence> streamByType(String type) {
+        return scan(entry -> entry.type().equals(type), this::toLoadedSequence);
+    }
+
+    @Override
+    public Stream<SequenceSummary> streamSummaries() {
+        return scan(entry -> true, this::toSummary);
+    }
+
+    @Override
+    public Stream<SequenceSummary> streamSummariesByType(String type) {
+        return scan(entry -> entry.type().equals(type), this::toSummary);
+    }
+
+    /**
+     * Walks the records present when the stream is created, reading only the metadata of
+     * records the filter rejects. Each record is read under the read lock; the stream fails
+     * if the repository is emptied or closed while it is consumed.
+     */
+    private <T> Stream<T> scan(Predicate<Entry> filter, EntryMapper<T> mapper) {
+        long end;
+        long scanGeneration;
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            end = dataEnd;
+            scanGeneration = generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Spliterator<T> records = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private long position = DATA_HEADER;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                T next = null;
+                lock.readLock().lock();
+                try {
+                    ensureCurrent(scanGeneration);
+                    while (next == null && position < end) {
+                        Entry entry = readEntry(position, end);
+                        if (entry == null) {
+                            throw new IOException("registro dañado en el byte " + position);
+                        }
+                        position = entry.end();
+                        if (filter.test(entry)) {
+                            next = mapper.map(entry);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("Error leyendo secuencias: " + e.getMessage(), e);
+                } finally {
+                    lock.readLock().unlock();
+                }
+                if (next == null) {
+                    return false;
+                }
+                action.accept(next);
+                return true;
+            }
+        };
+        return StreamSupport.stream(records, false);
+    }
+
+    @FunctionalInterface
+    private interface EntryMapper<T> {
+        T map(Entry entry) throws IOException;
+    }
+
+    private GeneticSequence toSequence(Entry entry) {
+        GeneticSequence sequence = new GeneticSequence();
+        sequence.setId(entry.id());
+        sequence.setName(entry.name());
+        sequence.setDescription(entry.description());
+        sequence.setType(entry.type());
+        sequence.setCreationDate(entry.creationDate());
+        sequence.setDigest(SequenceDigest.fromHex(entry.digest()));
+        return sequence;
+    }
+
+    private GeneticSequence toLoadedSequence(Entry entry) throws IOException {
+        GeneticSequence sequence = toSequence(entry);
+        sequence.setBases(readBody(entry));
+        sequence.setDigest(SequenceDigest.fromHex(entry.digest()));
+        return sequence;
+    }
+
+    private SequenceSummary toSummary(Entry entry) {
+        return new SequenceSummary(entry.id(), entry.name(), entry.description(), entry.type(), entry.length(),
+                SequenceDigest.fromHex(entry.digest()), entry.creationDate());
+    }
+
+    private PackedSequence readBody(Entry entry) throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(entry.bodyLength());
+        if (!readFully(data, body, entry.bodyOffset())) {
+            throw new IOException("Contenido incompleto de la secuencia '" + entry.name() + "'");
+        }
+        try {
+            return PackedSequenceCodec.read(new ByteArrayInputStream(body.array()), entry.bodyChecksum());
+        } catch (IOException e) {
+            throw new IOException("Contenido dañado en la secuencia '" + entry.name() + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the record at {@code offset}; returns {@code null} when it does not fit before
+     * {@code limit} or its metadata fails the checksum.
+     */
+    private Entry readEntry(long offset, long limit) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        if (offset + RECORD_HEADER > limit || !readFully(data, header, offset)) {
+            return null;
+        }
+        int metadataLength = header.getInt(0);
+        if (metadataLength <= 0 || metadataLength > MAX_METADATA || offset + RECORD_HEADER + metadataLength > limit) {
+            return null;
+        }
+        ByteBuffer metadata = ByteBuffer.allocate(metadataLength);
+        if (!readFully(data, metadata, offset + RECORD_HEADER)) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(metadata.array());
+        if ((int) crc.getValue() != header.getInt(4)) {
+            return null;
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(metadata.array()));
+        int id = in.readInt();
+        String name = in.readUTF();
+        String description = null;
+        if (in.readBoolean()) {
+            byte[] utf8 = new byte[in.readInt()];
+            in.readFully(utf8);
+            description = new String(utf8, StandardCharsets.UTF_8);
+        }
+        String type = in.readUTF();
+        LocalDateTime creationDate = LocalDateTime.parse(in.readUTF());
+        int length = in.readInt();
+        String digest = in.readUTF();
+        int bodyLength = in.readInt();
+        long bodyChecksum = in.readLong();
+        long bodyOffset = offset + RECORD_HEADER + metadataLength;
+        if (bodyLength < 0 || bodyOffset + bodyLength > limit) {
+            return null;
+        }
+        return new Entry(offset, id, name, description, type, creationDate, length, digest, bodyOffset, bodyLength,
+                bodyChecksum);
+    }
+
+    private Entry findEntry(String name) throws IOException {
+        long hash = hash(name);
+        int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            int at = INDEX_HEADER + slot * SLOT_SIZE;
+            long stored = index.getLong(at);
+            if (stored == 0) {
+                return null;
+            }
+            if (stored == hash) {
+                Entry entry = readEntry(index.getLong(at + 8), dataEnd);
+                if (entry != null && entry.name().equalsIgnoreCase(name)) {
+                    return entry;
+                }
+            }
+        }
+    }
+
+    private void addToIndex(String name, long offset) throws IOException {
+        if ((count + 1) * 2L > capacity) {
+            growIndex();
+        }
+        putSlot(index, capacity, hash(name), offset);
+    }
+
+    private static void putSlot(MappedByteBuffer target, int slots, long hash, long offset) {
+        int mask = slots - 1;
+        int slot = (int) hash & mask;
+        while (target.getLong(INDEX_HEADER + slot * SLOT_SIZE) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target.putLong(INDEX_HEADER + slot * SLOT_SIZE + 8, offset);
+        target.putLong(INDEX_HEADER + slot * SLOT_SIZE, hash);
+    }
+
+    /**
+     * Rehashes into a table twice as large. The file is extended and remapped in place; the old
+     * slots are copied to the heap first since the table is rewritten over them.
+     */
+    private void growIndex() throws IOException {
+        int grownCapacity = capacity * 2;
+        long[] slots = new long[capacity * 2];
+        for (int slot = 0; slot < capacity; slot++) {
+            slots[2 * slot] = index.getLong(INDEX_HEADER + slot * SLOT_SIZE);
+            slots[2 * slot + 1] = index.getLong(INDEX_HEADER + slot * SLOT_SIZE + 8);
+        }
+        index = mapIndex(indexChannel, grownCapacity);
+        invalidateIndexHeader();
+        clearSlots(index, grownCapacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            if (slots[2 * slot] != 0) {
+                putSlot(index, grownCapacity, slots[2 * slot], slots[2 * slot + 1]);
+            }
+        }
+        capacity = grownCapacity;
+        writeIndexHeader();
+    }
+
+    // Folds case the way String.equalsIgnoreCase compares, so equal names share a slot.
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            char c = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+            hash = (hash ^ c) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    @Override
+    public boolean deleteAll() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            generation++;
+            data.truncate(DATA_HEADER);
+            data.force(false);
+            int keptId = nextId;
+            resetIndex();
+            nextId = keptId;
+            writeIndexHeader();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error eliminando secuencias: " + e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int count() {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (data == null) {
+            throw new IllegalStateException("El repositorio de secuencias no está disponible");
+        }
+    }
+
+    private void ensureCurrent(long expectedGeneration) {
+        ensureOpen();
+        if (generation != expectedGeneration) {
+            throw new IllegalStateException("Las secuencias se eliminaron mientras se leían");
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.force();
+            }
+            closeChannels();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void closeChannels() {
+        for (FileChannel channel : new FileChannel[]{data, indexChannel}) {
+            if (channel == null) {
+                continue;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error cerrando el repositorio de secuencias: " + e.getMessage());
+            }
+        }
+        data = null;
+        indexChannel = null;
+        index = null;
+    }
+
+    private static boolean readFully(FileChannel source, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = source.read(buffer, position + buffer.position());
+            if (n <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+    }
+}
@@ -1,33 +1,67 @@
 package master.ucaldas.dao;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.PackedSequence;
+import master.ucaldas.model.PackedSequenceCodec;
+import master.ucaldas.model.SequenceDigest;
+import master.ucaldas.model.SequenceSummary;
+import master.ucaldas.singleton.Configuration;
 import master.ucaldas.singleton.DatabaseConnection;
 
-public class SequenceDAO {
+/**
+ * MySQL implementation of {@link SequenceRepository} over the pooled {@link DatabaseConnection}.
+ */
+public class SequenceDAO implements SequenceRepository {
+    private static final String SELECT_COLUMNS =
+            "SELECT id, name, description, type, sequence, packed_sequence, checksum, digest, creation_date FROM genetic_sequences";
+    private static final String SUMMARY_COLUMNS =
+            "SELECT id, name, description, type, length, digest, creation_date FROM genetic_sequences";
+    private static final String INSERT_SQL =
+            "INSERT INTO genetic_sequences (name, description, type, sequence, packed_sequence, checksum, length, digest) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int NAMES_PER_QUERY = 500;
+
     private DatabaseConnection dbConnection;
 
     public SequenceDAO() {
         this.dbConnection = DatabaseConnection.getInstance();
     }
 
-    public boolean insert(GeneticSequence sequence) {
-        String sql = "INSERT INTO genetic_sequences (name, description, type, sequence) VALUES (?, ?, ?, ?)";
+    @Override
+    public boolean isAvailable() {
+        return dbConnection.isConnected();
+    }
 
+    @Override
+    public boolean insert(GeneticSequence sequence) {
         try (Connection conn = dbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            stmt.setString(1, sequence.getName());
-            stmt.setString(2, sequence.getDescription());
-            stmt.setString(3, sequence.getType());
-            stmt.setString(4, sequence.getSequence());
+            bindInsert(stmt, sequence);
 
             int affectedRows = stmt.executeUpdate();
 
@@ -46,23 +80,130 @@ public class SequenceDAO {
         return false;
     }
 
+    /**
+     * Inserts the sequences in a single transaction with one JDBC batch, which the driver sends
+     * as multi-row INSERTs when {@code rewriteBatchedStatements} is enabled. If the batch is
+     * rejected, for example by a duplicate name, it is rolled back and replayed row by row
+     * behind savepoints so the valid rows are still stored and each failure is reported.
+     */
+    @Override
+    public BatchInsertResult insertBatch(List<GeneticSequence> sequences) {
+        BatchInsertResult result = new BatchInsertResult();
+        if (sequences.isEmpty()) {
+            return result;
+        }
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            conn.setAutoCommit(false);
+            int[] ids;
+            try {
+                for (GeneticSequence sequence : sequences) {
+                    bindInsert(stmt, sequence);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                ids = readGeneratedKeys(stmt, sequences.size());
+                conn.commit();
+                result.addInserted(sequences.size());
+            } catch (BatchUpdateException e) {
+                conn.rollback();
+                stmt.clearBatch();
+                ids = insertIndividually(conn, stmt, sequences, result);
+                conn.commit();
+            }
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] > 0) {
+                    sequences.get(i).setId(ids[i]);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error insertando lote de secuencias: " + e.getMessage());
+            result = new BatchInsertResult();
+            for (GeneticSequence sequence : sequences) {
+                result.addFailure(sequence.getName(), e.getMessage());
+            }
+        }
+
+        return result;
+    }
+
+    private int[] insertIndividually(Connection conn, PreparedStatement stmt, List<GeneticSequence> sequences,
+                                     BatchInsertResult result) throws SQLException {
+        int[] ids = new int[sequences.size()];
+        for (int i = 0; i < sequences.size(); i++) {
+            GeneticSequence sequence = sequences.get(i);
+            Savepoint savepoint = conn.setSavepoint();
+            try {
+                bindInsert(stmt, sequence);
+                stmt.executeUpdate();
+                ids[i] = readGeneratedKeys(stmt, 1)[0];
+                conn.releaseSavepoint(savepoint);
+                result.addInserted(1);
+            } catch (SQLException e) {
+                conn.rollback(savepoint);
+                result.addFailure(sequence.getName(), e.getMessage());
+            }
+        }
+        return ids;
+    }
+
+    private int[] readGeneratedKeys(PreparedStatement stmt, int rows) throws SQLException {
+        int[] ids = new int[rows];
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            for (int i = 0; i < rows && generatedKeys.next(); i++) {
+                ids[i] = generatedKeys.getInt(1);
+            }
+        }
+        return ids;
+    }
+
+    private void bindInsert(PreparedStatement stmt, GeneticSequence sequence) throws SQLException {
+        stmt.setString(1, sequence.getName());
+        stmt.setString(2, sequence.getDescription());
+        stmt.setString(3, sequence.getType());
+        if (Configuration.getInstance().isPackedSequenceStorage()) {
+            byte[] encoded = PackedSequenceCodec.encode(sequence.getBases());
+            stmt.setNull(4, Types.LONGVARCHAR);
+            stmt.setBytes(5, encoded);
+            stmt.setLong(6, PackedSequenceCodec.checksum(encoded));
+        } else {
+            stmt.setString(4, sequence.getSequence());
+            stmt.setNull(5, Types.LONGVARBINARY);
+            stmt.setNull(6, Types.BIGINT);
+        }
+        stmt.setInt(7, sequence.getLength());
+        stmt.setString(8, sequence.getDigest().toHex());
+    }
+
+    /**
+     * Reads the body of the current row from whichever column holds it: the encoded
+     * {@code packed_sequence}, decoded as it streams from the driver, or the plain text of rows
+     * stored without packing.
+     */
+    private CharSequence readBody(ResultSet rs, String name) throws SQLException {
+        try (InputStream packed = rs.getBinaryStream("packed_sequence")) {
+            if (packed == null) {
+                return rs.getString("sequence");
+            }
+            return PackedSequenceCodec.read(packed, rs.getLong("checksum"));
+        } catch (IOException e) {
+            throw new SQLException("Contenido dañado en la secuencia '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    @Override
     public List<GeneticSequence> findAll() {
         List<GeneticSequence> sequences = new ArrayList<>();
-        String sql = "SELECT id, name, description, type, sequence, creation_date FROM genetic_sequences ORDER BY id";
+        String sql = SELECT_COLUMNS + " ORDER BY id";
 
         try (Connection conn = dbConnection.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                GeneticSequence seq = new GeneticSequence();
-                seq.setId(rs.getInt("id"));
-                seq.setName(rs.getString("name"));
-                seq.setDescription(rs.getString("description"));
-                seq.setType(rs.getString("type"));
-                seq.setSequence(rs.getString("sequence"));
-                seq.setCreationDate(rs.getTimestamp("creation_date").toLocalDateTime());
-                sequences.add(seq);
+                sequences.add(mapRow(rs));
             }
         } catch (SQLException e) {
             System.err.println("Error recuperando secuencias: " + e.getMessage());
@@ -71,9 +212,102 @@ public class SequenceDAO {
         return sequences;
     }
 
+    /**
+     * Lazily reads every sequence in id order. Rows are fetched from a server-side cursor
+     * {@code db.fetch.size} at a time, so memory use does not grow with the table. The stream
+     * holds a pooled connection until it is closed, so consume it in a try-with-resources block.
+     */
+    @Override
+    public Stream<GeneticSequence> streamAll() {
+        return streamQuery(SELECT_COLUMNS + " ORDER BY id", stmt -> {
+        }, this::mapRow);
+    }
+
+    @Override
+    public Stream<GeneticSequence> streamByType(String type) {
+        return streamQuery(SELECT_COLUMNS + " WHERE type = ? ORDER BY id", stmt -> stmt.setString(1, type), this::mapRow);
+    }
+
+    @Override
+    public Stream<SequenceSummary> streamSummaries() {
+        return streamQuery(SUMMARY_COLUMNS + " ORDER BY id", stmt -> {
+        }, this::mapSummary);
+    }
+
+    @Override
+    public Stream<SequenceSummary> streamSummariesByType(String type) {
+        return streamQuery(SUMMARY_COLUMNS + " WHERE type = ? ORDER BY id", stmt -> stmt.setString(1, type),
+                this::mapSummary);
+    }
+
+    private <T> Stream<T> streamQuery(String sql, StatementBinder binder, RowMapper<T> mapper) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = dbConnection.getConnection();
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(Configuration.getInstance().getFetchSize());
+            binder.bind(stmt);
+            ResultSet rs = stmt.executeQuery();
+            AutoCloseable[] resources = {rs, stmt, conn};
+
+            Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(mapper.map(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException("Error leyendo secuencias: " + e.getMessage(), e);
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> closeAll(resources));
+        } catch (SQLException e) {
+            System.err.println("Error recuperando secuencias: " + e.getMessage());
+            closeAll(stmt, conn);
+            return Stream.empty();
+        }
+    }
+
+    private static void closeAll(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                System.err.println("Error cerrando consulta de secuencias: " + e.getMessage());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    @Override
     public GeneticSequence findByName(String name) {
-        String sql = "SELECT id, name, description, type, sequence, creation_date FROM genetic_sequences WHERE name = ?";
+        return findOneByName(SELECT_COLUMNS + " WHERE name = ?", name, this::mapRow);
+    }
+
+    @Override
+    public GeneticSequence findLazyByName(String name) {
+        return findOneByName(SUMMARY_COLUMNS + " WHERE name = ?", name, this::mapLazyRow);
+    }
 
+    private GeneticSequence findOneByName(String sql, String name, RowMapper<GeneticSequence> mapper) {
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
@@ -81,14 +315,7 @@ public class SequenceDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    GeneticSequence seq = new GeneticSequence();
-                    seq.setId(rs.getInt("id"));
-                    seq.setName(rs.getString("name"));
-                    seq.setDescription(rs.getString("description"));
-                    seq.setType(rs.getString("type"));
-                    seq.setSequence(rs.getString("sequence"));
-                    seq.setCreationDate(rs.getTimestamp("creation_date").toLocalDateTime());
-                    return seq;
+                    return mapper.map(rs);
                 }
             }
         } catch (SQLException e) {
@@ -98,9 +325,88 @@ public class SequenceDAO {
         return null;
     }
 
+    /**
+     * Looks the names up with {@code WHERE name IN (...)} queries of up to
+     * {@value #NAMES_PER_QUERY} names on one connection. The statement for a full chunk is
+     * prepared once and reused. Like the column collation, the returned map ignores case.
+     */
+    @Override
+    public Map<String, GeneticSequence> findByNames(Collection<String> names) {
+        Map<String, GeneticSequence> found = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> distinct = names.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            return found;
+        }
+
+        try (Connection conn = dbConnection.getConnection()) {
+            PreparedStatement fullChunk = null;
+            try {
+                for (int from = 0; from < distinct.size(); from += NAMES_PER_QUERY) {
+                    List<String> chunk = distinct.subList(from, Math.min(distinct.size(), from + NAMES_PER_QUERY));
+                    if (chunk.size() < NAMES_PER_QUERY) {
+                        try (PreparedStatement stmt = conn.prepareStatement(selectByNames(chunk.size()))) {
+                            queryNames(stmt, chunk, found);
+                        }
+                    } else {
+                        if (fullChunk == null) {
+                            fullChunk = conn.prepareStatement(selectByNames(NAMES_PER_QUERY));
+                        }
+                        queryNames(fullChunk, chunk, found);
+                    }
+                }
+            } finally {
+                if (fullChunk != null) {
+                    fullChunk.close();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error buscando secuencias: " + e.getMessage());
+        }
+
+        return found;
+    }
+
+    private void queryNames(PreparedStatement stmt, List<String> names, Map<String, GeneticSequence> found)
+            throws SQLException {
+        for (int i = 0; i < names.size(); i++) {
+            stmt.setString(i + 1, names.get(i));
+        }
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                GeneticSequence sequence = mapRow(rs);
+                found.put(sequence.getName(), sequence);
+            }
+        }
+    }
+
+    private static String selectByNames(int count) {
+        return SELECT_COLUMNS + " WHERE name IN (" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    private CharSequence findSequenceBody(int id, String name) {
+        String sql = "SELECT sequence, packed_sequence, checksum FROM genetic_sequences WHERE id = ?";
+
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return readBody(rs, name);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error cargando contenido de secuencia: " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    @Override
     public List<GeneticSequence> findByType(String type) {
         List<GeneticSequence> sequences = new ArrayList<>();
-        String sql = "SELECT id, name, description, type, sequence, creation_date FROM genetic_sequences WHERE type = ? ORDER BY id";
+        String sql = SELECT_COLUMNS + " WHERE type = ? ORDER BY id";
 
         try (Connection conn = dbConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -109,14 +415,7 @@ public class SequenceDAO {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    GeneticSequence seq = new GeneticSequence();
-                    seq.setId(rs.getInt("id"));
-                    seq.setName(rs.getString("name"));
-                    seq.setDescription(rs.getString("description"));
-                    seq.setType(rs.getString("type"));
-                    seq.setSequence(rs.getString("sequence"));
-                    seq.setCreationDate(rs.getTimestamp("creation_date").toLocalDateTime());
-                    sequences.add(seq);
+                    sequences.add(mapRow(rs));
                 }
             }
         } catch (SQLException e) {
@@ -126,6 +425,7 @@ public class SequenceDAO {
         return sequences;
     }
 
+    @Override
     public boolean deleteAll() {
         String sql = "DELETE FROM genetic_sequences";
 
@@ -141,6 +441,7 @@ public class SequenceDAO {
         return false;
     }
 
+    @Override
     public int count() {
         String sql = "SELECT COUNT(*) as total FROM genetic_sequences";
 
@@ -157,5 +458,49 @@ public class SequenceDAO {
 
         return 0;
     }
-}
 
+    @Override
+    public void close() {
+        dbConnection.closeConnection();
+    }
+
+    private GeneticSequence mapRow(ResultSet rs) throws SQLException {
+        GeneticSequence seq = new GeneticSequence();
+        seq.setId(rs.getInt("id"));
+        seq.setName(rs.getString("name"));
+        seq.setDescription(rs.getString("description"));
+        seq.setType(rs.getString("type"));
+        CharSequence body = readBody(rs, seq.getName());
+        seq.setBases(body != null ? PackedSequence.of(body) : null);
+        String digest = rs.getString("digest");
+        if (digest != null) {
+            seq.setDigest(SequenceDigest.fromHex(digest));
+        }
+        seq.setCreationDate(rs.getTimestamp("creation_date").toLocalDateTime());
+        return seq;
+    }
+
+    private GeneticSequence mapLazyRow(ResultSet rs) throws SQLException {
+        GeneticSequence seq = new GeneticSequence();
+        int id = rs.getInt("id");
+        seq.setId(id);
+        seq.setName(rs.getString("name"));
+        seq.setDescription(rs.getString("description"));
+        seq.setType(rs.getString("type"));
+        String name = seq.getName();
+        seq.setLazySequence(rs.getInt("length"), () -> findSequenceBody(id, name));
+        String digest = rs.getString("digest");
+        if (digest != null) {
+            seq.setDigest(SequenceDigest.fromHex(digest));
+        }
+        seq.setCreationDate(rs.getTimestamp("creation_date").toLocalDateTime());
+        return seq;
+    }
+
+    private SequenceSummary mapSummary(ResultSet rs) throws SQLException {
+        String digest = rs.getString("digest");
+        return new SequenceSummary(rs.getInt("id"), rs.getString("name"), rs.getString("description"),
+                rs.getString("type"), rs.getInt("length"), digest != null ? SequenceDigest.fromHex(digest) : null,
+                rs.getTimestamp("creation_date").toLocalDateTime());
+    }
+}
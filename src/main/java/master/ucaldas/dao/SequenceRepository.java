@@ -0,0 +1,82 @@
+package master.ucaldas.dao;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.SequenceSummary;
+import master.ucaldas.singleton.Configuration;
+
+/**
+ * Storage of genetic sequences. {@link SequenceDAO} keeps them in MySQL and
+ * {@link FileSequenceRepository} in local files; {@code repository.type} selects one.
+ */
+public interface SequenceRepository extends AutoCloseable {
+
+    static SequenceRepository fromConfiguration() {
+        Configuration config = Configuration.getInstance();
+        if ("file".equalsIgnoreCase(config.getRepositoryType())) {
+            return new FileSequenceRepository(Path.of(config.getRepositoryDirectory()));
+        }
+        return new SequenceDAO();
+    }
+
+    /**
+     * Returns whether the storage could be reached when the repository was created.
+     */
+    boolean isAvailable();
+
+    boolean insert(GeneticSequence sequence);
+
+    /**
+     * Inserts the sequences, storing every valid one and reporting the rejected ones.
+     */
+    BatchInsertResult insertBatch(List<GeneticSequence> sequences);
+
+    List<GeneticSequence> findAll();
+
+    List<GeneticSequence> findByType(String type);
+
+    /**
+     * Returns the sequence with its body, read in the same round trip.
+     */
+    GeneticSequence findByName(String name);
+
+    /**
+     * Returns the sequence's metadata; its body is read on first use. Meant for views that may
+     * never touch the body, such as the sequence detail.
+     */
+    GeneticSequence findLazyByName(String name);
+
+    /**
+     * Fetches the named sequences, bodies included, in as few round trips as possible. The
+     * result is keyed by name and compares names the way {@link #findByName} does; names that
+     * are not stored are absent.
+     */
+    Map<String, GeneticSequence> findByNames(Collection<String> names);
+
+    /**
+     * Streams every sequence in insertion order without holding them all in memory; the
+     * stream must be closed.
+     */
+    Stream<GeneticSequence> streamAll();
+
+    Stream<GeneticSequence> streamByType(String type);
+
+    /**
+     * Streams the metadata of every sequence without reading the bodies.
+     */
+    Stream<SequenceSummary> streamSummaries();
+
+    Stream<SequenceSummary> streamSummariesByType(String type);
+
+    boolean deleteAll();
+
+    int count();
+
+    @Override
+    void close();
+}
@@ -4,32 +4,45 @@ import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import master.ucaldas.algorithm.AllPairsAligner;
+import master.ucaldas.algorithm.BitParallelMatcher.ErrorModel;
 import master.ucaldas.builder.Report;
 import master.ucaldas.builder.ReportBuilder;
+import master.ucaldas.dao.BatchInsertResult;
 import master.ucaldas.dao.SequenceDAO;
+import master.ucaldas.dao.SequenceRepository;
 import master.ucaldas.factory.AnalysisFactory;
 import master.ucaldas.factory.AnalysisType;
 import master.ucaldas.model.AnalysisResult;
+import master.ucaldas.model.DistanceMatrix;
 import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.SequenceSummary;
 import master.ucaldas.proxy.AnalysisProxy;
 import master.ucaldas.singleton.AnalysisResultStorage;
 import master.ucaldas.singleton.Configuration;
 import master.ucaldas.singleton.DatabaseConnection;
+import master.ucaldas.strategy.AlignmentMode;
 import master.ucaldas.strategy.IAnalysisStrategy;
+import master.ucaldas.util.ConnectionPool;
 import master.ucaldas.util.FASTAReader;
 
 public class GeneticAnalysisFacade {
+    private static final long MAX_BATCH_BASES = 64L << 20;
+    private static final int MAX_REPORTED_FAILURES = 10;
 
-    private final SequenceDAO sequenceDAO;
+    private final SequenceRepository sequenceRepository;
     private final Configuration config;
     private final AnalysisResultStorage storage;
     private final AnalysisFactory analysisFactory;
     private final List<AnalysisResult> sessionResults;
 
     public GeneticAnalysisFacade() {
-        this.sequenceDAO = new SequenceDAO();
+        this.sequenceRepository = SequenceRepository.fromConfiguration();
         this.config = Configuration.getInstance();
         this.storage = AnalysisResultStorage.getInstance();
         this.analysisFactory = new AnalysisFactory();
@@ -38,74 +51,186 @@ public class GeneticAnalysisFacade {
 
     // ========== SEQUENCES MANAGEMENT ==========
     public int loadSequencesFromFASTA(String filePath) {
+        int batchSize = config.getBatchSize();
+        BatchInsertResult total = new BatchInsertResult();
+        List<GeneticSequence> batch = new ArrayList<>(batchSize);
+        long[] batchBases = {0};
         try {
-            List<GeneticSequence> sequences = FASTAReader.readFASTA(filePath);
-            int count = 0;
-
-            for (GeneticSequence seq : sequences) {
-                if (sequenceDAO.insert(seq)) {
-                    count++;
+            FASTAReader.forEachRecord(filePath, config.getFastaBufferSize(), seq -> {
+                batch.add(seq);
+                batchBases[0] += seq.getLength();
+                if (batch.size() >= batchSize || batchBases[0] >= MAX_BATCH_BASES) {
+                    total.merge(sequenceRepository.insertBatch(batch));
+                    batch.clear();
+                    batchBases[0] = 0;
                 }
-            }
+            });
+            total.merge(sequenceRepository.insertBatch(batch));
 
-            System.out.println("Cargadas " + count + " secuencias desde " + filePath);
-            return count;
+            System.out.println("Cargadas " + total.getInserted() + " secuencias desde " + filePath);
+            reportRejected(total);
+            return total.getInserted();
         } catch (IOException e) {
             System.err.println("Error leyendo archivo FASTA: " + e.getMessage());
             return 0;
         }
     }
 
+    private void reportRejected(BatchInsertResult result) {
+        if (result.getFailedCount() == 0) {
+            return;
+        }
+        System.err.println(result.getFailedCount() + " secuencias rechazadas:");
+        result.getFailures().stream().limit(MAX_REPORTED_FAILURES).forEach(failure -> System.err.println("  " + failure));
+        if (result.getFailedCount() > MAX_REPORTED_FAILURES) {
+            System.err.println("  ... y " + (result.getFailedCount() - MAX_REPORTED_FAILURES) + " más");
+        }
+    }
+
     public List<GeneticSequence> getAllSequences() {
-        return sequenceDAO.findAll();
+        return sequenceRepository.findAll();
+    }
+
+    /**
+     * Streams every stored sequence from a database cursor; close the stream when done.
+     */
+    public Stream<GeneticSequence> streamAllSequences() {
+        return sequenceRepository.streamAll();
+    }
+
+    public Stream<GeneticSequence> streamSequencesByType(String type) {
+        return sequenceRepository.streamByType(type);
+    }
+
+    /**
+     * Streams name, type, length and digest of the stored sequences without their bodies.
+     */
+    public Stream<SequenceSummary> streamSequenceSummaries() {
+        return sequenceRepository.streamSummaries();
+    }
+
+    public Stream<SequenceSummary> streamSequenceSummariesByType(String type) {
+        return sequenceRepository.streamSummariesByType(type);
     }
 
     public GeneticSequence getSequenceByName(String name) {
-        return sequenceDAO.findByName(name);
+        return sequenceRepository.findByName(name);
+    }
+
+    /**
+     * Returns a stored sequence for the detail view, or {@code null}. Its body is read only if
+     * the caller asks for the bases.
+     */
+    public GeneticSequence getSequenceDetail(String name) {
+        return sequenceRepository.findLazyByName(name);
+    }
+
+    /**
+     * Resolves a stored sequence by name, or reads it straight from an indexed FASTA when the
+     * reference has the form {@code @file.fa:name[:start-end]}.
+     */
+    public GeneticSequence resolveSequence(String reference) {
+        if (!reference.startsWith("@")) {
+            return sequenceRepository.findByName(reference);
+        }
+        int colon = reference.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Use el formato @archivo.fa:secuencia[:inicio-fin]");
+        }
+        try {
+            return FASTAReader.readRegion(reference.substring(1, colon), reference.substring(colon + 1));
+        } catch (IOException e) {
+            System.err.println("Error leyendo archivo FASTA: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Resolves several references at once. Stored names are fetched together in a single
+     * repository call; missing sequences come back as {@code null} in their position.
+     */
+    public List<GeneticSequence> resolveSequences(String... references) {
+        List<String> names = Arrays.stream(references).filter(reference -> !reference.startsWith("@")).toList();
+        Map<String, GeneticSequence> stored = names.isEmpty() ? Map.of() : sequenceRepository.findByNames(names);
+        List<GeneticSequence> resolved = new ArrayList<>(references.length);
+        for (String reference : references) {
+            resolved.add(reference.startsWith("@") ? resolveSequence(reference) : stored.get(reference));
+        }
+        return resolved;
     }
 
     public List<GeneticSequence> getSequencesByType(String type) {
-        return sequenceDAO.findByType(type);
+        return sequenceRepository.findByType(type);
     }
 
     public int countSequences() {
-        return sequenceDAO.count();
+        return sequenceRepository.count();
     }
 
     public boolean clearAllSequences() {
-        return sequenceDAO.deleteAll();
+        return sequenceRepository.deleteAll();
     }
 
     // ========== ANALYSIS ==========
     public AnalysisResult performAlignment(String seq1Name, String seq2Name) {
-        GeneticSequence seq1 = sequenceDAO.findByName(seq1Name);
-        GeneticSequence seq2 = sequenceDAO.findByName(seq2Name);
+        return performAlignment(seq1Name, seq2Name, AlignmentMode.POSITIONAL);
+    }
+
+    public AnalysisResult performAlignment(String seq1Name, String seq2Name, AlignmentMode mode) {
+        List<GeneticSequence> resolved = resolveSequences(seq1Name, seq2Name);
+        GeneticSequence seq1 = resolved.get(0);
+        GeneticSequence seq2 = resolved.get(1);
 
         if (seq1 == null || seq2 == null) {
             throw new IllegalArgumentException("Una o ambas secuencias no fueron encontradas");
         }
 
-        IAnalysisStrategy analysis = analysisFactory.createAnalysis(AnalysisType.ALIGNMENT);
+        IAnalysisStrategy analysis = analysisFactory.createAnalysis(AnalysisType.ALIGNMENT, mode.name());
         AnalysisProxy proxy = new AnalysisProxy(analysis);
 
         return proxy.execute(seq1, seq2);
     }
 
+    public DistanceMatrix computeDistanceMatrix(String type) {
+        List<GeneticSequence> sequences = sequenceRepository.findByType(type);
+
+        if (sequences.size() < 2) {
+            throw new IllegalArgumentException("Se requieren al menos 2 secuencias de tipo " + type);
+        }
+
+        return new AllPairsAligner().withPrefilter(config.getMinHashPrefilterIdentity()).compute(sequences);
+    }
+
     public AnalysisResult performMotifDetection(String seqName, String motif) {
-        GeneticSequence sequence = sequenceDAO.findByName(seqName);
+        return performMotifDetection(seqName, List.of(motif));
+    }
+
+    public AnalysisResult performMotifDetection(String seqName, List<String> motifs) {
+        return performMotifDetection(seqName, motifs, false, 0, ErrorModel.MISMATCH);
+    }
+
+    public AnalysisResult performMotifDetection(String seqName, List<String> motifs, boolean degenerate,
+                                                int maxErrors, ErrorModel errorModel) {
+        GeneticSequence sequence = resolveSequence(seqName);
 
         if (sequence == null) {
             throw new IllegalArgumentException("Secuencia no encontrada: " + seqName);
         }
 
-        IAnalysisStrategy analysis = analysisFactory.createAnalysis(AnalysisType.MOTIF_DETECTION, motif);
+        List<String> params = new ArrayList<>(motifs);
+        params.add("iupac=" + degenerate);
+        params.add("errors=" + maxErrors);
+        params.add("model=" + errorModel.name());
+        params.add("index=" + config.isMotifIndexEnabled());
+        IAnalysisStrategy analysis = analysisFactory.createAnalysis(AnalysisType.MOTIF_DETECTION,
+                params.toArray(new String[0]));
         AnalysisProxy proxy = new AnalysisProxy(analysis);
 
         return proxy.execute(sequence);
     }
 
     public AnalysisResult performStructurePrediction(String seqName) {
-        GeneticSequence sequence = sequenceDAO.findByName(seqName);
+        GeneticSequence sequence = resolveSequence(seqName);
 
         if (sequence == null) {
             throw new IllegalArgumentException("Secuencia no encontrada: " + seqName);
@@ -117,6 +242,35 @@ public class GeneticAnalysisFacade {
         return proxy.execute(sequence);
     }
 
+    public AnalysisResult performMinHashSimilarity(String seq1Name, String seq2Name) {
+        List<GeneticSequence> resolved = resolveSequences(seq1Name, seq2Name);
+        GeneticSequence seq1 = resolved.get(0);
+        GeneticSequence seq2 = resolved.get(1);
+
+        if (seq1 == null || seq2 == null) {
+            throw new IllegalArgumentException("Una o ambas secuencias no fueron encontradas");
+        }
+
+        IAnalysisStrategy analysis = analysisFactory.createAnalysis(AnalysisType.MINHASH_SIMILARITY);
+        AnalysisProxy proxy = new AnalysisProxy(analysis);
+
+        return proxy.execute(seq1, seq2);
+    }
+
+    public AnalysisResult performGcSkewProfile(String seqName, int windowSize, int stepSize) {
+        GeneticSequence sequence = resolveSequence(seqName);
+
+        if (sequence == null) {
+            throw new IllegalArgumentException("Secuencia no encontrada: " + seqName);
+        }
+
+        IAnalysisStrategy analysis = analysisFactory.createAnalysis(AnalysisType.GC_SKEW_PROFILE,
+                String.valueOf(windowSize), String.valueOf(stepSize));
+        AnalysisProxy proxy = new AnalysisProxy(analysis);
+
+        return proxy.execute(sequence);
+    }
+
     // ========== REPORTS ==========
     public Report generateReport(AnalysisResult result, String title) {
         ReportBuilder builder = new ReportBuilder();
@@ -132,6 +286,12 @@ public class GeneticAnalysisFacade {
             case "STRUCTURE_PREDICTION":
                 builder.addStructurePredictionSection(result);
                 break;
+            case "MINHASH_SIMILARITY":
+                builder.addMinHashSection(result);
+                break;
+            case "GC_SKEW_PROFILE":
+                builder.addGcSkewProfileSection(result);
+                break;
         }
 
         return builder.build();
@@ -152,6 +312,12 @@ public class GeneticAnalysisFacade {
                 case "STRUCTURE_PREDICTION":
                     builder.addStructurePredictionSection(result);
                     break;
+                case "MINHASH_SIMILARITY":
+                    builder.addMinHashSection(result);
+                    break;
+                case "GC_SKEW_PROFILE":
+                    builder.addGcSkewProfileSection(result);
+                    break;
             }
         }
 
@@ -177,13 +343,46 @@ public class GeneticAnalysisFacade {
         return storage.getResultCount();
     }
 
-    // ========== DATABASE CONNECTION ==========
-    public boolean isDatabaseConnected() {
-        return DatabaseConnection.getInstance().isConnected();
+    public int getDiskCachedAnalysisCount() {
+        return storage.getDiskResultCount();
     }
 
-    public void closeDatabaseConnection() {
-        DatabaseConnection.getInstance().closeConnection();
+    public long getDiskCacheBytes() {
+        return storage.getDiskSize();
+    }
+
+    public long getCacheUsedBytes() {
+        return storage.getWeightedSize();
+    }
+
+    public long getCacheMaxBytes() {
+        return storage.getMaximumSize();
+    }
+
+    public double getCacheHitRate() {
+        long requests = storage.getHitCount() + storage.getMissCount();
+        return requests == 0 ? 0.0 : storage.getHitCount() * 100.0 / requests;
+    }
+
+    public long getCacheEvictionCount() {
+        return storage.getEvictionCount();
+    }
+
+    // ========== SEQUENCE REPOSITORY ==========
+    public boolean isRepositoryAvailable() {
+        return sequenceRepository.isAvailable();
+    }
+
+    public boolean usesDatabase() {
+        return sequenceRepository instanceof SequenceDAO;
+    }
+
+    public ConnectionPool.Metrics getConnectionPoolMetrics() {
+        return usesDatabase() ? DatabaseConnection.getInstance().getPoolMetrics() : null;
+    }
+
+    public void closeRepository() {
+        sequenceRepository.close();
     }
 
     // ========== SESSION RESULTS MANAGEMENT ==========
@@ -227,12 +426,30 @@ public class GeneticAnalysisFacade {
         return config.getMinSequenceLength();
     }
 
+    public void setMotifIndexEnabled(boolean enabled) {
+        config.setMotifIndexEnabled(enabled);
+    }
+
+    public boolean isMotifIndexEnabled() {
+        return config.isMotifIndexEnabled();
+    }
+
+    public void setMinHashPrefilterIdentity(double identity) {
+        config.setMinHashPrefilterIdentity(identity);
+    }
+
+    public double getMinHashPrefilterIdentity() {
+        return config.getMinHashPrefilterIdentity();
+    }
+
     // ========== UTILITIES ==========
     public String getAnalysisTypeName(String type) {
         return switch (type) {
             case "ALIGNMENT" -> "Análisis de Alineamiento";
             case "MOTIF_DETECTION" -> "Detección de Motivos";
             case "STRUCTURE_PREDICTION" -> "Predicción de Estructura";
+            case "MINHASH_SIMILARITY" -> "Similitud Aproximada (MinHash)";
+            case "GC_SKEW_PROFILE" -> "Perfil de GC y Sesgo";
             default -> type;
         };
     }
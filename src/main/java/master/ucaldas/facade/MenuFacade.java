@@ -2,14 +2,24 @@ package master.ucaldas.facade;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
+import master.ucaldas.algorithm.BitParallelMatcher.ErrorModel;
+import master.ucaldas.algorithm.SkewProfile;
 import master.ucaldas.builder.Report;
 import master.ucaldas.model.AnalysisResult;
+import master.ucaldas.model.DistanceMatrix;
 import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.SequenceSummary;
+import master.ucaldas.strategy.AlignmentMode;
+import master.ucaldas.util.ConnectionPool;
 
 public class MenuFacade {
+    private static final int MAX_DISPLAYED_BASES = 10_000;
+
     private final GeneticAnalysisFacade analysisFacade;
     private final Scanner scanner;
 
@@ -21,9 +31,13 @@ public class MenuFacade {
     public void start() {
         printWelcome();
 
-        if (!analysisFacade.isDatabaseConnected()) {
-            System.err.println("\nERROR: No se pudo conectar a la base de datos.");
-            System.err.println("  Asegúrese de que MySQL esté ejecutándose.");
+        if (!analysisFacade.isRepositoryAvailable()) {
+            if (analysisFacade.usesDatabase()) {
+                System.err.println("\nERROR: No se pudo conectar a la base de datos.");
+                System.err.println("  Asegúrese de que MySQL esté ejecutándose.");
+            } else {
+                System.err.println("\nERROR: No se pudo abrir el repositorio de secuencias en archivos.");
+            }
             return;
         }
 
@@ -59,7 +73,7 @@ public class MenuFacade {
     }
 
     private void cleanup() {
-        analysisFacade.closeDatabaseConnection();
+        analysisFacade.closeRepository();
         scanner.close();
     }
 
@@ -140,34 +154,49 @@ public class MenuFacade {
     }
 
     private void viewAllSequences() {
-        List<GeneticSequence> sequences = analysisFacade.getAllSequences();
-        displaySequences(sequences);
+        try (Stream<SequenceSummary> sequences = analysisFacade.streamSequenceSummaries()) {
+            displaySequences(sequences.iterator());
+        }
     }
 
     private void viewSequencesByType() {
         System.out.print("Ingrese el tipo (DNA/RNA/Protein): ");
         String type = scanner.nextLine().trim();
 
-        List<GeneticSequence> sequences = analysisFacade.getSequencesByType(type);
-        displaySequences(sequences);
+        try (Stream<SequenceSummary> sequences = analysisFacade.streamSequenceSummariesByType(type)) {
+            displaySequences(sequences.iterator());
+        }
     }
 
     private void viewSequenceByName() {
         System.out.print("Ingrese el nombre de la secuencia: ");
         String name = scanner.nextLine().trim();
 
-        GeneticSequence seq = analysisFacade.getSequenceByName(name);
-        if (seq != null) {
-            List<GeneticSequence> sequences = new ArrayList<>();
-            sequences.add(seq);
-            displaySequences(sequences);
-        } else {
+        GeneticSequence seq = analysisFacade.getSequenceDetail(name);
+        if (seq == null) {
             System.out.println("Secuencia no encontrada");
+            return;
+        }
+        displaySequences(List.of(SequenceSummary.of(seq)).iterator());
+
+        System.out.print("¿Mostrar el contenido? (S/N): ");
+        if (scanner.nextLine().trim().toUpperCase().equals("S")) {
+            displayBases(seq.getBases());
         }
     }
 
-    private void displaySequences(List<GeneticSequence> sequences) {
-        if (sequences.isEmpty()) {
+    private void displayBases(CharSequence bases) {
+        int shown = Math.min(bases.length(), MAX_DISPLAYED_BASES);
+        for (int i = 0; i < shown; i += 80) {
+            System.out.println(bases.subSequence(i, Math.min(i + 80, shown)));
+        }
+        if (bases.length() > shown) {
+            System.out.println("... (" + (bases.length() - shown) + " bases más)");
+        }
+    }
+
+    private void displaySequences(Iterator<SequenceSummary> sequences) {
+        if (!sequences.hasNext()) {
             System.out.println("\nNo se encontraron secuencias");
             return;
         }
@@ -176,7 +205,10 @@ public class MenuFacade {
         System.out.printf("%-10s %-15s %-10s %-10s %-30s\n", "ID", "NOMBRE", "TIPO", "LONGITUD", "DESCRIPCIÓN");
         System.out.println("═".repeat(80));
 
-        for (GeneticSequence seq : sequences) {
+        int count = 0;
+        while (sequences.hasNext()) {
+            SequenceSummary seq = sequences.next();
+            count++;
             String desc = seq.getDescription();
             if (desc.length() > 28) {
                 desc = desc.substring(0, 25) + "...";
@@ -185,12 +217,12 @@ public class MenuFacade {
                     seq.getId(),
                     seq.getName(),
                     seq.getType(),
-                    seq.getSequence().length(),
+                    seq.getLength(),
                     desc);
         }
 
         System.out.println("═".repeat(80));
-        System.out.println("Total: " + sequences.size() + " secuencias");
+        System.out.println("Total: " + count + " secuencias");
     }
 
     // ========== MENÚ 3: PERFORM ANALYSIS ==========
@@ -202,8 +234,12 @@ public class MenuFacade {
         System.out.println("1. Alineamiento de secuencias");
         System.out.println("2. Detección de motivos");
         System.out.println("3. Predicción de estructura");
+        System.out.println("4. Matriz de distancias (todos contra todos)");
+        System.out.println("5. Similitud aproximada (MinHash)");
+        System.out.println("6. Perfil de GC y sesgo por ventanas");
         System.out.println("0. Volver");
         System.out.println("─".repeat(80));
+        System.out.println("Las secuencias pueden leerse de un FASTA indexado con @archivo.fa:secuencia[:inicio-fin]");
 
         int choice = readInt("Seleccione una opción: ");
 
@@ -212,6 +248,9 @@ public class MenuFacade {
                 case 1 -> performAlignmentAnalysis();
                 case 2 -> performMotifDetectionAnalysis();
                 case 3 -> performStructurePredictionAnalysis();
+                case 4 -> performDistanceMatrixAnalysis();
+                case 5 -> performMinHashAnalysis();
+                case 6 -> performGcSkewProfileAnalysis();
                 case 0 -> {}
                 default -> System.out.println("Opción inválida");
             }
@@ -226,12 +265,24 @@ public class MenuFacade {
         String seq1 = scanner.nextLine().trim();
         System.out.print("Nombre de la segunda secuencia: ");
         String seq2 = scanner.nextLine().trim();
-
-        AnalysisResult result = analysisFacade.performAlignment(seq1, seq2);
+        System.out.println("Modo de alineamiento:");
+        System.out.println("1. Posicional (sin gaps)");
+        System.out.println("2. Global (Needleman-Wunsch, gaps afines)");
+        System.out.println("3. Local (Smith-Waterman, gaps afines)");
+        AlignmentMode mode = switch (readInt("Seleccione un modo: ")) {
+            case 2 -> AlignmentMode.GLOBAL;
+            case 3 -> AlignmentMode.LOCAL;
+            default -> AlignmentMode.POSITIONAL;
+        };
+
+        AnalysisResult result = analysisFacade.performAlignment(seq1, seq2, mode);
         analysisFacade.addSessionResult(result);
 
         System.out.println("\nAnálisis completado");
         System.out.println("  Similitud: " + String.format("%.2f%%", result.getData("similarity_percentage")));
+        if (result.getData("cigar") != null) {
+            System.out.println("  Puntaje: " + result.getData("alignment_score"));
+        }
         System.out.println("  Secuencia más larga: " + result.getData("longer_sequence"));
 
         System.out.print("\n¿Desea ver el reporte completo? (S/N): ");
@@ -245,10 +296,28 @@ public class MenuFacade {
         System.out.println("\n--- DETECCIÓN DE MOTIVOS ---");
         System.out.print("Nombre de la secuencia: ");
         String seqName = scanner.nextLine().trim();
-        System.out.print("Motivo a buscar: ");
-        String motif = scanner.nextLine().trim();
+        System.out.print("Motivo(s) a buscar (separados por coma): ");
+        List<String> motifs = new ArrayList<>();
+        for (String motif : scanner.nextLine().split(",")) {
+            if (!motif.trim().isEmpty()) {
+                motifs.add(motif.trim());
+            }
+        }
 
-        AnalysisResult result = analysisFacade.performMotifDetection(seqName, motif);
+        System.out.print("¿Interpretar códigos IUPAC (N, R, Y, W...)? (S/N): ");
+        boolean degenerate = scanner.nextLine().trim().toUpperCase().equals("S");
+        int maxErrors = readInt("Errores permitidos (0 = búsqueda exacta): ");
+        ErrorModel errorModel = ErrorModel.MISMATCH;
+        if (maxErrors > 0) {
+            System.out.println("Tipo de error:");
+            System.out.println("1. Sustituciones (Hamming)");
+            System.out.println("2. Edición (sustituciones, inserciones y deleciones)");
+            if (readInt("Seleccione un tipo: ") == 2) {
+                errorModel = ErrorModel.EDIT;
+            }
+        }
+
+        AnalysisResult result = analysisFacade.performMotifDetection(seqName, motifs, degenerate, maxErrors, errorModel);
         analysisFacade.addSessionResult(result);
 
         System.out.println("\nAnálisis completado");
@@ -271,6 +340,7 @@ public class MenuFacade {
 
         System.out.println("\nAnálisis completado");
         System.out.println("  Estructura predicha: " + result.getData("predicted_structure"));
+        System.out.printf("  Contenido GC: %.2f%%%n", (double) result.getData("gc_percentage"));
 
         System.out.print("\n¿Desea ver el reporte completo? (S/N): ");
         if (scanner.nextLine().trim().toUpperCase().equals("S")) {
@@ -279,6 +349,88 @@ public class MenuFacade {
         }
     }
 
+    private void performMinHashAnalysis() {
+        System.out.println("\n--- SIMILITUD APROXIMADA (MINHASH) ---");
+        System.out.print("Nombre de la primera secuencia: ");
+        String seq1 = scanner.nextLine().trim();
+        System.out.print("Nombre de la segunda secuencia: ");
+        String seq2 = scanner.nextLine().trim();
+
+        AnalysisResult result = analysisFacade.performMinHashSimilarity(seq1, seq2);
+        analysisFacade.addSessionResult(result);
+
+        System.out.println("\nAnálisis completado");
+        System.out.println("  Jaccard estimado: " + String.format("%.4f", result.getData("jaccard")));
+        System.out.println("  ANI estimada: " + String.format("%.2f%%", result.getData("ani_percentage")));
+
+        System.out.print("\n¿Desea ver el reporte completo? (S/N): ");
+        if (scanner.nextLine().trim().toUpperCase().equals("S")) {
+            Report report = analysisFacade.generateReport(result, "SIMILITUD APROXIMADA (MINHASH)");
+            System.out.println("\n" + report);
+        }
+    }
+
+    private void performGcSkewProfileAnalysis() {
+        System.out.println("\n--- PERFIL DE GC Y SESGO ---");
+        System.out.print("Nombre de la secuencia: ");
+        String seqName = scanner.nextLine().trim();
+        System.out.print("Tamaño de ventana [" + SkewProfile.DEFAULT_WINDOW_SIZE + "]: ");
+        int windowSize = readIntOrDefault(SkewProfile.DEFAULT_WINDOW_SIZE);
+        System.out.print("Paso [" + SkewProfile.DEFAULT_STEP_SIZE + "]: ");
+        int stepSize = readIntOrDefault(SkewProfile.DEFAULT_STEP_SIZE);
+
+        AnalysisResult result = analysisFacade.performGcSkewProfile(seqName, windowSize, stepSize);
+        analysisFacade.addSessionResult(result);
+
+        System.out.println("\nAnálisis completado");
+        System.out.println("  Ventanas: " + result.getData("window_count"));
+        if (result.getData("mean_gc_percentage") != null) {
+            System.out.printf("  GC medio: %.2f%%%n", (double) result.getData("mean_gc_percentage"));
+            System.out.println("  Mínimo del sesgo GC acumulado (origen probable): "
+                    + result.getData("cumulative_skew_min_position"));
+        }
+
+        System.out.print("\n¿Desea ver el reporte completo? (S/N): ");
+        if (scanner.nextLine().trim().toUpperCase().equals("S")) {
+            Report report = analysisFacade.generateReport(result, "PERFIL DE GC Y SESGO");
+            System.out.println("\n" + report);
+        }
+    }
+
+    private void performDistanceMatrixAnalysis() {
+        System.out.println("\n--- MATRIZ DE DISTANCIAS ---");
+        System.out.print("Tipo de secuencias (DNA/RNA/Protein): ");
+        String type = scanner.nextLine().trim();
+
+        long start = System.currentTimeMillis();
+        DistanceMatrix matrix = analysisFacade.computeDistanceMatrix(type);
+        long elapsed = System.currentTimeMillis() - start;
+
+        int n = matrix.size();
+        System.out.println("\nAnálisis completado");
+        System.out.println("  Secuencias: " + n);
+        System.out.println("  Pares evaluados: " + (long) n * (n - 1) / 2);
+        System.out.println("  Tiempo: " + elapsed + " ms");
+
+        if (n > 12) {
+            System.out.println("  (Matriz demasiado grande para mostrarse en consola)");
+            return;
+        }
+
+        System.out.printf("\n%-10s", "");
+        for (int j = 0; j < n; j++) {
+            System.out.printf(" %8.8s", matrix.getName(j));
+        }
+        System.out.println();
+        for (int i = 0; i < n; i++) {
+            System.out.printf("%-10.10s", matrix.getName(i));
+            for (int j = 0; j < n; j++) {
+                System.out.printf(" %8.4f", matrix.get(i, j));
+            }
+            System.out.println();
+        }
+    }
+
     // ========== MENÚ 4: GENERATE REPORTS ==========
 
     private void menuGenerateReports() {
@@ -402,11 +554,26 @@ public class MenuFacade {
         System.out.println("Configuración actual:");
         System.out.println("  Ruta FASTA: " + analysisFacade.getFastaPath());
         System.out.println("  Longitud mínima: " + analysisFacade.getMinSequenceLength() + " bases");
+        System.out.println("  Prefiltro MinHash (ANI mínima): " + analysisFacade.getMinHashPrefilterIdentity());
+        System.out.println("  Índice FM para motivos: " + (analysisFacade.isMotifIndexEnabled() ? "activado" : "desactivado"));
         System.out.println("  Análisis en caché: " + analysisFacade.getCachedAnalysisCount());
+        System.out.printf("  Memoria de caché: %.1f MB de %.1f MB (aciertos: %.1f%%, desalojos: %d)%n",
+                analysisFacade.getCacheUsedBytes() / 1048576.0, analysisFacade.getCacheMaxBytes() / 1048576.0,
+                analysisFacade.getCacheHitRate(), analysisFacade.getCacheEvictionCount());
+        System.out.printf("  Caché en disco: %d análisis (%.1f MB)%n",
+                analysisFacade.getDiskCachedAnalysisCount(), analysisFacade.getDiskCacheBytes() / 1048576.0);
         System.out.println("  Secuencias en BD: " + analysisFacade.countSequences());
+        ConnectionPool.Metrics pool = analysisFacade.getConnectionPoolMetrics();
+        if (pool != null) {
+            System.out.printf("  Pool de conexiones: %d activas, %d inactivas, %d en espera (creadas: %d, espera media: %.1f ms, agotamientos: %d, fugas: %d)%n",
+                    pool.active(), pool.idle(), pool.waiting(), pool.created(), pool.averageWaitMillis(),
+                    pool.timeouts(), pool.leaks());
+        }
 
         System.out.println("\n1. Cambiar ruta FASTA por defecto");
         System.out.println("2. Cambiar longitud mínima");
+        System.out.println("3. Cambiar umbral del prefiltro MinHash");
+        System.out.println("4. Activar/desactivar índice FM para motivos");
         System.out.println("0. Volver");
 
         int choice = readInt("Seleccione una opción: ");
@@ -423,6 +590,25 @@ public class MenuFacade {
                 analysisFacade.setMinSequenceLength(minLength);
                 System.out.println("Longitud mínima actualizada");
             }
+            case 3 -> {
+                System.out.println("Los pares por debajo del umbral no se alinean y quedan con distancia 1.0");
+                System.out.print("ANI mínima para alinear un par (0.0 - 1.0, 0 desactiva): ");
+                try {
+                    double identity = Double.parseDouble(scanner.nextLine().trim());
+                    if (identity < 0.0 || identity > 1.0) {
+                        System.out.println("El umbral debe estar entre 0.0 y 1.0");
+                    } else {
+                        analysisFacade.setMinHashPrefilterIdentity(identity);
+                        System.out.println("Umbral actualizado");
+                    }
+                } catch (NumberFormatException e) {
+                    System.out.println("Por favor ingrese un número válido");
+                }
+            }
+            case 4 -> {
+                analysisFacade.setMotifIndexEnabled(!analysisFacade.isMotifIndexEnabled());
+                System.out.println("Índice FM " + (analysisFacade.isMotifIndexEnabled() ? "activado" : "desactivado"));
+            }
             case 0 -> {}
             default -> System.out.println("Opción inválida");
         }
@@ -458,5 +644,19 @@ public class MenuFacade {
             }
         }
     }
+
+    private int readIntOrDefault(int defaultValue) {
+        while (true) {
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(input);
+            } catch (NumberFormatException e) {
+                System.out.print("Por favor ingrese un número válido: ");
+            }
+        }
+    }
 }
 
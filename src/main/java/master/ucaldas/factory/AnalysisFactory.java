@@ -1,11 +1,17 @@
 package master.ucaldas.factory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import master.ucaldas.strategy.AlignmentAnalysis;
+import master.ucaldas.algorithm.BitParallelMatcher.ErrorModel;
+import master.ucaldas.strategy.AlignmentMode;
+import master.ucaldas.strategy.GcSkewProfileAnalysis;
 import master.ucaldas.strategy.IAnalysisStrategy;
+import master.ucaldas.strategy.MinHashAnalysis;
 import master.ucaldas.strategy.MotifDetectionAnalysis;
 import master.ucaldas.strategy.StructurePredictionAnalysis;
 
@@ -15,6 +21,8 @@ public class AnalysisFactory {
     public AnalysisFactory() {
         strategies.put(AnalysisType.ALIGNMENT, AlignmentAnalysis::new);
         strategies.put(AnalysisType.STRUCTURE_PREDICTION, StructurePredictionAnalysis::new);
+        strategies.put(AnalysisType.MINHASH_SIMILARITY, MinHashAnalysis::new);
+        strategies.put(AnalysisType.GC_SKEW_PROFILE, GcSkewProfileAnalysis::new);
     }
 
     public IAnalysisStrategy createAnalysis(AnalysisType type, String... params) {
@@ -22,7 +30,31 @@ public class AnalysisFactory {
             if (params.length == 0 || params[0] == null || params[0].isEmpty()) {
                 throw new IllegalArgumentException("Se requiere un motivo para detección");
             }
-            return new MotifDetectionAnalysis(params[0]);
+            return createMotifDetection(params);
+        }
+
+        if (type == AnalysisType.ALIGNMENT && params.length > 0 && params[0] != null && !params[0].isEmpty()) {
+            try {
+                return new AlignmentAnalysis(AlignmentMode.valueOf(params[0].trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Modo de alineamiento no soportado: " + params[0]);
+            }
+        }
+
+        if (type == AnalysisType.MINHASH_SIMILARITY && params.length >= 2) {
+            try {
+                return new MinHashAnalysis(Integer.parseInt(params[0].trim()), Integer.parseInt(params[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El tamaño de k-mer y del sketch deben ser números enteros");
+            }
+        }
+
+        if (type == AnalysisType.GC_SKEW_PROFILE && params.length >= 2) {
+            try {
+                return new GcSkewProfileAnalysis(Integer.parseInt(params[0].trim()), Integer.parseInt(params[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El tamaño de ventana y el paso deben ser números enteros");
+            }
         }
 
         Supplier<IAnalysisStrategy> supplier = strategies.get(type);
@@ -32,4 +64,38 @@ public class AnalysisFactory {
         
         return supplier.get();
     }
+
+    private IAnalysisStrategy createMotifDetection(String... params) {
+        List<String> motifs = new ArrayList<>();
+        boolean degenerate = false;
+        int maxErrors = 0;
+        ErrorModel errorModel = ErrorModel.MISMATCH;
+        boolean useIndex = false;
+
+        for (String param : params) {
+            int separator = param.indexOf('=');
+            if (separator < 0) {
+                motifs.add(param);
+                continue;
+            }
+            String key = param.substring(0, separator).trim().toLowerCase();
+            String value = param.substring(separator + 1).trim();
+            try {
+                switch (key) {
+                    case "iupac" -> degenerate = Boolean.parseBoolean(value);
+                    case "errors" -> maxErrors = Integer.parseInt(value);
+                    case "model" -> errorModel = ErrorModel.valueOf(value.toUpperCase());
+                    case "index" -> useIndex = Boolean.parseBoolean(value);
+                    default -> throw new IllegalArgumentException("Parámetro de motivo desconocido: " + key);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El número de errores debe ser un entero: " + value);
+            }
+        }
+
+        if (motifs.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere un motivo para detección");
+        }
+        return new MotifDetectionAnalysis(motifs, degenerate, maxErrors, errorModel).withIndex(useIndex);
+    }
 }
\ No newline at end of file
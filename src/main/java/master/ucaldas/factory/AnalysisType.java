@@ -3,6 +3,8 @@ package master.ucaldas.factory;
 public enum AnalysisType {
     ALIGNMENT,
     MOTIF_DETECTION,
-    STRUCTURE_PREDICTION
+    STRUCTURE_PREDICTION,
+    MINHASH_SIMILARITY,
+    GC_SKEW_PROFILE
 }
 
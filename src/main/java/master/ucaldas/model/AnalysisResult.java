@@ -1,6 +1,7 @@
 package master.ucaldas.model;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,6 +16,17 @@ public class AnalysisResult {
         this.data = new HashMap<>();
     }
 
+    public AnalysisResult(String analysisType, LocalDateTime timestamp) {
+        this(analysisType);
+        this.timestamp = timestamp;
+    }
+
+    public AnalysisResult copy() {
+        AnalysisResult copy = new AnalysisResult(analysisType, timestamp);
+        copy.data.putAll(data);
+        return copy;
+    }
+
     public void addData(String key, Object value) {
         this.data.put(key, value);
     }
@@ -35,6 +47,57 @@ public class AnalysisResult {
         return new HashMap<>(data);
     }
 
+    /**
+     * Approximates the heap retained by this result, counting object headers, boxed values
+     * and collection entries; used to weigh it in the result cache.
+     */
+    public long estimatedBytes() {
+        return 64 + estimateBytes(analysisType) + estimateBytes(data);
+    }
+
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof Number || value instanceof Character || value instanceof Boolean) {
+            return 16;
+        }
+        if (value instanceof int[] array) {
+            return 16 + 4L * array.length;
+        }
+        if (value instanceof long[] array) {
+            return 16 + 8L * array.length;
+        }
+        if (value instanceof double[] array) {
+            return 16 + 8L * array.length;
+        }
+        if (value instanceof Object[] array) {
+            long bytes = 16 + 4L * array.length;
+            for (Object element : array) {
+                bytes += estimateBytes(element);
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 40;
+            for (Object element : collection) {
+                bytes += 8 + estimateBytes(element);
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 36 + estimateBytes(entry.getKey()) + estimateBytes(entry.getValue());
+            }
+            return bytes;
+        }
+        return 32;
+    }
+
     @Override
     public String toString() {
         return "AnalysisResult{" +
@@ -0,0 +1,37 @@
+package master.ucaldas.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DistanceMatrix {
+    private final List<String> names;
+    private final double[] distances;
+
+    public DistanceMatrix(List<String> names, double[] distances) {
+        if (distances.length != (long) names.size() * names.size()) {
+            throw new IllegalArgumentException("La matriz debe ser de " + names.size() + "x" + names.size());
+        }
+        this.names = new ArrayList<>(names);
+        this.distances = distances;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public double get(int i, int j) {
+        return distances[i * names.size() + j];
+    }
+
+    public String getName(int index) {
+        return names.get(index);
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<>(names);
+    }
+
+    public double[] getDistances() {
+        return distances;
+    }
+}
@@ -1,6 +1,7 @@
 package master.ucaldas.model;
 
 import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 public class GeneticSequence {
 
@@ -8,7 +9,11 @@ public class GeneticSequence {
     private String name;
     private String description;
     private String type;
-    private String sequence;
+    private PackedSequence bases;
+    private SequenceValidation validation;
+    private volatile SequenceDigest digest;
+    private volatile Supplier<CharSequence> loader;
+    private int storedLength;
     private LocalDateTime creationDate;
 
     public GeneticSequence() {
@@ -18,7 +23,7 @@ public class GeneticSequence {
         this.name = name;
         this.description = description;
         this.type = type;
-        this.sequence = sequence;
+        assignBases(sequence != null ? PackedSequence.of(sequence) : null);
     }
 
     public Integer getId() {
@@ -54,11 +59,92 @@ public class GeneticSequence {
     }
 
     public String getSequence() {
-        return sequence;
+        PackedSequence current = getBases();
+        return current != null ? current.toString() : null;
     }
 
     public void setSequence(String sequence) {
-        this.sequence = sequence;
+        setBases(sequence != null ? PackedSequence.of(sequence) : null);
+    }
+
+    public PackedSequence getBases() {
+        if (loader != null) {
+            load();
+        }
+        return bases;
+    }
+
+    public void setBases(PackedSequence bases) {
+        assignBases(bases);
+    }
+
+    // Not overridable, so the constructor can call it without leaking a half-built subclass.
+    private void assignBases(PackedSequence bases) {
+        this.bases = bases;
+        this.validation = bases != null ? SequenceValidator.validate(bases) : null;
+        this.digest = null;
+        this.loader = null;
+    }
+
+    /**
+     * Defers reading the body until it is first needed. The length, and the digest when it
+     * was set, are answered without loading it.
+     */
+    public void setLazySequence(int length, Supplier<CharSequence> loader) {
+        this.bases = null;
+        this.validation = null;
+        this.storedLength = length;
+        this.loader = loader;
+    }
+
+    public boolean isSequenceLoaded() {
+        return loader == null;
+    }
+
+    private synchronized void load() {
+        Supplier<CharSequence> pending = loader;
+        if (pending == null) {
+            return;
+        }
+        CharSequence sequence = pending.get();
+        if (sequence == null) {
+            throw new IllegalStateException("No se pudo cargar el contenido de la secuencia '" + name + "'");
+        }
+        SequenceDigest known = digest;
+        setBases(PackedSequence.of(sequence));
+        digest = known;
+    }
+
+    /**
+     * Returns the content digest, computing it on first use unless it was loaded with the
+     * sequence.
+     */
+    public SequenceDigest getDigest() {
+        SequenceDigest current = digest;
+        PackedSequence content;
+        if (current == null && (content = getBases()) != null) {
+            current = SequenceDigest.of(content);
+            digest = current;
+        }
+        return current;
+    }
+
+    public void setDigest(SequenceDigest digest) {
+        this.digest = digest;
+    }
+
+    public SequenceValidation getValidation() {
+        if (loader != null) {
+            load();
+        }
+        return validation;
+    }
+
+    public int getLength() {
+        if (loader != null) {
+            return storedLength;
+        }
+        return bases != null ? bases.length() : 0;
     }
 
     public LocalDateTime getCreationDate() {
@@ -75,7 +161,7 @@ public class GeneticSequence {
                 + "id=" + id
                 + ", name='" + name + '\''
                 + ", type='" + type + '\''
-                + ", sequenceLength=" + (sequence != null ? sequence.length() : 0)
+                + ", sequenceLength=" + getLength()
                 + '}';
     }
 }
@@ -0,0 +1,420 @@
+package master.ucaldas.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Nucleotide text packed at 2 bits per base (A=0, C=1, G=2, T/U=3), 32 bases per word. Symbols
+ * outside ACGT are kept as run-length exceptions and lowercase bases in a 1-bit mask, so the
+ * original text is reproduced exactly. Text that does not pack well, such as proteins, is kept as
+ * a plain string.
+ */
+public final class PackedSequence implements CharSequence {
+    public static final int BASES_PER_WORD = 32;
+
+    private static final long LOW_BITS = 0x5555555555555555L;
+    private static final int EXCEPTION = 1;
+    private static final int THYMINE = 2;
+    private static final int URACIL = 4;
+    private static final int LOWER_CASE = 8;
+    private static final byte[] CODES = new byte[256];
+    private static final byte[] FLAGS = new byte[256];
+    private static final char[] DNA = {'A', 'C', 'G', 'T'};
+    private static final char[] RNA = {'A', 'C', 'G', 'U'};
+
+    static {
+        Arrays.fill(CODES, (byte) -1);
+        Arrays.fill(FLAGS, (byte) EXCEPTION);
+        String bases = "ACGTU";
+        for (int i = 0; i < bases.length(); i++) {
+            char base = bases.charAt(i);
+            int flags = base == 'T' ? THYMINE : base == 'U' ? URACIL : 0;
+            CODES[base] = (byte) Math.min(i, 3);
+            CODES[Character.toLowerCase(base)] = (byte) Math.min(i, 3);
+            FLAGS[base] = (byte) flags;
+            FLAGS[Character.toLowerCase(base)] = (byte) (flags | LOWER_CASE);
+        }
+    }
+
+    private final int length;
+    private final long[] words;
+    private final long[] lowerCase;
+    private final int[] runStarts;
+    private final int[] runEnds;
+    private final char[] runSymbols;
+    private final char[] symbols;
+    private final String raw;
+    private int hash;
+
+    private PackedSequence(int length, long[] words, long[] lowerCase, int[] runStarts, int[] runEnds,
+                           char[] runSymbols, char[] symbols, String raw) {
+        this.length = length;
+        this.words = words;
+        this.lowerCase = lowerCase;
+        this.runStarts = runStarts;
+        this.runEnds = runEnds;
+        this.runSymbols = runSymbols;
+        this.symbols = symbols;
+        this.raw = raw;
+    }
+
+    public static PackedSequence of(CharSequence text) {
+        if (text instanceof PackedSequence packed) {
+            return packed;
+        }
+        String string = text.toString();
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return new PackedSequence(string.length(), null, null, null, null, null, null, string);
+            }
+        }
+        byte[] ascii = string.getBytes(StandardCharsets.ISO_8859_1);
+        return of(ascii, 0, ascii.length);
+    }
+
+    /**
+     * Packs {@code ascii[from..to)} directly, without building an intermediate string.
+     */
+    public static PackedSequence of(byte[] ascii, int from, int to) {
+        Objects.checkFromToIndex(from, to, ascii.length);
+        int n = to - from;
+        int seen = 0;
+        int runs = 0;
+        int previous = -1;
+        for (int i = from; i < to; i++) {
+            int c = ascii[i] & 0xFF;
+            int flags = FLAGS[c];
+            seen |= flags;
+            if ((flags & EXCEPTION) != 0) {
+                if (c != previous) {
+                    runs++;
+                }
+                previous = c;
+            } else {
+                previous = -1;
+            }
+        }
+        boolean hasU = (seen & URACIL) != 0;
+        if ((hasU && (seen & THYMINE) != 0) || runs > n / 16) {
+            return new PackedSequence(n, null, null, null, null, null, null,
+                    new String(ascii, from, n, StandardCharsets.ISO_8859_1));
+        }
+
+        long[] words = new long[(n + BASES_PER_WORD - 1) / BASES_PER_WORD];
+        int fullWords = n / BASES_PER_WORD;
+        for (int w = 0; w < fullWords; w++) {
+            int offset = from + w * BASES_PER_WORD;
+            long word = 0;
+            for (int k = BASES_PER_WORD - 1; k >= 0; k--) {
+                word = (word << 2) | Math.max(CODES[ascii[offset + k] & 0xFF], 0);
+            }
+            words[w] = word;
+        }
+        for (int i = fullWords * BASES_PER_WORD; i < n; i++) {
+            words[i >> 5] |= (long) Math.max(CODES[ascii[from + i] & 0xFF], 0) << ((i & 31) << 1);
+        }
+
+        long[] lowerCase = null;
+        if ((seen & LOWER_CASE) != 0) {
+            lowerCase = new long[(n + 63) >> 6];
+            for (int i = 0; i < n; i++) {
+                if ((FLAGS[ascii[from + i] & 0xFF] & LOWER_CASE) != 0) {
+                    lowerCase[i >> 6] |= 1L << i;
+                }
+            }
+        }
+
+        int[] runStarts = new int[runs];
+        int[] runEnds = new int[runs];
+        char[] runSymbols = new char[runs];
+        if (runs > 0) {
+            int run = -1;
+            for (int i = 0; i < n; i++) {
+                int c = ascii[from + i] & 0xFF;
+                if ((FLAGS[c] & EXCEPTION) == 0) {
+                    continue;
+                }
+                if (run >= 0 && runEnds[run] == i && runSymbols[run] == c) {
+                    runEnds[run]++;
+                } else {
+                    run++;
+                    runStarts[run] = i;
+                    runEnds[run] = i + 1;
+                    runSymbols[run] = (char) c;
+                }
+            }
+        }
+        return new PackedSequence(n, words, lowerCase, runStarts, runEnds, runSymbols, hasU ? RNA : DNA, null);
+    }
+
+    /**
+     * Rebuilds a packed sequence from the parts written by {@link PackedSequenceCodec}.
+     */
+    static PackedSequence fromParts(int length, boolean rna, long[] words, long[] lowerCase, int[] runStarts,
+                                    int[] runEnds, char[] runSymbols) {
+        if (words.length != (length + BASES_PER_WORD - 1) / BASES_PER_WORD
+                || (lowerCase != null && lowerCase.length != (length + 63) >> 6)) {
+            throw new IllegalArgumentException("Partes de secuencia empaquetada inconsistentes");
+        }
+        return new PackedSequence(length, words, lowerCase, runStarts, runEnds, runSymbols, rna ? RNA : DNA, null);
+    }
+
+    private static int symbolCode(int c) {
+        return c < 256 ? CODES[c] : -1;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (raw != null) {
+            return raw.charAt(index);
+        }
+        Objects.checkIndex(index, length);
+        if (runStarts.length > 0) {
+            int run = findRun(index);
+            if (run >= 0) {
+                return runSymbols[run];
+            }
+        }
+        char c = symbols[packedCode(index)];
+        return lowerCase != null && (lowerCase[index >> 6] & (1L << index)) != 0 ? Character.toLowerCase(c) : c;
+    }
+
+    /**
+     * Returns the 2-bit code of the base at {@code index}, or -1 when the symbol is not A, C, G,
+     * T or U.
+     */
+    public int code(int index) {
+        if (raw != null) {
+            return symbolCode(raw.charAt(index));
+        }
+        Objects.checkIndex(index, length);
+        if (runStarts.length > 0 && findRun(index) >= 0) {
+            return -1;
+        }
+        return packedCode(index);
+    }
+
+    private int packedCode(int index) {
+        return (int) (words[index >> 5] >>> ((index & 31) << 1)) & 3;
+    }
+
+    private int findRun(int index) {
+        int run = findRunAtOrBefore(index);
+        return run >= 0 && index < runEnds[run] ? run : -1;
+    }
+
+    /**
+     * Copies {@code [srcBegin, srcEnd)} as ISO-8859-1 bytes, decoding whole words instead of
+     * resolving every position separately.
+     */
+    public void getBytes(int srcBegin, int srcEnd, byte[] dst, int dstBegin) {
+        Objects.checkFromToIndex(srcBegin, srcEnd, length);
+        Objects.checkFromIndexSize(dstBegin, srcEnd - srcBegin, dst.length);
+        if (raw != null) {
+            for (int i = srcBegin; i < srcEnd; i++) {
+                dst[dstBegin + i - srcBegin] = (byte) raw.charAt(i);
+            }
+            return;
+        }
+        for (int i = srcBegin; i < srcEnd; i++) {
+            byte c = (byte) symbols[packedCode(i)];
+            if (lowerCase != null && (lowerCase[i >> 6] & (1L << i)) != 0) {
+                c |= 0x20;
+            }
+            dst[dstBegin + i - srcBegin] = c;
+        }
+        int run = runStarts.length > 0 ? Math.max(0, findRunAtOrBefore(srcBegin)) : 0;
+        for (; run < runStarts.length && runStarts[run] < srcEnd; run++) {
+            int from = Math.max(runStarts[run], srcBegin);
+            int to = Math.min(runEnds[run], srcEnd);
+            for (int i = from; i < to; i++) {
+                dst[dstBegin + i - srcBegin] = (byte) runSymbols[run];
+            }
+        }
+    }
+
+    private int findRunAtOrBefore(int index) {
+        int lo = 0;
+        int hi = runStarts.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (runStarts[mid] <= index) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    public boolean isPacked() {
+        return raw == null;
+    }
+
+    public int wordCount() {
+        return raw == null ? words.length : 0;
+    }
+
+    /**
+     * Returns 32 packed bases, base {@code 32 * index + k} in bits {@code 2k..2k+1}. Exception
+     * positions hold code 0 and unused trailing bits are zero.
+     */
+    public long word(int index) {
+        if (raw != null) {
+            throw new IllegalStateException("La secuencia no está empaquetada");
+        }
+        return words[index];
+    }
+
+    /**
+     * Returns the upper-case base stored under a 2-bit code: A, C, G and T, or U for RNA.
+     */
+    public char baseSymbol(int code) {
+        return symbols != null ? symbols[code] : DNA[code];
+    }
+
+    public boolean hasLowerCase() {
+        return lowerCase != null;
+    }
+
+    long lowerCaseWord(int index) {
+        return lowerCase[index];
+    }
+
+    int lowerCaseWordCount() {
+        return lowerCase != null ? lowerCase.length : 0;
+    }
+
+    boolean isRna() {
+        return symbols == RNA;
+    }
+
+    public int exceptionRunCount() {
+        return raw == null ? runStarts.length : 0;
+    }
+
+    public int exceptionRunStart(int run) {
+        return runStarts[run];
+    }
+
+    public int exceptionRunEnd(int run) {
+        return runEnds[run];
+    }
+
+    public char exceptionRunSymbol(int run) {
+        return runSymbols[run];
+    }
+
+    /**
+     * Counts positions {@code i < min(length)} where both sequences hold the same character,
+     * comparing 32 bases per word when both sides are packed.
+     */
+    public int countMatches(PackedSequence other) {
+        int n = Math.min(length, other.length);
+        if (raw != null || other.raw != null || lowerCase != null || other.lowerCase != null
+                || symbols != other.symbols) {
+            int matches = 0;
+            for (int i = 0; i < n; i++) {
+                if (charAt(i) == other.charAt(i)) {
+                    matches++;
+                }
+            }
+            return matches;
+        }
+
+        int matches = 0;
+        int fullWords = n / BASES_PER_WORD;
+        for (int w = 0; w < fullWords; w++) {
+            matches += Long.bitCount(equalLanes(words[w] ^ other.words[w]));
+        }
+        int remainder = n % BASES_PER_WORD;
+        if (remainder > 0) {
+            long lanes = equalLanes(words[fullWords] ^ other.words[fullWords]);
+            matches += Long.bitCount(lanes & ((1L << (remainder << 1)) - 1));
+        }
+
+        for (int r = 0; r < runStarts.length && runStarts[r] < n; r++) {
+            for (int i = runStarts[r]; i < Math.min(runEnds[r], n); i++) {
+                matches += correction(other, i);
+            }
+        }
+        for (int r = 0; r < other.runStarts.length && other.runStarts[r] < n; r++) {
+            for (int i = other.runStarts[r]; i < Math.min(other.runEnds[r], n); i++) {
+                if (findRun(i) < 0) {
+                    matches += correction(other, i);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private int correction(PackedSequence other, int index) {
+        int counted = packedCode(index) == other.packedCode(index) ? 1 : 0;
+        int actual = charAt(index) == other.charAt(index) ? 1 : 0;
+        return actual - counted;
+    }
+
+    private static long equalLanes(long difference) {
+        return ~(difference | (difference >>> 1)) & LOW_BITS;
+    }
+
+    public long estimatedBytes() {
+        if (raw != null) {
+            return raw.length();
+        }
+        return 8L * words.length + (lowerCase != null ? 8L * lowerCase.length : 0)
+                + 10L * runStarts.length;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        if (raw != null) {
+            return raw.substring(start, end);
+        }
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return raw != null ? raw : subSequence(0, length).toString();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && length > 0) {
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + charAt(i);
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PackedSequence other) || length != other.length || hashCode() != other.hashCode()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
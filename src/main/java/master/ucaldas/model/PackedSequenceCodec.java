@@ -0,0 +1,181 @@
+package master.ucaldas.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary storage format of a sequence body. Packed sequences are written as their 2-bit words,
+ * the lowercase mask when present and the exception runs as varint gaps, about a quarter of the
+ * text size. Text that does not pack, such as proteins, is written Deflate-compressed. Readers
+ * verify the CRC32C of the encoded bytes, stored next to them.
+ */
+public final class PackedSequenceCodec {
+    private static final int PACKED_DNA = 1;
+    private static final int PACKED_RNA = 2;
+    private static final int DEFLATED = 3;
+
+    private PackedSequenceCodec() {
+    }
+
+    public static byte[] encode(PackedSequence sequence) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE - 8,
+                sequence.estimatedBytes() + 16));
+        try {
+            write(sequence, bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static long checksum(byte[] encoded) {
+        CRC32C crc = new CRC32C();
+        crc.update(encoded);
+        return crc.getValue();
+    }
+
+    public static void write(PackedSequence sequence, OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+        if (!sequence.isPacked()) {
+            byte[] utf8 = sequence.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeByte(DEFLATED);
+            writeVarInt(out, utf8.length);
+            Deflater deflater = new Deflater();
+            try {
+                DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater);
+                deflated.write(utf8);
+                deflated.finish();
+            } finally {
+                deflater.end();
+            }
+            out.flush();
+            return;
+        }
+
+        out.writeByte(sequence.isRna() ? PACKED_RNA : PACKED_DNA);
+        writeVarInt(out, sequence.length());
+        for (int w = 0; w < sequence.wordCount(); w++) {
+            out.writeLong(sequence.word(w));
+        }
+        writeVarInt(out, sequence.lowerCaseWordCount());
+        for (int w = 0; w < sequence.lowerCaseWordCount(); w++) {
+            out.writeLong(sequence.lowerCaseWord(w));
+        }
+        writeVarInt(out, sequence.exceptionRunCount());
+        int previousEnd = 0;
+        for (int r = 0; r < sequence.exceptionRunCount(); r++) {
+            writeVarInt(out, sequence.exceptionRunStart(r) - previousEnd);
+            writeVarInt(out, sequence.exceptionRunEnd(r) - sequence.exceptionRunStart(r));
+            out.writeByte(sequence.exceptionRunSymbol(r));
+            previousEnd = sequence.exceptionRunEnd(r);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads an encoded body to the end of the stream and checks it against the stored checksum.
+     */
+    public static PackedSequence read(InputStream source, long expectedChecksum) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(source, new CRC32C());
+        DataInputStream in = new DataInputStream(new BufferedInputStream(checked));
+        PackedSequence sequence = readBody(in);
+        in.transferTo(OutputStream.nullOutputStream());
+        if (checked.getChecksum().getValue() != expectedChecksum) {
+            throw new IOException("La suma de verificación del contenido no coincide");
+        }
+        return sequence;
+    }
+
+    private static PackedSequence readBody(DataInputStream in) throws IOException {
+        int format = in.readUnsignedByte();
+        if (format == DEFLATED) {
+            byte[] utf8 = new byte[readVarInt(in)];
+            // The stream is not closed, as that would close the source; the inflater's native
+            // memory is released explicitly instead.
+            Inflater inflater = new Inflater();
+            try {
+                new DataInputStream(new InflaterInputStream(in, inflater)).readFully(utf8);
+            } finally {
+                inflater.end();
+            }
+            return PackedSequence.of(new String(utf8, StandardCharsets.UTF_8));
+        }
+        if (format != PACKED_DNA && format != PACKED_RNA) {
+            throw new IOException("Formato de secuencia desconocido: " + format);
+        }
+
+        int length = readVarInt(in);
+        long[] words = new long[(int) ((length + (long) PackedSequence.BASES_PER_WORD - 1) / PackedSequence.BASES_PER_WORD)];
+        for (int w = 0; w < words.length; w++) {
+            words[w] = in.readLong();
+        }
+        int lowerCaseWords = readVarInt(in);
+        long[] lowerCase = null;
+        if (lowerCaseWords > 0) {
+            lowerCase = new long[lowerCaseWords];
+            for (int w = 0; w < lowerCaseWords; w++) {
+                lowerCase[w] = in.readLong();
+            }
+        }
+        int runs = readVarInt(in);
+        if (runs > length) {
+            throw new IOException("Número de excepciones inválido: " + runs);
+        }
+        int[] runStarts = new int[runs];
+        int[] runEnds = new int[runs];
+        char[] runSymbols = new char[runs];
+        long position = 0;
+        for (int r = 0; r < runs; r++) {
+            long start = position + readVarInt(in);
+            long end = start + readVarInt(in);
+            if (end <= start || end > length) {
+                throw new IOException("Excepción fuera de la secuencia en la posición " + start);
+            }
+            runStarts[r] = (int) start;
+            runEnds[r] = (int) end;
+            runSymbols[r] = (char) in.readUnsignedByte();
+            position = end;
+        }
+        try {
+            return PackedSequence.fromParts(length, format == PACKED_RNA, words, lowerCase, runStarts, runEnds, runSymbols);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Entero variable negativo");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Entero variable demasiado largo");
+    }
+}
@@ -0,0 +1,83 @@
+package master.ucaldas.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 128-bit content address of a sequence: SHA-256 of its text truncated to the first 16 bytes.
+ * The text is hashed as ISO-8859-1 when every symbol fits in a byte, which is always the case
+ * for packed sequences, and as UTF-8 otherwise, so packed and raw forms of the same text agree.
+ */
+public final class SequenceDigest {
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final long high;
+    private final long low;
+
+    private SequenceDigest(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static SequenceDigest of(CharSequence sequence) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+
+        PackedSequence packed = PackedSequence.of(sequence);
+        if (!packed.isPacked() && !isLatin1(packed)) {
+            sha256.update(packed.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            byte[] chunk = new byte[Math.min(CHUNK_SIZE, packed.length())];
+            for (int from = 0; from < packed.length(); from += chunk.length) {
+                int to = Math.min(packed.length(), from + chunk.length);
+                packed.getBytes(from, to, chunk, 0);
+                sha256.update(chunk, 0, to - from);
+            }
+        }
+        ByteBuffer hash = ByteBuffer.wrap(sha256.digest());
+        return new SequenceDigest(hash.getLong(0), hash.getLong(8));
+    }
+
+    public static SequenceDigest fromHex(String hex) {
+        if (hex == null || hex.length() != 32 || !hex.chars().allMatch(HexFormat::isHexDigit)) {
+            throw new IllegalArgumentException("Huella de secuencia inválida: " + hex);
+        }
+        return new SequenceDigest(HexFormat.fromHexDigitsToLong(hex, 0, 16), HexFormat.fromHexDigitsToLong(hex, 16, 32));
+    }
+
+    private static boolean isLatin1(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String toHex() {
+        return HEX.toHexDigits(high) + HEX.toHexDigits(low);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof SequenceDigest other && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high * 31 + low);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
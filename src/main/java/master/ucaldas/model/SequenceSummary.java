@@ -0,0 +1,60 @@
+package master.ucaldas.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata of a stored sequence without its body, for listings.
+ */
+public final class SequenceSummary {
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final String type;
+    private final int length;
+    private final SequenceDigest digest;
+    private final LocalDateTime creationDate;
+
+    public SequenceSummary(Integer id, String name, String description, String type, int length,
+                           SequenceDigest digest, LocalDateTime creationDate) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.type = type;
+        this.length = length;
+        this.digest = digest;
+        this.creationDate = creationDate;
+    }
+
+    public static SequenceSummary of(GeneticSequence sequence) {
+        return new SequenceSummary(sequence.getId(), sequence.getName(), sequence.getDescription(),
+                sequence.getType(), sequence.getLength(), sequence.getDigest(), sequence.getCreationDate());
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public SequenceDigest getDigest() {
+        return digest;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+}
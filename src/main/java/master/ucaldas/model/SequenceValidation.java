@@ -0,0 +1,46 @@
+package master.ucaldas.model;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of validating a sequence once at ingest: the narrowest alphabet that covers every
+ * symbol, and the positions of symbols outside every supported alphabet. Only the first
+ * {@link #MAX_REPORTED_POSITIONS} invalid positions are kept; {@link #getInvalidCount()} has the total.
+ */
+public final class SequenceValidation {
+    public static final int MAX_REPORTED_POSITIONS = 64;
+
+    public enum Alphabet {
+        DNA, RNA, PROTEIN, MIXED
+    }
+
+    private final Alphabet alphabet;
+    private final int[] invalidPositions;
+    private final int invalidCount;
+
+    public SequenceValidation(Alphabet alphabet, int[] invalidPositions, int invalidCount) {
+        this.alphabet = alphabet;
+        this.invalidPositions = invalidPositions;
+        this.invalidCount = invalidCount;
+    }
+
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    public boolean isValid() {
+        return invalidCount == 0;
+    }
+
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    public int[] getInvalidPositions() {
+        return Arrays.copyOf(invalidPositions, invalidPositions.length);
+    }
+
+    public int getFirstInvalidPosition() {
+        return invalidPositions.length > 0 ? invalidPositions[0] : -1;
+    }
+}
@@ -0,0 +1,96 @@
+package master.ucaldas.model;
+
+import java.util.Arrays;
+
+import master.ucaldas.model.SequenceValidation.Alphabet;
+
+/**
+ * Single-pass sequence validator driven by a 256-entry table of alphabet bits (DNA, RNA,
+ * protein) per symbol, case-insensitive. The bits of all symbols are AND-ed to find the
+ * narrowest alphabet. Packed sequences only store A, C, G, T/U in their words, so just their
+ * exception runs are inspected.
+ */
+public final class SequenceValidator {
+    private static final int DNA = 1;
+    private static final int RNA = 2;
+    private static final int PROTEIN = 4;
+    private static final byte[] CLASSES = new byte[256];
+
+    static {
+        mark("ACGT", DNA);
+        mark("ACGU", RNA);
+        mark("NRYSWKMBDHV", DNA | RNA);
+        mark("ACDEFGHIKLMNPQRSTVWY", PROTEIN);
+    }
+
+    private SequenceValidator() {
+    }
+
+    private static void mark(String symbols, int alphabet) {
+        for (int i = 0; i < symbols.length(); i++) {
+            char c = symbols.charAt(i);
+            CLASSES[c] |= (byte) alphabet;
+            CLASSES[Character.toLowerCase(c)] |= (byte) alphabet;
+        }
+    }
+
+    public static SequenceValidation validate(CharSequence sequence) {
+        if (sequence instanceof PackedSequence packed && packed.isPacked()) {
+            return validatePacked(packed);
+        }
+        int seen = DNA | RNA | PROTEIN;
+        int[] invalid = new int[SequenceValidation.MAX_REPORTED_POSITIONS];
+        int invalidCount = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            char c = sequence.charAt(i);
+            int classes = c < 256 ? CLASSES[c] : 0;
+            if (classes == 0) {
+                if (invalidCount < invalid.length) {
+                    invalid[invalidCount] = i;
+                }
+                invalidCount++;
+            } else {
+                seen &= classes;
+            }
+        }
+        return new SequenceValidation(alphabetOf(seen), Arrays.copyOf(invalid, Math.min(invalidCount, invalid.length)), invalidCount);
+    }
+
+    private static SequenceValidation validatePacked(PackedSequence packed) {
+        int seen = DNA | RNA | PROTEIN;
+        int exceptions = 0;
+        for (int r = 0; r < packed.exceptionRunCount(); r++) {
+            exceptions += packed.exceptionRunEnd(r) - packed.exceptionRunStart(r);
+        }
+        if (exceptions < packed.length()) {
+            seen = packed.baseSymbol(3) == 'U' ? RNA : DNA | PROTEIN;
+        }
+        int[] invalid = new int[SequenceValidation.MAX_REPORTED_POSITIONS];
+        int invalidCount = 0;
+        for (int r = 0; r < packed.exceptionRunCount(); r++) {
+            char c = packed.exceptionRunSymbol(r);
+            int start = packed.exceptionRunStart(r);
+            int end = packed.exceptionRunEnd(r);
+            int classes = CLASSES[c];
+            if (classes == 0) {
+                for (int i = start; i < end && invalidCount + i - start < invalid.length; i++) {
+                    invalid[invalidCount + i - start] = i;
+                }
+                invalidCount += end - start;
+            } else {
+                seen &= classes;
+            }
+        }
+        return new SequenceValidation(alphabetOf(seen), Arrays.copyOf(invalid, Math.min(invalidCount, invalid.length)), invalidCount);
+    }
+
+    private static Alphabet alphabetOf(int seen) {
+        if ((seen & DNA) != 0) {
+            return Alphabet.DNA;
+        }
+        if ((seen & RNA) != 0) {
+            return Alphabet.RNA;
+        }
+        return (seen & PROTEIN) != 0 ? Alphabet.PROTEIN : Alphabet.MIXED;
+    }
+}
@@ -1,15 +1,25 @@
 package master.ucaldas.proxy;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import master.ucaldas.model.AnalysisResult;
 import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.SequenceValidation;
 import master.ucaldas.singleton.AnalysisResultStorage;
 import master.ucaldas.singleton.Configuration;
 import master.ucaldas.strategy.IAnalysisStrategy;
 
 public class AnalysisProxy implements IAnalysisStrategy {
+    private static final ConcurrentMap<String, CompletableFuture<AnalysisResult>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final List<String> SINGLE_NAME_KEYS = List.of("sequence_name");
+    private static final List<String> PAIR_NAME_KEYS = List.of("sequence1", "sequence2");
+
     private IAnalysisStrategy realAnalysis;
     private Configuration config;
     private AnalysisResultStorage storage;
@@ -27,20 +37,23 @@ public class AnalysisProxy implements IAnalysisStrategy {
         }
 
         for (GeneticSequence seq : sequences) {
-            if (seq == null || seq.getSequence() == null || seq.getSequence().isEmpty()) {
+            if (seq == null || seq.getLength() == 0) {
                 throw new IllegalArgumentException("Secuencia inválida o vacía");
             }
 
-            if (!isValidSequence(seq.getSequence())) {
+            SequenceValidation validation = seq.getValidation();
+            if (!validation.isValid()) {
+                int position = validation.getFirstInvalidPosition();
                 throw new IllegalArgumentException(
-                    String.format("La secuencia '%s' contiene caracteres inválidos", seq.getName())
+                    String.format("La secuencia '%s' contiene %d caracteres inválidos (primero '%c' en la posición %d)",
+                        seq.getName(), validation.getInvalidCount(), seq.getBases().charAt(position), position + 1)
                 );
             }
         }
 
         int minLength = config.getMinSequenceLength();
         for (GeneticSequence seq : sequences) {
-            if (seq.getSequence().length() < minLength) {
+            if (seq.getLength() < minLength) {
                 throw new IllegalArgumentException(
                     String.format("La secuencia '%s' es demasiado corta (mínimo: %d bases)",
                         seq.getName(), minLength)
@@ -50,41 +63,80 @@ public class AnalysisProxy implements IAnalysisStrategy {
 
         String cacheKey = generateCacheKey(sequences);
 
-        if (storage.hasResult(cacheKey)) {
+        AnalysisResult cached = storage.getResult(cacheKey);
+        if (cached != null) {
             System.out.println("Resultado recuperado de caché");
-            return storage.getResult(cacheKey);
+            return relabel(cached, sequences);
         }
 
-        System.out.println("Ejecutando análisis...");
-        AnalysisResult result = realAnalysis.execute(sequences);
+        CompletableFuture<AnalysisResult> future = new CompletableFuture<>();
+        CompletableFuture<AnalysisResult> running = IN_FLIGHT.putIfAbsent(cacheKey, future);
+        if (running != null) {
+            System.out.println("Esperando un análisis idéntico en curso...");
+            return relabel(awaitResult(running), sequences);
+        }
 
-        storage.storeResult(cacheKey, result);
+        try {
+            AnalysisResult result = storage.peekResult(cacheKey);
+            if (result == null) {
+                System.out.println("Ejecutando análisis...");
+                result = realAnalysis.execute(sequences);
+                storage.storeResult(cacheKey, result, realAnalysis.getAlgorithmVersion());
+            }
+            future.complete(result);
+            return relabel(result, sequences);
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(cacheKey, future);
+        }
+    }
 
-        return result;
+    private static AnalysisResult awaitResult(CompletableFuture<AnalysisResult> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
     }
 
-    private boolean isValidSequence(String sequence) {
-        String upperSeq = sequence.toUpperCase();
-        
-        String dnaChars = "ATCGUN";
-        String proteinChars = "ACDEFGHIKLMNPQRSTVWY";
-        
-        for (char c : upperSeq.toCharArray()) {
-            if (!dnaChars.contains(String.valueOf(c)) && 
-                !proteinChars.contains(String.valueOf(c))) {
-                return false;
+    /**
+     * Cached results are shared by sequences with identical content, so the names recorded in
+     * a result computed for another sequence are replaced with the caller's names.
+     */
+    private static AnalysisResult relabel(AnalysisResult result, GeneticSequence... sequences) {
+        List<String> nameKeys = sequences.length == 1 ? SINGLE_NAME_KEYS : PAIR_NAME_KEYS;
+        AnalysisResult copy = null;
+        for (int i = 0; i < Math.min(nameKeys.size(), sequences.length); i++) {
+            Object original = result.getData(nameKeys.get(i));
+            if (original instanceof String && !original.equals(sequences[i].getName())) {
+                if (copy == null) {
+                    copy = result.copy();
+                }
+                copy.addData(nameKeys.get(i), sequences[i].getName());
             }
         }
-        
-        return true;
+        if (copy != null && sequences.length == 2 && result.getData("longer_sequence") != null) {
+            GeneticSequence longer = sequences[0].getLength() >= sequences[1].getLength() ? sequences[0] : sequences[1];
+            copy.addData("longer_sequence", longer.getName());
+        }
+        return copy != null ? copy : result;
     }
 
     private String generateCacheKey(GeneticSequence... sequences) {
         String sequenceIds = Arrays.stream(sequences)
-            .map(seq -> seq.getName() + ":" + seq.getSequence().hashCode())
+            .map(seq -> seq.getDigest().toHex())
             .collect(Collectors.joining("|"));
 
-        return realAnalysis.getAnalysisType() + ":" + sequenceIds;
+        return realAnalysis.getAnalysisType() + "@" + realAnalysis.getAlgorithmVersion()
+            + "[" + realAnalysis.getParameterSignature() + "]:" + sequenceIds;
     }
 
     @Override
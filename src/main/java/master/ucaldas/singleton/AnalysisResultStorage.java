@@ -1,18 +1,32 @@
 package master.ucaldas.singleton;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 
 import master.ucaldas.model.AnalysisResult;
+import master.ucaldas.util.DiskResultStore;
+import master.ucaldas.util.TinyLfuCache;
 
 public class AnalysisResultStorage {
+    private static final int EXPECTED_ENTRIES = 4096;
+
     private static AnalysisResultStorage instance;
-    private Map<String, AnalysisResult> resultCache;
+    private TinyLfuCache<String, AnalysisResult> resultCache;
+    private DiskResultStore diskStore;
 
     private AnalysisResultStorage() {
-        resultCache = new HashMap<>();
+        Configuration config = Configuration.getInstance();
+        resultCache = new TinyLfuCache<>(config.getCacheMaxBytes(),
+                Duration.ofSeconds(config.getCacheTtlSeconds()), EXPECTED_ENTRIES, AnalysisResult::estimatedBytes);
+        if (config.isDiskCacheEnabled()) {
+            try {
+                diskStore = DiskResultStore.open(Paths.get(config.getDiskCacheDirectory(), "results.dat"));
+            } catch (IOException e) {
+                System.err.println("No se pudo abrir la caché en disco: " + e.getMessage());
+            }
+        }
     }
 
     public static synchronized AnalysisResultStorage getInstance() {
@@ -22,27 +36,80 @@ public class AnalysisResultStorage {
         return instance;
     }
 
-    public void storeResult(String key, AnalysisResult result) {
+    public void storeResult(String key, AnalysisResult result, int algorithmVersion) {
         resultCache.put(key, result);
+        if (diskStore != null) {
+            diskStore.put(key, result.getAnalysisType(), algorithmVersion, result);
+        }
     }
 
+    /**
+     * Looks the result up in memory first and then on disk; disk hits are promoted to memory.
+     */
     public AnalysisResult getResult(String key) {
-        return resultCache.get(key);
+        AnalysisResult result = resultCache.get(key);
+        if (result == null && diskStore != null) {
+            result = diskStore.get(key);
+            if (result != null) {
+                resultCache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    public AnalysisResult peekResult(String key) {
+        AnalysisResult result = resultCache.peek(key);
+        return result != null || diskStore == null ? result : diskStore.get(key);
     }
 
     public boolean hasResult(String key) {
         return resultCache.containsKey(key);
     }
 
+    public void addEvictionListener(TinyLfuCache.RemovalListener<String, AnalysisResult> listener) {
+        resultCache.addRemovalListener(listener);
+    }
+
     public void clearAll() {
         resultCache.clear();
+        if (diskStore != null) {
+            diskStore.clear();
+        }
     }
 
     public List<AnalysisResult> getAllResults() {
-        return new ArrayList<>(resultCache.values());
+        return resultCache.values();
     }
 
     public int getResultCount() {
         return resultCache.size();
     }
-}
\ No newline at end of file
+
+    public int getDiskResultCount() {
+        return diskStore != null ? diskStore.size() : 0;
+    }
+
+    public long getDiskSize() {
+        return diskStore != null ? diskStore.fileSize() : 0;
+    }
+
+    public long getWeightedSize() {
+        return resultCache.weightedSize();
+    }
+
+    public long getMaximumSize() {
+        return resultCache.getMaximumWeight();
+    }
+
+    public long getHitCount() {
+        return resultCache.hitCount();
+    }
+
+    public long getMissCount() {
+        return resultCache.missCount();
+    }
+
+    public long getEvictionCount() {
+        return resultCache.evictionCount();
+    }
+}
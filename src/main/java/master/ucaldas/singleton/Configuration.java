@@ -21,11 +21,30 @@ public class Configuration {
     }
 
     private void loadDefaultConfiguration() {
-        properties.setProperty("db.url", "jdbc:mysql://mysql:3306/db?useSSL=false&allowPublicKeyRetrieval=true");
+        properties.setProperty("repository.type", System.getProperty("repository.type", "mysql"));
+        properties.setProperty("repository.directory", System.getProperty("repository.directory", "data/repository"));
+        properties.setProperty("db.url", "jdbc:mysql://mysql:3306/db?useSSL=false&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true&useCursorFetch=true");
         properties.setProperty("db.username", "user");
         properties.setProperty("db.password", "password");
+        properties.setProperty("db.pool.min.idle", "2");
+        properties.setProperty("db.pool.max.size", "10");
+        properties.setProperty("db.pool.borrow.timeout.ms", "10000");
+        properties.setProperty("db.pool.idle.timeout.ms", "600000");
+        properties.setProperty("db.pool.leak.threshold.ms", "60000");
+        properties.setProperty("db.batch.size", "500");
+        properties.setProperty("db.fetch.size", "100");
+        properties.setProperty("db.sequence.packed", "true");
         properties.setProperty("min.sequence.length", String.valueOf(minSequenceLength));
         properties.setProperty("fasta.path", fastaPath);
+        properties.setProperty("fasta.buffer.size", "1048576");
+        properties.setProperty("minhash.prefilter.identity", "0.0");
+        properties.setProperty("motif.index.enabled", "false");
+        properties.setProperty("index.cache.size", "8");
+        properties.setProperty("index.directory", "data/index");
+        properties.setProperty("cache.max.bytes", String.valueOf(256L << 20));
+        properties.setProperty("cache.ttl.seconds", "0");
+        properties.setProperty("cache.disk.enabled", "true");
+        properties.setProperty("cache.disk.directory", "data/cache");
     }
 
     public String getProperty(String key) {
@@ -52,6 +71,78 @@ public class Configuration {
         properties.setProperty("fasta.path", path);
     }
 
+    public int getFastaBufferSize() {
+        return Integer.parseInt(properties.getProperty("fasta.buffer.size"));
+    }
+
+    public void setFastaBufferSize(int bytes) {
+        properties.setProperty("fasta.buffer.size", String.valueOf(bytes));
+    }
+
+    public double getMinHashPrefilterIdentity() {
+        return Double.parseDouble(properties.getProperty("minhash.prefilter.identity"));
+    }
+
+    public void setMinHashPrefilterIdentity(double identity) {
+        properties.setProperty("minhash.prefilter.identity", String.valueOf(identity));
+    }
+
+    public boolean isMotifIndexEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("motif.index.enabled"));
+    }
+
+    public void setMotifIndexEnabled(boolean enabled) {
+        properties.setProperty("motif.index.enabled", String.valueOf(enabled));
+    }
+
+    public int getIndexCacheSize() {
+        return Integer.parseInt(properties.getProperty("index.cache.size"));
+    }
+
+    public String getIndexDirectory() {
+        return properties.getProperty("index.directory");
+    }
+
+    public long getCacheMaxBytes() {
+        return Long.parseLong(properties.getProperty("cache.max.bytes"));
+    }
+
+    public void setCacheMaxBytes(long bytes) {
+        properties.setProperty("cache.max.bytes", String.valueOf(bytes));
+    }
+
+    public long getCacheTtlSeconds() {
+        return Long.parseLong(properties.getProperty("cache.ttl.seconds"));
+    }
+
+    public void setCacheTtlSeconds(long seconds) {
+        properties.setProperty("cache.ttl.seconds", String.valueOf(seconds));
+    }
+
+    public boolean isDiskCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("cache.disk.enabled"));
+    }
+
+    public void setDiskCacheEnabled(boolean enabled) {
+        properties.setProperty("cache.disk.enabled", String.valueOf(enabled));
+    }
+
+    public String getDiskCacheDirectory() {
+        return properties.getProperty("cache.disk.directory");
+    }
+
+    public String getRepositoryType() {
+        return properties.getProperty("repository.type");
+    }
+
+    public void setRepositoryType(String type) {
+        properties.setProperty("repository.type", type);
+    }
+
+    public String getRepositoryDirectory() {
+        return properties.getProperty("repository.directory");
+    }
+
     public String getDatabaseUrl() {
         return properties.getProperty("db.url");
     }
@@ -63,5 +154,49 @@ public class Configuration {
     public String getDatabasePassword() {
         return properties.getProperty("db.password");
     }
+
+    public int getPoolMinIdle() {
+        return Integer.parseInt(properties.getProperty("db.pool.min.idle"));
+    }
+
+    public int getPoolMaxSize() {
+        return Integer.parseInt(properties.getProperty("db.pool.max.size"));
+    }
+
+    public long getPoolBorrowTimeoutMs() {
+        return Long.parseLong(properties.getProperty("db.pool.borrow.timeout.ms"));
+    }
+
+    public long getPoolIdleTimeoutMs() {
+        return Long.parseLong(properties.getProperty("db.pool.idle.timeout.ms"));
+    }
+
+    public long getPoolLeakThresholdMs() {
+        return Long.parseLong(properties.getProperty("db.pool.leak.threshold.ms"));
+    }
+
+    public int getBatchSize() {
+        return Integer.parseInt(properties.getProperty("db.batch.size"));
+    }
+
+    public void setBatchSize(int size) {
+        properties.setProperty("db.batch.size", String.valueOf(size));
+    }
+
+    public int getFetchSize() {
+        return Integer.parseInt(properties.getProperty("db.fetch.size"));
+    }
+
+    public void setFetchSize(int size) {
+        properties.setProperty("db.fetch.size", String.valueOf(size));
+    }
+
+    public boolean isPackedSequenceStorage() {
+        return Boolean.parseBoolean(properties.getProperty("db.sequence.packed"));
+    }
+
+    public void setPackedSequenceStorage(boolean packed) {
+        properties.setProperty("db.sequence.packed", String.valueOf(packed));
+    }
 }
 
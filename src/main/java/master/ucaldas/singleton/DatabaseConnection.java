@@ -4,9 +4,11 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
+import master.ucaldas.util.ConnectionPool;
+
 public class DatabaseConnection {
     private static DatabaseConnection instance;
-    private Connection connection;
+    private ConnectionPool pool;
     private Configuration config;
 
     private DatabaseConnection() {
@@ -24,71 +26,70 @@ public class DatabaseConnection {
     private void connect() {
         int maxRetries = 10;
         int retryDelay = 3000;
-        
+
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            System.err.println("Error al conectar a la base de datos: " + e.getMessage());
+            return;
+        }
+
+        String url = config.getDatabaseUrl();
+        String username = config.getDatabaseUsername();
+        String password = config.getDatabasePassword();
+        ConnectionPool candidate = new ConnectionPool(() -> DriverManager.getConnection(url, username, password),
+                config.getPoolMinIdle(), config.getPoolMaxSize(), config.getPoolBorrowTimeoutMs(),
+                config.getPoolIdleTimeoutMs(), config.getPoolLeakThresholdMs());
+
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
-                Class.forName("com.mysql.cj.jdbc.Driver");
-                String url = config.getDatabaseUrl();
-                String username = config.getDatabaseUsername();
-                String password = config.getDatabasePassword();
-                
                 if (attempt > 1) {
                     System.out.println("Intento " + attempt + "/" + maxRetries + " de conexión a la base de datos...");
                 }
-                
-                connection = DriverManager.getConnection(url, username, password);
-                return;
-            } catch (ClassNotFoundException e) {
-                System.err.println("Error al conectar a la base de datos: " + e.getMessage());
-                connection = null;
+
+                candidate.warmUp();
+                pool = candidate;
                 return;
             } catch (SQLException e) {
                 if (attempt == maxRetries) {
                     System.err.println("Error al conectar a la base de datos después de " + maxRetries + " intentos: " + e.getMessage());
-                    connection = null;
+                    candidate.close();
                     return;
                 }
-                
+
                 try {
                     Thread.sleep(retryDelay);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    connection = null;
+                    candidate.close();
                     return;
                 }
             }
         }
     }
 
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connect();
-            }
-        } catch (SQLException e) {
-            System.err.println("Error verificando conexión: " + e.getMessage());
-            connect();
+    /**
+     * Borrows a pooled connection; closing it returns it to the pool.
+     */
+    public Connection getConnection() throws SQLException {
+        if (pool == null) {
+            throw new SQLException("No hay conexión con la base de datos");
         }
-        return connection;
+        return pool.getConnection();
+    }
+
+    public ConnectionPool.Metrics getPoolMetrics() {
+        return pool != null ? pool.getMetrics() : null;
     }
 
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Conexión cerrada");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error cerrando conexión: " + e.getMessage());
+        if (pool != null && !pool.isClosed()) {
+            pool.close();
+            System.out.println("Conexión cerrada");
         }
     }
 
     public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
-        }
+        return pool != null && !pool.isClosed();
     }
 }
-
@@ -0,0 +1,93 @@
+package master.ucaldas.singleton;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+
+import master.ucaldas.algorithm.FMIndex;
+import master.ucaldas.model.GeneticSequence;
+
+public class SequenceIndexCache {
+    private static SequenceIndexCache instance;
+    private final Configuration config;
+    private final LinkedHashMap<String, FMIndex> indexes;
+
+    private SequenceIndexCache() {
+        config = Configuration.getInstance();
+        indexes = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public static synchronized SequenceIndexCache getInstance() {
+        if (instance == null) {
+            instance = new SequenceIndexCache();
+        }
+        return instance;
+    }
+
+    public synchronized FMIndex getIndex(GeneticSequence sequence) {
+        String key = indexKey(sequence);
+        FMIndex index = indexes.get(key);
+        if (index != null) {
+            return index;
+        }
+
+        Path file = Paths.get(config.getIndexDirectory(), key + ".fmi");
+        index = loadIndex(file, sequence.getLength());
+        if (index == null) {
+            index = FMIndex.build(sequence.getBases());
+            saveIndex(file, index);
+        }
+
+        indexes.put(key, index);
+        while (indexes.size() > config.getIndexCacheSize()) {
+            String eldest = indexes.keySet().iterator().next();
+            indexes.remove(eldest);
+        }
+        return index;
+    }
+
+    public synchronized void clearAll() {
+        indexes.clear();
+    }
+
+    public synchronized int getIndexCount() {
+        return indexes.size();
+    }
+
+    private String indexKey(GeneticSequence sequence) {
+        return sequence.getDigest().toHex();
+    }
+
+    private FMIndex loadIndex(Path file, int expectedLength) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            FMIndex index = FMIndex.readFrom(in);
+            return index.length() == expectedLength ? index : null;
+        } catch (IOException e) {
+            System.err.println("Error leyendo índice " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveIndex(Path file, FMIndex index) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "index", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                index.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error guardando índice " + file + ": " + e.getMessage());
+        }
+    }
+}
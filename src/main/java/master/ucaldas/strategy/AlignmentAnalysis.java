@@ -1,11 +1,33 @@
 package master.ucaldas.strategy;
 
+import master.ucaldas.algorithm.Alignment;
+import master.ucaldas.algorithm.ScoringScheme;
+import master.ucaldas.algorithm.SequenceAligner;
 import master.ucaldas.model.AnalysisResult;
 import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.PackedSequence;
 
 public class AlignmentAnalysis implements IAnalysisStrategy {
     private static final String ANALYSIS_TYPE = "ALIGNMENT";
-    
+    private final AlignmentMode mode;
+    private final ScoringScheme scoring;
+
+    public AlignmentAnalysis() {
+        this(AlignmentMode.POSITIONAL);
+    }
+
+    public AlignmentAnalysis(AlignmentMode mode) {
+        this(mode, ScoringScheme.DEFAULT);
+    }
+
+    public AlignmentAnalysis(AlignmentMode mode, ScoringScheme scoring) {
+        if (mode == null || scoring == null) {
+            throw new IllegalArgumentException("El modo y el esquema de puntuación son obligatorios");
+        }
+        this.mode = mode;
+        this.scoring = scoring;
+    }
+
     @Override
     public AnalysisResult execute(GeneticSequence... sequences) {
         if (sequences.length < 2) {
@@ -17,36 +39,51 @@ public class AlignmentAnalysis implements IAnalysisStrategy {
 
         AnalysisResult result = new AnalysisResult(ANALYSIS_TYPE);
 
-        double similarity = calculateSimilarity(seq1.getSequence(), seq2.getSequence());
-
-        int length1 = seq1.getSequence().length();
-        int length2 = seq2.getSequence().length();
+        int length1 = seq1.getLength();
+        int length2 = seq2.getLength();
         String longerSequence = length1 >= length2 ? seq1.getName() : seq2.getName();
 
         result.addData("sequence1", seq1.getName());
         result.addData("sequence2", seq2.getName());
         result.addData("length1", length1);
         result.addData("length2", length2);
-        result.addData("similarity_percentage", similarity);
         result.addData("longer_sequence", longerSequence);
+        result.addData("alignment_mode", mode.name());
+
+        if (mode == AlignmentMode.POSITIONAL) {
+            result.addData("similarity_percentage", calculateSimilarity(seq1.getBases(), seq2.getBases()));
+            return result;
+        }
+
+        SequenceAligner aligner = new SequenceAligner(scoring);
+        Alignment alignment = mode == AlignmentMode.GLOBAL
+                ? aligner.alignGlobal(seq1.getBases(), seq2.getBases())
+                : aligner.alignLocal(seq1.getBases(), seq2.getBases());
+
+        result.addData("similarity_percentage", alignment.identityPercentage());
+        result.addData("identity_percentage", alignment.identityPercentage());
+        result.addData("alignment_score", alignment.score());
+        result.addData("aligned_length", alignment.alignedLength());
+        result.addData("matches", alignment.matches());
+        result.addData("mismatches", alignment.mismatches());
+        result.addData("gap_opens", alignment.gapOpens());
+        result.addData("cigar", alignment.cigar());
+        result.addData("start1", alignment.start1());
+        result.addData("end1", alignment.end1());
+        result.addData("start2", alignment.start2());
+        result.addData("end2", alignment.end2());
 
         return result;
     }
 
-    private double calculateSimilarity(String seq1, String seq2) {
-        int minLength = Math.min(seq1.length(), seq2.length());
+    private double calculateSimilarity(PackedSequence seq1, PackedSequence seq2) {
         int maxLength = Math.max(seq1.length(), seq2.length());
 
         if (maxLength == 0) {
             return 0.0;
         }
 
-        int matches = 0;
-        for (int i = 0; i < minLength; i++) {
-            if (seq1.charAt(i) == seq2.charAt(i)) {
-                matches++;
-            }
-        }
+        int matches = seq1.countMatches(seq2);
 
         return (double) matches / maxLength * 100.0;
     }
@@ -55,4 +92,23 @@ public class AlignmentAnalysis implements IAnalysisStrategy {
     public String getAnalysisType() {
         return ANALYSIS_TYPE;
     }
+
+    // 2: bands bounded by a real cost estimate and seeded local alignment for long inputs.
+    @Override
+    public int getAlgorithmVersion() {
+        return 2;
+    }
+
+    @Override
+    public String getParameterSignature() {
+        if (mode == AlignmentMode.POSITIONAL) {
+            return mode.name();
+        }
+        return mode.name() + "/" + scoring.match() + "," + scoring.mismatch()
+                + "," + scoring.gapOpen() + "," + scoring.gapExtend();
+    }
+
+    public AlignmentMode getMode() {
+        return mode;
+    }
 }
@@ -0,0 +1,7 @@
+package master.ucaldas.strategy;
+
+public enum AlignmentMode {
+    POSITIONAL,
+    GLOBAL,
+    LOCAL
+}
@@ -0,0 +1,79 @@
+package master.ucaldas.strategy;
+
+import master.ucaldas.algorithm.SkewProfile;
+import master.ucaldas.model.AnalysisResult;
+import master.ucaldas.model.GeneticSequence;
+
+public class GcSkewProfileAnalysis implements IAnalysisStrategy {
+    private static final String ANALYSIS_TYPE = "GC_SKEW_PROFILE";
+    private final SkewProfile profiler;
+
+    public GcSkewProfileAnalysis() {
+        this(SkewProfile.DEFAULT_WINDOW_SIZE, SkewProfile.DEFAULT_STEP_SIZE);
+    }
+
+    public GcSkewProfileAnalysis(int windowSize, int stepSize) {
+        this.profiler = new SkewProfile(windowSize, stepSize);
+    }
+
+    @Override
+    public AnalysisResult execute(GeneticSequence... sequences) {
+        if (sequences.length < 1) {
+            throw new IllegalArgumentException("Se requiere al menos 1 secuencia para el perfil GC");
+        }
+
+        GeneticSequence sequence = sequences[0];
+        SkewProfile.Profile profile = profiler.compute(sequence.getBases());
+
+        double minGc = Double.MAX_VALUE;
+        double maxGc = -Double.MAX_VALUE;
+        double sumGc = 0.0;
+        int minSkewWindow = 0;
+        int maxSkewWindow = 0;
+        double[] gc = profile.getGcPercentage();
+        double[] cumulative = profile.getCumulativeGcSkew();
+        for (int w = 0; w < profile.size(); w++) {
+            minGc = Math.min(minGc, gc[w]);
+            maxGc = Math.max(maxGc, gc[w]);
+            sumGc += gc[w];
+            if (cumulative[w] < cumulative[minSkewWindow]) {
+                minSkewWindow = w;
+            }
+            if (cumulative[w] > cumulative[maxSkewWindow]) {
+                maxSkewWindow = w;
+            }
+        }
+
+        AnalysisResult result = new AnalysisResult(ANALYSIS_TYPE);
+        result.addData("sequence_name", sequence.getName());
+        result.addData("sequence_length", sequence.getLength());
+        result.addData("window_size", profiler.getWindowSize());
+        result.addData("step_size", profiler.getStepSize());
+        result.addData("window_count", profile.size());
+        result.addData("window_starts", profile.getWindowStarts());
+        result.addData("gc_percentage", gc);
+        result.addData("gc_skew", profile.getGcSkew());
+        result.addData("at_skew", profile.getAtSkew());
+        result.addData("cumulative_gc_skew", cumulative);
+        if (profile.size() > 0) {
+            int[] starts = profile.getWindowStarts();
+            result.addData("min_gc_percentage", minGc);
+            result.addData("max_gc_percentage", maxGc);
+            result.addData("mean_gc_percentage", sumGc / profile.size());
+            result.addData("cumulative_skew_min_position", starts[minSkewWindow]);
+            result.addData("cumulative_skew_max_position", starts[maxSkewWindow]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public String getAnalysisType() {
+        return ANALYSIS_TYPE;
+    }
+
+    @Override
+    public String getParameterSignature() {
+        return profiler.getWindowSize() + "/" + profiler.getStepSize();
+    }
+}
@@ -8,4 +8,16 @@ public interface IAnalysisStrategy {
     AnalysisResult execute(GeneticSequence... sequences);
 
     String getAnalysisType();
+
+    default String getParameterSignature() {
+        return "";
+    }
+
+    /**
+     * Bumped whenever a change to the algorithm alters its results, so results persisted by an
+     * older version are never served.
+     */
+    default int getAlgorithmVersion() {
+        return 1;
+    }
 }
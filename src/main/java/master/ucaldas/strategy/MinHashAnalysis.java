@@ -0,0 +1,61 @@
+package master.ucaldas.strategy;
+
+import master.ucaldas.algorithm.MinHashSketch;
+import master.ucaldas.model.AnalysisResult;
+import master.ucaldas.model.GeneticSequence;
+
+public class MinHashAnalysis implements IAnalysisStrategy {
+    private static final String ANALYSIS_TYPE = "MINHASH_SIMILARITY";
+    private final int kmerSize;
+    private final int sketchSize;
+
+    public MinHashAnalysis() {
+        this(MinHashSketch.DEFAULT_KMER_SIZE, MinHashSketch.DEFAULT_SKETCH_SIZE);
+    }
+
+    public MinHashAnalysis(int kmerSize, int sketchSize) {
+        if (kmerSize < 1 || kmerSize > 31) {
+            throw new IllegalArgumentException("El tamaño de k-mer debe estar entre 1 y 31");
+        }
+        if (sketchSize < 1) {
+            throw new IllegalArgumentException("El tamaño del sketch debe ser positivo");
+        }
+        this.kmerSize = kmerSize;
+        this.sketchSize = sketchSize;
+    }
+
+    @Override
+    public AnalysisResult execute(GeneticSequence... sequences) {
+        if (sequences.length < 2) {
+            throw new IllegalArgumentException("Se requieren al menos 2 secuencias para comparar sketches");
+        }
+
+        GeneticSequence seq1 = sequences[0];
+        GeneticSequence seq2 = sequences[1];
+
+        MinHashSketch sketch1 = MinHashSketch.of(seq1, kmerSize, sketchSize);
+        MinHashSketch sketch2 = MinHashSketch.of(seq2, kmerSize, sketchSize);
+
+        AnalysisResult result = new AnalysisResult(ANALYSIS_TYPE);
+        result.addData("sequence1", seq1.getName());
+        result.addData("sequence2", seq2.getName());
+        result.addData("kmer_size", kmerSize);
+        result.addData("sketch_size", sketchSize);
+        result.addData("hashes1", sketch1.getHashCount());
+        result.addData("hashes2", sketch2.getHashCount());
+        result.addData("jaccard", sketch1.jaccard(sketch2));
+        result.addData("ani_percentage", sketch1.estimateIdentity(sketch2) * 100.0);
+
+        return result;
+    }
+
+    @Override
+    public String getAnalysisType() {
+        return ANALYSIS_TYPE;
+    }
+
+    @Override
+    public String getParameterSignature() {
+        return kmerSize + "/" + sketchSize;
+    }
+}
@@ -1,20 +1,85 @@
 package master.ucaldas.strategy;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import master.ucaldas.algorithm.AhoCorasick;
+import master.ucaldas.algorithm.BitParallelMatcher;
+import master.ucaldas.algorithm.BitParallelMatcher.ErrorModel;
+import master.ucaldas.algorithm.FMIndex;
 import master.ucaldas.model.AnalysisResult;
 import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.singleton.SequenceIndexCache;
 
 public class MotifDetectionAnalysis implements IAnalysisStrategy {
     private static final String ANALYSIS_TYPE = "MOTIF_DETECTION";
-    private String motif;
+    private static final int COMPILED_CACHE_SIZE = 32;
+    private static final Map<List<String>, AhoCorasick> COMPILED = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<String>, AhoCorasick> eldest) {
+                    return size() > COMPILED_CACHE_SIZE;
+                }
+            });
+
+    private final String motif;
+    private final AhoCorasick automaton;
+    private final List<BitParallelMatcher> matchers;
+    private final boolean degenerate;
+    private final int maxErrors;
+    private final ErrorModel errorModel;
+    private boolean useIndex;
 
     public MotifDetectionAnalysis(String motif) {
+        this(List.of(validate(motif)));
+    }
+
+    public MotifDetectionAnalysis(List<String> motifs) {
+        this(motifs, false, 0, ErrorModel.MISMATCH);
+    }
+
+    public MotifDetectionAnalysis(List<String> motifs, boolean degenerate, int maxErrors, ErrorModel errorModel) {
+        if (motifs == null || motifs.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un motivo");
+        }
+        List<String> normalized = new ArrayList<>(motifs.size());
+        for (String candidate : motifs) {
+            String upper = validate(candidate).toUpperCase();
+            if (!normalized.contains(upper)) {
+                normalized.add(upper);
+            }
+        }
+        this.degenerate = degenerate;
+        this.maxErrors = maxErrors;
+        this.errorModel = errorModel == null ? ErrorModel.MISMATCH : errorModel;
+
+        if (!degenerate && maxErrors == 0) {
+            this.automaton = COMPILED.computeIfAbsent(List.copyOf(normalized), AhoCorasick::compile);
+            this.matchers = List.of();
+        } else {
+            List<BitParallelMatcher> compiled = new ArrayList<>(normalized.size());
+            for (String pattern : normalized) {
+                compiled.add(new BitParallelMatcher(pattern, degenerate, maxErrors, this.errorModel));
+            }
+            this.automaton = null;
+            this.matchers = List.copyOf(compiled);
+        }
+        this.motif = String.join(",", normalized);
+    }
+
+    public MotifDetectionAnalysis withIndex(boolean useIndex) {
+        this.useIndex = useIndex;
+        return this;
+    }
+
+    private static String validate(String motif) {
         if (motif == null || motif.isEmpty()) {
             throw new IllegalArgumentException("El motivo no puede estar vacío");
         }
-        this.motif = motif.toUpperCase();
+        return motif;
     }
 
     @Override
@@ -26,27 +91,69 @@ public class MotifDetectionAnalysis implements IAnalysisStrategy {
         GeneticSequence sequence = sequences[0];
         AnalysisResult result = new AnalysisResult(ANALYSIS_TYPE);
 
-        List<Integer> positions = findMotifPositions(sequence.getSequence(), motif);
+        List<String> patterns = getMotifs();
+        List<List<Integer>> positionsByMotif = new ArrayList<>(patterns.size());
+        List<List<Integer>> distancesByMotif = new ArrayList<>(patterns.size());
+        for (int i = 0; i < patterns.size(); i++) {
+            positionsByMotif.add(new ArrayList<>());
+            distancesByMotif.add(new ArrayList<>());
+        }
+        List<Integer> positions = new ArrayList<>();
+        CharSequence bases = sequence.getBases();
+        if (automaton != null && useIndex) {
+            FMIndex index = SequenceIndexCache.getInstance().getIndex(sequence);
+            for (int i = 0; i < patterns.size(); i++) {
+                for (int position : index.locate(patterns.get(i))) {
+                    positionsByMotif.get(i).add(position);
+                }
+                positions.addAll(positionsByMotif.get(i));
+            }
+        } else if (automaton != null) {
+            automaton.scan(bases, (pattern, start) -> {
+                positionsByMotif.get(pattern).add(start);
+                positions.add(start);
+            });
+        } else {
+            for (int i = 0; i < matchers.size(); i++) {
+                List<Integer> motifPositions = positionsByMotif.get(i);
+                List<Integer> motifDistances = distancesByMotif.get(i);
+                matchers.get(i).scan(bases, (position, distance) -> {
+                    motifPositions.add(position);
+                    motifDistances.add(distance);
+                });
+                positions.addAll(motifPositions);
+            }
+        }
+        if (patterns.size() > 1) {
+            Collections.sort(positions);
+        }
 
         result.addData("sequence_name", sequence.getName());
         result.addData("motif", motif);
         result.addData("positions", positions);
         result.addData("occurrences", positions.size());
 
-        return result;
-    }
-
-    private List<Integer> findMotifPositions(String sequence, String motif) {
-        List<Integer> positions = new ArrayList<>();
-        String upperSequence = sequence.toUpperCase();
+        if (automaton == null) {
+            result.addData("search_mode", describeSearchMode());
+            result.addData("position_anchor", matchers.get(0).reportsEndPositions() ? "END" : "START");
+            if (patterns.size() == 1) {
+                result.addData("distances", distancesByMotif.get(0));
+            }
+        }
 
-        int index = upperSequence.indexOf(motif);
-        while (index >= 0) {
-            positions.add(index);
-            index = upperSequence.indexOf(motif, index + 1);
+        if (patterns.size() > 1) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            Map<String, List<Integer>> positionMap = new LinkedHashMap<>();
+            for (int i = 0; i < patterns.size(); i++) {
+                counts.put(patterns.get(i), positionsByMotif.get(i).size());
+                positionMap.put(patterns.get(i), positionsByMotif.get(i));
+            }
+            result.addData("motifs", patterns);
+            result.addData("motif_counts", counts);
+            result.addData("motif_positions", positionMap);
         }
 
-        return positions;
+        return result;
     }
 
     @Override
@@ -54,8 +161,35 @@ public class MotifDetectionAnalysis implements IAnalysisStrategy {
         return ANALYSIS_TYPE;
     }
 
+    private String describeSearchMode() {
+        StringBuilder mode = new StringBuilder(degenerate ? "IUPAC" : "LITERAL");
+        if (maxErrors > 0) {
+            mode.append(", <= ").append(maxErrors)
+                    .append(errorModel == ErrorModel.EDIT ? " ediciones" : " sustituciones");
+        }
+        return mode.toString();
+    }
+
+    @Override
+    public String getParameterSignature() {
+        if (automaton != null) {
+            return motif;
+        }
+        return motif + "/" + (degenerate ? "IUPAC" : "LITERAL") + "/" + maxErrors + "/" + errorModel.name();
+    }
+
     public String getMotif() {
         return motif;
     }
-}
 
+    public List<String> getMotifs() {
+        if (automaton != null) {
+            return automaton.getPatterns();
+        }
+        List<String> patterns = new ArrayList<>(matchers.size());
+        for (BitParallelMatcher matcher : matchers) {
+            patterns.add(matcher.getMotif());
+        }
+        return patterns;
+    }
+}
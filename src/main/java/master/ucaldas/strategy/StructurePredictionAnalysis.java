@@ -1,8 +1,9 @@
 package master.ucaldas.strategy;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+import master.ucaldas.algorithm.BaseComposition;
 import master.ucaldas.model.AnalysisResult;
 import master.ucaldas.model.GeneticSequence;
 
@@ -18,41 +19,37 @@ public class StructurePredictionAnalysis implements IAnalysisStrategy {
         GeneticSequence sequence = sequences[0];
         AnalysisResult result = new AnalysisResult(ANALYSIS_TYPE);
 
-        Map<Character, Integer> baseCounts = countBases(sequence.getSequence());
+        BaseComposition composition = BaseComposition.of(sequence.getBases());
 
-        String structure = predictStructure(baseCounts, sequence.getSequence().length());
+        String structure = predictStructure(composition);
 
         result.addData("sequence_name", sequence.getName());
-        result.addData("base_counts", baseCounts);
+        result.addData("base_counts", countBases(composition));
+        result.addData("n_count", composition.getUnknownBases());
+        result.addData("ambiguous_count", composition.getAmbiguousBases());
+        result.addData("definite_bases", composition.getDefiniteBases());
+        result.addData("gc_percentage", composition.getGcPercentage());
         result.addData("predicted_structure", structure);
-        result.addData("sequence_length", sequence.getSequence().length());
+        result.addData("sequence_length", sequence.getLength());
 
         return result;
     }
 
-    private Map<Character, Integer> countBases(String sequence) {
-        Map<Character, Integer> counts = new HashMap<>();
-        counts.put('A', 0);
-        counts.put('T', 0);
-        counts.put('C', 0);
-        counts.put('G', 0);
-
-        String upperSequence = sequence.toUpperCase();
-        for (char base : upperSequence.toCharArray()) {
-            if (counts.containsKey(base)) {
-                counts.put(base, counts.get(base) + 1);
-            }
+    private Map<Character, Long> countBases(BaseComposition composition) {
+        Map<Character, Long> counts = new LinkedHashMap<>();
+        counts.put('A', composition.count('A'));
+        counts.put('T', composition.count('T'));
+        counts.put('C', composition.count('C'));
+        counts.put('G', composition.count('G'));
+        if (composition.count('U') > 0) {
+            counts.put('U', composition.count('U'));
         }
-
         return counts;
     }
 
-    private String predictStructure(Map<Character, Integer> baseCounts, int totalLength) {
-        int gcCount = baseCounts.get('G') + baseCounts.get('C');
-        int atCount = baseCounts.get('A') + baseCounts.get('T');
-
-        double gcPercentage = (double) gcCount / totalLength * 100.0;
-        double atPercentage = (double) atCount / totalLength * 100.0;
+    private String predictStructure(BaseComposition composition) {
+        double gcPercentage = composition.getGcPercentage();
+        double atPercentage = composition.getAtPercentage();
 
         if (gcPercentage > 60.0) {
             return "ALFA";
@@ -67,5 +64,10 @@ public class StructurePredictionAnalysis implements IAnalysisStrategy {
     public String getAnalysisType() {
         return ANALYSIS_TYPE;
     }
-}
 
+    // 2: packed compositions no longer count ambiguity symbols as T.
+    @Override
+    public int getAlgorithmVersion() {
+        return 2;
+    }
+}
@@ -0,0 +1,251 @@
+package master.ucaldas.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import master.ucaldas.model.AnalysisResult;
+
+/**
+ * Compact binary encoding of {@link AnalysisResult}: every value carries a one-byte tag.
+ * Integer lists, typically motif positions, are stored as zig-zag varint deltas, so sorted
+ * positions take one or two bytes each instead of a boxed object. Values of unsupported types
+ * make {@link #encode} fail, and such results are simply not persisted.
+ */
+final class AnalysisResultCodec {
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 4;
+    private static final int BOOLEAN = 5;
+    private static final int CHAR = 6;
+    private static final int INT_ARRAY = 7;
+    private static final int LONG_ARRAY = 8;
+    private static final int DOUBLE_ARRAY = 9;
+    private static final int INT_LIST = 10;
+    private static final int LIST = 11;
+    private static final int MAP = 12;
+
+    private AnalysisResultCodec() {
+    }
+
+    static byte[] encode(AnalysisResult result) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(result.getAnalysisType());
+            out.writeUTF(result.getTimestamp().toString());
+            writeValue(out, result.getAllData());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    static AnalysisResult decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        AnalysisResult result = new AnalysisResult(in.readUTF(), LocalDateTime.parse(in.readUTF()));
+        Object values = readValue(in);
+        if (!(values instanceof Map<?, ?> map)) {
+            throw new IOException("Resultado serializado inválido");
+        }
+        ((Map<String, Object>) map).forEach(result::addData);
+        return result;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String text) {
+            out.writeByte(STRING);
+            writeString(out, text);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INT);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Boolean flag) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(flag);
+        } else if (value instanceof Character c) {
+            out.writeByte(CHAR);
+            out.writeChar(c);
+        } else if (value instanceof int[] array) {
+            out.writeByte(INT_ARRAY);
+            writeVarLong(out, array.length);
+            for (int element : array) {
+                out.writeInt(element);
+            }
+        } else if (value instanceof long[] array) {
+            out.writeByte(LONG_ARRAY);
+            writeVarLong(out, array.length);
+            for (long element : array) {
+                out.writeLong(element);
+            }
+        } else if (value instanceof double[] array) {
+            out.writeByte(DOUBLE_ARRAY);
+            writeVarLong(out, array.length);
+            for (double element : array) {
+                out.writeDouble(element);
+            }
+        } else if (value instanceof Collection<?> collection) {
+            if (!collection.isEmpty() && collection.stream().allMatch(Integer.class::isInstance)) {
+                out.writeByte(INT_LIST);
+                writeVarLong(out, collection.size());
+                long previous = 0;
+                for (Object element : collection) {
+                    long current = (Integer) element;
+                    writeVarLong(out, zigZag(current - previous));
+                    previous = current;
+                }
+            } else {
+                out.writeByte(LIST);
+                writeVarLong(out, collection.size());
+                for (Object element : collection) {
+                    writeValue(out, element);
+                }
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            writeVarLong(out, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("Tipo no serializable: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            case CHAR:
+                return in.readChar();
+            case INT_ARRAY: {
+                int[] array = new int[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                return array;
+            }
+            case LONG_ARRAY: {
+                long[] array = new long[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                return array;
+            }
+            case DOUBLE_ARRAY: {
+                double[] array = new double[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readDouble();
+                }
+                return array;
+            }
+            case INT_LIST: {
+                int size = readLength(in);
+                List<Integer> list = new ArrayList<>(size);
+                long previous = 0;
+                for (int i = 0; i < size; i++) {
+                    previous += unZigZag(readVarLong(in));
+                    list.add((int) previous);
+                }
+                return list;
+            }
+            case LIST: {
+                int size = readLength(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case MAP: {
+                int size = readLength(in);
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    Object key = readValue(in);
+                    map.put(key, readValue(in));
+                }
+                return map;
+            }
+            default:
+                throw new IOException("Etiqueta de valor desconocida: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[readLength(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Longitud serializada inválida: " + length);
+        }
+        return (int) length;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Entero variable demasiado largo");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
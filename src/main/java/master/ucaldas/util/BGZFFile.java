@@ -0,0 +1,352 @@
+package master.ucaldas.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reader for BGZF files: concatenated gzip members of at most 64 KB whose compressed size is
+ * stored in a "BC" extra field. Each block inflates on its own with {@link Inflater}, so
+ * sequential reads decompress batches of blocks in parallel, and random access uses a
+ * {@code .gzi} table that maps uncompressed offsets to block starts. A missing or stale
+ * {@code .gzi} is rebuilt from the block headers and trailers without inflating anything.
+ */
+public class BGZFFile implements Closeable {
+    static final int HEADER_PROBE = 18;
+
+    private static final int FIXED_HEADER = 12;
+    private static final int TRAILER = 8;
+    private static final int MAX_BLOCK_SIZE = 1 << 16;
+    private static final int BATCH_BLOCKS = 256;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long[] compressedOffsets;
+    private final long[] uncompressedOffsets;
+    private final long uncompressedSize;
+    private int cachedBlock = -1;
+    private byte[] cachedData;
+
+    private BGZFFile(Path path, FileChannel channel, long[] compressedOffsets, long[] uncompressedOffsets,
+                     long uncompressedSize) {
+        this.path = path;
+        this.channel = channel;
+        this.compressedOffsets = compressedOffsets;
+        this.uncompressedOffsets = uncompressedOffsets;
+        this.uncompressedSize = uncompressedSize;
+    }
+
+    public static BGZFFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            Path gzi = indexPath(file);
+            long[][] table = null;
+            if (Files.isRegularFile(gzi)
+                    && Files.getLastModifiedTime(gzi).compareTo(Files.getLastModifiedTime(file)) >= 0) {
+                table = readIndex(gzi);
+            }
+            if (table == null) {
+                table = scanBlocks(channel);
+                try {
+                    writeIndex(gzi, table);
+                } catch (IOException e) {
+                    System.err.println("No se pudo guardar el índice " + gzi + ": " + e.getMessage());
+                }
+            }
+            long last = table[0].length - 1;
+            long size = table[1][(int) last] + lastBlockSize(channel, table[0][(int) last]);
+            return new BGZFFile(file, channel, table[0], table[1], size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static Path indexPath(Path file) {
+        return file.resolveSibling(file.getFileName() + ".gzi");
+    }
+
+    static boolean isBlockHeader(byte[] header, int length) {
+        if (length < HEADER_PROBE || (header[0] & 0xFF) != 0x1F || (header[1] & 0xFF) != 0x8B
+                || header[2] != 8 || (header[3] & 4) == 0) {
+            return false;
+        }
+        return blockSize(header, length) > 0;
+    }
+
+    private static int blockSize(byte[] header, int length) {
+        int extraLength = (header[10] & 0xFF) | (header[11] & 0xFF) << 8;
+        int position = FIXED_HEADER;
+        int end = Math.min(length, FIXED_HEADER + extraLength);
+        while (position + 4 <= end) {
+            int subfieldLength = (header[position + 2] & 0xFF) | (header[position + 3] & 0xFF) << 8;
+            if (header[position] == 'B' && header[position + 1] == 'C' && subfieldLength == 2 && position + 6 <= end) {
+                return ((header[position + 4] & 0xFF) | (header[position + 5] & 0xFF) << 8) + 1;
+            }
+            position += 4 + subfieldLength;
+        }
+        return -1;
+    }
+
+    private static long[][] scanBlocks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long[] compressed = new long[1024];
+        long[] uncompressed = new long[1024];
+        int blocks = 0;
+        long position = 0;
+        long total = 0;
+        ByteBuffer header = ByteBuffer.allocate(MAX_BLOCK_SIZE);
+        ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        while (position < size) {
+            int blockSize = readBlockSize(channel, position, header);
+            if (blocks == compressed.length) {
+                compressed = Arrays.copyOf(compressed, blocks * 2);
+                uncompressed = Arrays.copyOf(uncompressed, blocks * 2);
+            }
+            compressed[blocks] = position;
+            uncompressed[blocks] = total;
+            blocks++;
+            trailer.clear();
+            channel.read(trailer, position + blockSize - 4);
+            total += Integer.toUnsignedLong(trailer.getInt(0));
+            position += blockSize;
+        }
+        if (blocks == 0) {
+            throw new IOException("Archivo BGZF vacío");
+        }
+        return new long[][]{Arrays.copyOf(compressed, blocks), Arrays.copyOf(uncompressed, blocks)};
+    }
+
+    private static int readBlockSize(FileChannel channel, long position, ByteBuffer header) throws IOException {
+        header.clear().limit(FIXED_HEADER);
+        channel.read(header, position);
+        int extraLength = (header.get(10) & 0xFF) | (header.get(11) & 0xFF) << 8;
+        header.limit(FIXED_HEADER + extraLength);
+        channel.read(header, position + header.position());
+        int blockSize = header.position() < HEADER_PROBE ? -1 : blockSize(header.array(), header.position());
+        if (blockSize <= 0) {
+            throw new IOException("Bloque BGZF inválido en la posición " + position);
+        }
+        return blockSize;
+    }
+
+    private static long lastBlockSize(FileChannel channel, long position) throws IOException {
+        int blockSize = readBlockSize(channel, position, ByteBuffer.allocate(MAX_BLOCK_SIZE));
+        ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(trailer, position + blockSize - 4);
+        return Integer.toUnsignedLong(trailer.getInt(0));
+    }
+
+    private static long[][] readIndex(Path gzi) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(gzi))) {
+            long entries = Long.reverseBytes(in.readLong());
+            if (entries < 0 || entries > Integer.MAX_VALUE - 1) {
+                return null;
+            }
+            long[] compressed = new long[(int) entries + 1];
+            long[] uncompressed = new long[(int) entries + 1];
+            for (int i = 1; i <= entries; i++) {
+                compressed[i] = Long.reverseBytes(in.readLong());
+                uncompressed[i] = Long.reverseBytes(in.readLong());
+            }
+            return new long[][]{compressed, uncompressed};
+        } catch (IOException e) {
+            System.err.println("Índice " + gzi + " ilegible, se reconstruye: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeIndex(Path gzi, long[][] table) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(gzi)))) {
+            out.writeLong(Long.reverseBytes(table[0].length - 1));
+            for (int i = 1; i < table[0].length; i++) {
+                out.writeLong(Long.reverseBytes(table[0][i]));
+                out.writeLong(Long.reverseBytes(table[1][i]));
+            }
+        }
+    }
+
+    private byte[] inflateBlock(int block) throws IOException {
+        long position = compressedOffsets[block];
+        ByteBuffer raw = ByteBuffer.allocate(MAX_BLOCK_SIZE);
+        int blockSize = readBlockSize(channel, position, raw);
+        int headerLength = raw.position();
+        raw.clear().limit(blockSize);
+        while (raw.hasRemaining()) {
+            if (channel.read(raw, position + raw.position()) <= 0) {
+                throw new IOException("Bloque BGZF truncado en la posición " + position);
+            }
+        }
+        ByteBuffer trailer = ByteBuffer.wrap(raw.array(), blockSize - TRAILER, TRAILER).order(ByteOrder.LITTLE_ENDIAN);
+        int expectedCrc = trailer.getInt();
+        int size = trailer.getInt();
+
+        byte[] data = new byte[size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(raw.array(), headerLength, blockSize - headerLength - TRAILER);
+            int produced = 0;
+            while (produced < size) {
+                int n = inflater.inflate(data, produced, size - produced);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                produced += n;
+            }
+            if (produced != size) {
+                throw new IOException("Bloque BGZF corrupto en la posición " + position);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Bloque BGZF corrupto en la posición " + position + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("CRC incorrecto en el bloque BGZF de la posición " + position);
+        }
+        return data;
+    }
+
+    /**
+     * Reads up to {@code length} uncompressed bytes starting at {@code position}; returns the
+     * number of bytes read, or -1 at the end of the data.
+     */
+    public synchronized int read(long position, byte[] destination, int offset, int length) throws IOException {
+        if (position >= uncompressedSize) {
+            return -1;
+        }
+        int block = blockContaining(position);
+        int copied = 0;
+        while (copied < length && block < compressedOffsets.length) {
+            if (block != cachedBlock) {
+                cachedData = inflateBlock(block);
+                cachedBlock = block;
+            }
+            int start = (int) (position + copied - uncompressedOffsets[block]);
+            int count = Math.min(length - copied, cachedData.length - start);
+            if (count > 0) {
+                System.arraycopy(cachedData, start, destination, offset + copied, count);
+                copied += count;
+            }
+            block++;
+        }
+        return copied;
+    }
+
+    private int blockContaining(long position) {
+        int index = Arrays.binarySearch(uncompressedOffsets, position);
+        if (index < 0) {
+            return -index - 2;
+        }
+        while (index + 1 < uncompressedOffsets.length && uncompressedOffsets[index + 1] == position) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Opens the whole decompressed content as a stream that inflates batches of blocks in
+     * parallel. Closing the stream closes this file.
+     */
+    public InputStream openStream() {
+        return new BlockStream();
+    }
+
+    public long getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    public int getBlockCount() {
+        return compressedOffsets.length;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private final class BlockStream extends InputStream {
+        private int nextBlock;
+        private byte[][] batch = new byte[0][];
+        private int batchIndex;
+        private int offset;
+
+        private boolean fill() throws IOException {
+            while (batchIndex < batch.length && offset >= batch[batchIndex].length) {
+                batchIndex++;
+                offset = 0;
+            }
+            if (batchIndex < batch.length) {
+                return true;
+            }
+            if (nextBlock >= compressedOffsets.length) {
+                return false;
+            }
+            int from = nextBlock;
+            int to = Math.min(compressedOffsets.length, from + BATCH_BLOCKS);
+            try {
+                batch = IntStream.range(from, to).parallel().mapToObj(block -> {
+                    try {
+                        return inflateBlock(block);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).toArray(byte[][]::new);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            nextBlock = to;
+            batchIndex = 0;
+            offset = 0;
+            return fill();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return batch[batchIndex][offset++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destination, int off, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, batch[batchIndex].length - offset);
+            System.arraycopy(batch[batchIndex], offset, destination, off, count);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            BGZFFile.this.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package master.ucaldas.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+public enum CompressionFormat {
+    PLAIN,
+    GZIP,
+    BGZF;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    public static CompressionFormat detect(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BGZFFile.HEADER_PROBE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) <= 0) {
+                    break;
+                }
+            }
+        }
+        byte[] bytes = header.array();
+        int length = header.position();
+        if (length < 2 || (bytes[0] & 0xFF) != 0x1F || (bytes[1] & 0xFF) != 0x8B) {
+            return PLAIN;
+        }
+        return BGZFFile.isBlockHeader(bytes, length) ? BGZF : GZIP;
+    }
+
+    /**
+     * Opens the decompressed content of a plain, gzip or BGZF file as a sequential stream.
+     */
+    public static InputStream open(Path file) throws IOException {
+        return switch (detect(file)) {
+            case PLAIN -> new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+            case GZIP -> new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE);
+            case BGZF -> BGZFFile.open(file).openStream();
+        };
+    }
+}
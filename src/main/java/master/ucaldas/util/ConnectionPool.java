@@ -0,0 +1,300 @@
+package master.ucaldas.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool. Borrowers receive a proxy whose {@code close()} returns the
+ * physical connection to the pool, so try-with-resources keeps working. A semaphore caps the
+ * number of connections handed out. Idle connections are reused most-recently-returned first
+ * and are validated on borrow unless they were used within the last half second. A
+ * housekeeping thread closes connections idle for too long while keeping {@code minIdle} warm,
+ * and reports connections held longer than the leak threshold with the stack trace of the
+ * borrower. The proxy never hands out the physical connection, not even through
+ * {@code unwrap}, so it cannot be used or closed behind the pool's back.
+ */
+public final class ConnectionPool implements AutoCloseable {
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    public record Metrics(int active, int idle, int total, int waiting, long created, long borrowed,
+                          long timeouts, long leaks, double averageWaitMillis) {
+    }
+
+    private final ConnectionFactory factory;
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutNanos;
+    private final long leakThresholdNanos;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<PooledConnection, Borrow> borrowed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public ConnectionPool(ConnectionFactory factory, int minIdle, int maxSize, long borrowTimeoutMs,
+                          long idleTimeoutMs, long leakThresholdMs) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Tamaños de pool inválidos: mínimo " + minIdle + ", máximo " + maxSize);
+        }
+        this.factory = factory;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.leakThresholdNanos = leakThresholdMs > 0 ? TimeUnit.MILLISECONDS.toNanos(leakThresholdMs) : Long.MAX_VALUE;
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens connections until {@code minIdle} are available; fails with the driver's error if
+     * the first one cannot be opened.
+     */
+    public void warmUp() throws SQLException {
+        while (total.get() < minIdle) {
+            idle.offerFirst(open());
+        }
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Tiempo de espera agotado obteniendo una conexión del pool ("
+                        + borrowTimeoutMs + " ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión del pool", e);
+        }
+        waitNanos.add(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                discard(pooled);
+            }
+            if (pooled == null) {
+                pooled = open();
+            }
+            borrowCount.increment();
+            // The borrow site is only needed for leak reports, and capturing it costs a stack walk.
+            StackTraceElement[] origin = leakThresholdNanos != Long.MAX_VALUE ? new Throwable().getStackTrace() : null;
+            borrowed.put(pooled, new Borrow(System.nanoTime(), origin));
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.lastUsed < VALIDATION_BYPASS_NANOS) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = factory.create();
+        total.incrementAndGet();
+        created.increment();
+        return new PooledConnection(physical);
+    }
+
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        boolean healthy;
+        try {
+            healthy = !pooled.physical.isClosed();
+            if (healthy && !pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            healthy = false;
+        }
+        pooled.lastUsed = System.nanoTime();
+        if (healthy && !closed.get()) {
+            idle.offerFirst(pooled);
+        } else {
+            discard(pooled);
+        }
+        permits.release();
+    }
+
+    private void discard(PooledConnection pooled) {
+        total.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error cerrando conexión: " + e.getMessage());
+        }
+    }
+
+    void houseKeep() {
+        long now = System.nanoTime();
+        for (PooledConnection pooled : idle) {
+            if (total.get() > minIdle && now - pooled.lastUsed > idleTimeoutNanos && idle.removeLastOccurrence(pooled)) {
+                discard(pooled);
+            }
+        }
+        try {
+            while (!closed.get() && total.get() < minIdle) {
+                idle.offerLast(open());
+            }
+        } catch (SQLException e) {
+            System.err.println("No se pudo reponer el pool de conexiones: " + e.getMessage());
+        }
+        for (Borrow borrow : borrowed.values()) {
+            if (!borrow.reported && now - borrow.since > leakThresholdNanos) {
+                borrow.reported = true;
+                leaks.increment();
+                System.err.println(describeLeak(borrow, now));
+            }
+        }
+    }
+
+    private static String describeLeak(Borrow borrow, long now) {
+        StringBuilder message = new StringBuilder("Posible fuga de conexión: retenida hace ")
+                .append(TimeUnit.NANOSECONDS.toSeconds(now - borrow.since))
+                .append(" s sin devolverse al pool. Obtenida en:");
+        for (StackTraceElement frame : borrow.origin) {
+            message.append(System.lineSeparator()).append("\tat ").append(frame);
+        }
+        return message.toString();
+    }
+
+    public Metrics getMetrics() {
+        long borrows = borrowCount.sum();
+        return new Metrics(borrowed.size(), idle.size(), total.get(), permits.getQueueLength(), created.sum(),
+                borrows, timeouts.sum(), leaks.sum(), borrows == 0 ? 0.0 : waitNanos.sum() / 1e6 / borrows);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private static final class Borrow {
+        private final long since;
+        private final StackTraceElement[] origin;
+        private volatile boolean reported;
+
+        Borrow(long since, StackTraceElement[] origin) {
+            this.since = since;
+            this.origin = origin;
+        }
+    }
+
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsed = System.nanoTime();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            AtomicBoolean returned = new AtomicBoolean();
+            InvocationHandler handler = (proxy, method, args) -> invoke(returned, proxy, method, args);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, handler);
+        }
+
+        private Object invoke(AtomicBoolean returned, Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    throw new SQLException("Las conexiones del pool no exponen la conexión física: "
+                            + ((Class<?>) args[0]).getName());
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("La conexión ya fue devuelta al pool");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
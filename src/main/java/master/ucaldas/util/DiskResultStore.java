@@ -0,0 +1,443 @@
+package master.ucaldas.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import master.ucaldas.model.AnalysisResult;
+
+/**
+ * Append-only on-disk tier for analysis results. Every record stores the key, the analysis type,
+ * the algorithm version and the {@link AnalysisResultCodec} payload, framed by its length and a
+ * CRC32. Reads go through fixed-size read-only mappings of the file, each created once when the
+ * file has grown past its end; records in the unmapped tail or straddling two segments are read
+ * with a positional read. An in-memory table points each key to its latest record. A torn tail left by a crash is truncated on open, and a file written with a
+ * different format version is discarded. Records replaced by a newer write, or whose analysis
+ * type has since been written with a newer algorithm version, are dead. When dead bytes outweigh
+ * live ones, a background thread copies the live records into a new file and swaps it in.
+ */
+public class DiskResultStore implements Closeable {
+    private static final int MAGIC = 0x47534152;
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final long MIN_COMPACTION_SIZE = 1L << 20;
+    private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+
+    private record Location(long offset, int length, int payloadStart, String type, int version) {
+    }
+
+    private final Path file;
+    private final int segmentSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final Map<String, Location> index = new HashMap<>();
+    private final Map<String, Integer> latestVersions = new HashMap<>();
+    private FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long size;
+    private long generation;
+    private boolean fullReported;
+
+    private DiskResultStore(Path file, FileChannel channel, int segmentSize) {
+        this.file = file;
+        this.segmentSize = segmentSize;
+        this.channel = channel;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "result-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static DiskResultStore open(Path file) throws IOException {
+        return open(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    static DiskResultStore open(Path file, int segmentSize) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        DiskResultStore store = new DiskResultStore(file, channel, segmentSize);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    private void load() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        long fileSize = channel.size();
+        if (fileSize >= FILE_HEADER) {
+            channel.read(header, 0);
+        }
+        if (fileSize < FILE_HEADER || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            if (fileSize > 0) {
+                System.err.println("Caché en disco con formato incompatible, se descarta: " + file);
+            }
+            reset(channel);
+            size = FILE_HEADER;
+            return;
+        }
+        size = scan(channel, FILE_HEADER, fileSize, index);
+        if (size < fileSize) {
+            System.err.println("Caché en disco truncada en el byte " + size + " por un registro incompleto");
+            channel.truncate(size);
+        }
+        for (Location location : index.values()) {
+            latestVersions.merge(location.type(), location.version(), Math::max);
+        }
+    }
+
+    private static void reset(FileChannel target) throws IOException {
+        target.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        writeFully(target, header, 0);
+    }
+
+    /**
+     * Reads records from {@code from} until {@code to} or the first damaged record, adding them
+     * to {@code target}; returns the end of the last valid record.
+     */
+    private static long scan(FileChannel source, long from, long to, Map<String, Location> target) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        long position = from;
+        while (position + RECORD_HEADER <= to) {
+            header.clear();
+            if (source.read(header, position) < RECORD_HEADER) {
+                break;
+            }
+            int bodyLength = header.getInt(0);
+            if (bodyLength <= 0 || position + RECORD_HEADER + bodyLength > to) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(bodyLength);
+            if (!readFully(source, body, position + RECORD_HEADER)) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(body.array());
+            if ((int) crc.getValue() != header.getInt(4)) {
+                break;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body.array()));
+            String key = in.readUTF();
+            String type = in.readUTF();
+            int version = in.readInt();
+            int payloadStart = RECORD_HEADER + bodyLength - in.available();
+            target.put(key, new Location(position, RECORD_HEADER + bodyLength, payloadStart, type, version));
+            position += RECORD_HEADER + bodyLength;
+        }
+        return position;
+    }
+
+    public AnalysisResult get(String key) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            if (location == null || location.version() < latestVersions.get(location.type())) {
+                return null;
+            }
+            return AnalysisResultCodec.decode(readPayload(location));
+        } catch (IOException e) {
+            System.err.println("Resultado en disco ilegible para " + key + ": " + e.getMessage());
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private byte[] readPayload(Location location) throws IOException {
+        long start = location.offset() + location.payloadStart();
+        int length = location.length() - location.payloadStart();
+        byte[] payload = new byte[length];
+        int segment = (int) (start / segmentSize);
+        long segmentStart = (long) segment * segmentSize;
+        if (start + length <= segmentStart + segmentSize && segmentStart + segmentSize <= size) {
+            segment(segment).get((int) (start - segmentStart), payload);
+        } else if (!readFully(channel, ByteBuffer.wrap(payload), start)) {
+            throw new IOException("registro incompleto");
+        }
+        return payload;
+    }
+
+    // Segments are mapped lazily, in order, and never remapped until clear or compaction.
+    private MappedByteBuffer segment(int number) throws IOException {
+        synchronized (segments) {
+            while (segments.size() <= number) {
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, (long) segments.size() * segmentSize,
+                        segmentSize));
+            }
+            return segments.get(number);
+        }
+    }
+
+    int mappedSegments() {
+        synchronized (segments) {
+            return segments.size();
+        }
+    }
+
+    private void dropSegments() {
+        synchronized (segments) {
+            segments.clear();
+        }
+    }
+
+    /**
+     * Appends a result; returns {@code false} when it or its key cannot be encoded, or the store
+     * is full.
+     */
+    public boolean put(String key, String type, int version, AnalysisResult result) {
+        byte[] payload;
+        byte[] record;
+        try {
+            payload = AnalysisResultCodec.encode(result);
+            record = encodeRecord(key, type, version, payload);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (size + record.length > MAX_FILE_SIZE) {
+                if (!fullReported) {
+                    System.err.println("Caché en disco llena: " + file);
+                    fullReported = true;
+                }
+                return false;
+            }
+            writeFully(channel, ByteBuffer.wrap(record), size);
+            index.put(key, new Location(size, record.length, record.length - payload.length, type, version));
+            latestVersions.merge(type, version, Math::max);
+            size += record.length;
+        } catch (IOException e) {
+            System.err.println("Error escribiendo la caché en disco: " + e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        scheduleCompactionIfNeeded();
+        return true;
+    }
+
+    private static byte[] encodeRecord(String key, String type, int version, byte[] payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER + payload.length + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeUTF(key);
+            out.writeUTF(type);
+            out.writeInt(version);
+            out.write(payload);
+        } catch (UTFDataFormatException e) {
+            throw new IllegalArgumentException("Clave demasiado larga para la caché en disco", e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] record = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(record, RECORD_HEADER, record.length - RECORD_HEADER);
+        ByteBuffer.wrap(record).putInt(record.length - RECORD_HEADER).putInt((int) crc.getValue());
+        return record;
+    }
+
+    private static boolean readFully(FileChannel source, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = source.read(buffer, position + buffer.position());
+            if (n <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset(channel);
+            index.clear();
+            latestVersions.clear();
+            dropSegments();
+            size = FILE_HEADER;
+            generation++;
+        } catch (IOException e) {
+            System.err.println("Error limpiando la caché en disco: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (int) index.values().stream().filter(this::isLive).count();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long fileSize() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isLive(Location location) {
+        return location.version() >= latestVersions.get(location.type());
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        long live;
+        lock.readLock().lock();
+        try {
+            if (size < MIN_COMPACTION_SIZE) {
+                return;
+            }
+            live = index.values().stream().filter(this::isLive).mapToLong(Location::length).sum();
+            if (size - FILE_HEADER - live <= live) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    System.err.println("Error compactando la caché en disco: " + e.getMessage());
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rewrites the file with only its live records. The bulk copy runs without blocking readers
+     * or writers; only records appended meanwhile are copied under the write lock before the swap.
+     */
+    void compact() throws IOException {
+        List<Location> live;
+        long snapshotEnd;
+        long snapshotGeneration;
+        lock.readLock().lock();
+        try {
+            live = new ArrayList<>(index.values().stream().filter(this::isLive).toList());
+            snapshotEnd = size;
+            snapshotGeneration = generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+        live.sort(Comparator.comparingLong(Location::offset));
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            reset(out);
+            long position = FILE_HEADER;
+            for (Location location : live) {
+                position += copy(channel, location.offset(), location.length(), out, position);
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (generation != snapshotGeneration) {
+                    return;
+                }
+                position += copy(channel, snapshotEnd, size - snapshotEnd, out, position);
+                Map<String, Location> compacted = new HashMap<>();
+                long end = scan(out, FILE_HEADER, position, compacted);
+                if (end != position) {
+                    throw new IOException("Copia compactada inconsistente");
+                }
+                out.force(true);
+                channel.close();
+                try {
+                    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    dropSegments();
+                }
+                compacted.values().removeIf(location -> !isLive(location));
+                index.clear();
+                index.putAll(compacted);
+                size = position;
+                generation++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static long copy(FileChannel source, long from, long length, FileChannel target, long position)
+            throws IOException {
+        long copied = 0;
+        while (copied < length) {
+            long n = source.transferTo(from + copied, length - copied, target.position(position + copied));
+            if (n <= 0) {
+                throw new IOException("Copia incompleta durante la compactación");
+            }
+            copied += n;
+        }
+        return copied;
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            channel.close();
+            dropSegments();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package master.ucaldas.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * samtools-compatible {@code .fai} index: for every record its name, length, byte offset of
+ * the first base, bases per line and bytes per line. With fixed-width lines the byte offset of
+ * any base is computed directly, so a record or a subrange is read without scanning the file.
+ */
+public class FASTAIndex {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    public record Entry(String name, long length, long offset, int lineBases, int lineWidth) {
+
+        public long byteOffset(long position) {
+            return offset + position / lineBases * lineWidth + position % lineBases;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    private FASTAIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static FASTAIndex loadOrBuild(Path fasta) throws IOException {
+        Path fai = indexPath(fasta);
+        if (Files.isRegularFile(fai)
+                && Files.getLastModifiedTime(fai).compareTo(Files.getLastModifiedTime(fasta)) >= 0) {
+            return read(fai);
+        }
+        FASTAIndex index = build(fasta);
+        try {
+            index.write(fai);
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar el índice " + fai + ": " + e.getMessage());
+        }
+        return index;
+    }
+
+    public static Path indexPath(Path fasta) {
+        return fasta.resolveSibling(fasta.getFileName() + ".fai");
+    }
+
+    public static FASTAIndex read(Path fai) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(fai, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                if (fields.length < 5) {
+                    throw new IOException("Línea de índice inválida: " + line);
+                }
+                try {
+                    entries.put(fields[0], new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                            Integer.parseInt(fields[3]), Integer.parseInt(fields[4])));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Línea de índice inválida: " + line);
+                }
+            }
+        }
+        return new FASTAIndex(entries);
+    }
+
+    public void write(Path fai) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(fai, StandardCharsets.UTF_8)) {
+            for (Entry entry : entries.values()) {
+                writer.write(entry.name() + "\t" + entry.length() + "\t" + entry.offset() + "\t"
+                        + entry.lineBases() + "\t" + entry.lineWidth() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Indexes a plain or BGZF FASTA; offsets always refer to the uncompressed text.
+     */
+    public static FASTAIndex build(Path fasta) throws IOException {
+        if (CompressionFormat.detect(fasta) == CompressionFormat.GZIP) {
+            throw new IllegalArgumentException("Un archivo gzip sin bloques BGZF no admite acceso aleatorio; recomprímalo con bgzip");
+        }
+        Builder builder = new Builder();
+        try (InputStream in = CompressionFormat.open(fasta)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = 0;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    builder.accept(buffer[i], position + i);
+                }
+                position += read;
+            }
+            builder.finish(position);
+        }
+        return new FASTAIndex(builder.entries);
+    }
+
+    public Entry get(String name) {
+        return entries.get(name);
+    }
+
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Builder {
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private final StringBuilder header = new StringBuilder();
+        private boolean inHeader;
+        private boolean atLineStart = true;
+        private String name;
+        private long offset;
+        private long length;
+        private int lineBases;
+        private int lineWidth;
+        private long lineStart;
+        private int currentBases;
+        private boolean shortLineSeen;
+
+        void accept(byte b, long position) throws IOException {
+            if (inHeader) {
+                if (b == '\n') {
+                    startRecord(position + 1);
+                } else {
+                    header.append((char) (b & 0xFF));
+                }
+                return;
+            }
+            if (atLineStart && b == '>') {
+                finishRecord();
+                inHeader = true;
+                header.setLength(0);
+                return;
+            }
+            if (atLineStart) {
+                lineStart = position;
+                currentBases = 0;
+                atLineStart = false;
+            }
+            if (b == '\n') {
+                endLine(position + 1, true);
+            } else if (b != '\r') {
+                currentBases++;
+            }
+        }
+
+        private void startRecord(long firstBase) {
+            String text = new String(header.toString().getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8).trim();
+            name = text.split("\\s+", 2)[0];
+            offset = firstBase;
+            length = 0;
+            lineBases = 0;
+            lineWidth = 0;
+            shortLineSeen = false;
+            inHeader = false;
+            atLineStart = true;
+        }
+
+        private void endLine(long lineEnd, boolean terminated) throws IOException {
+            atLineStart = true;
+            if (name == null) {
+                return;
+            }
+            int width = (int) (lineEnd - lineStart);
+            if (currentBases == 0) {
+                shortLineSeen = true;
+                return;
+            }
+            if (shortLineSeen) {
+                throw new IOException("Longitud de línea inconsistente en la secuencia " + name);
+            }
+            if (lineBases == 0) {
+                lineBases = currentBases;
+                lineWidth = width;
+            } else if (currentBases > lineBases || (terminated && currentBases == lineBases && width != lineWidth)) {
+                throw new IOException("Longitud de línea inconsistente en la secuencia " + name);
+            } else if (currentBases < lineBases) {
+                shortLineSeen = true;
+            }
+            length += currentBases;
+        }
+
+        void finish(long end) throws IOException {
+            if (inHeader) {
+                startRecord(end);
+            } else if (!atLineStart) {
+                endLine(end, false);
+            }
+            finishRecord();
+        }
+
+        private void finishRecord() throws IOException {
+            if (name == null) {
+                return;
+            }
+            if (entries.containsKey(name)) {
+                throw new IOException("Nombre de secuencia duplicado en el FASTA: " + name);
+            }
+            entries.put(name, new Entry(name, length, offset, lineBases, lineWidth));
+            name = null;
+        }
+    }
+}
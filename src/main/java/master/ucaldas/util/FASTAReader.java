@@ -1,53 +1,180 @@
 package master.ucaldas.util;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.Closeable;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.PackedSequence;
 
 public class FASTAReader {
 
     public static List<GeneticSequence> readFASTA(String filePath) throws IOException {
-        List<GeneticSequence> sequences = new ArrayList<>();
+        return MappedFASTAParser.parse(Path.of(filePath));
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            GeneticSequence currentSequence = null;
-            StringBuilder sequenceData = new StringBuilder();
+    /**
+     * Streams the records of a FASTA file without loading the whole file; close the stream to
+     * release the underlying file. Plain files are parsed ahead in parallel chunks of
+     * {@code bufferSize} bytes; compressed files go through a single {@link FASTARecordIterator}.
+     */
+    public static Stream<GeneticSequence> stream(String filePath, int bufferSize) throws IOException {
+        Path file = Path.of(filePath);
+        if (CompressionFormat.detect(file) == CompressionFormat.PLAIN) {
+            ParallelFASTAIterator iterator = new ParallelFASTAIterator(file, bufferSize);
+            return stream(iterator, iterator);
+        }
+        FASTARecordIterator iterator = new FASTARecordIterator(file, bufferSize);
+        return stream(iterator, iterator);
+    }
 
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
+    private static Stream<GeneticSequence> stream(Iterator<GeneticSequence> iterator, Closeable source) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        source.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
 
-                if (line.isEmpty()) {
-                    continue;
-                }
+    public static Stream<GeneticSequence> stream(String filePath) throws IOException {
+        return stream(filePath, FASTARecordIterator.DEFAULT_BUFFER_SIZE);
+    }
 
-                if (line.startsWith(">")) {
-                    if (currentSequence != null) {
-                        currentSequence.setSequence(sequenceData.toString());
-                        sequences.add(currentSequence);
-                        sequenceData = new StringBuilder();
-                    }
+    public static void forEachRecord(String filePath, int bufferSize, Consumer<GeneticSequence> action) throws IOException {
+        try (Stream<GeneticSequence> records = stream(filePath, bufferSize)) {
+            records.forEach(action);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-                    currentSequence = parseHeader(line);
-                } else {
-                    sequenceData.append(line);
-                }
+    public static GeneticSequence readRecord(String filePath, String name) throws IOException {
+        FASTAIndex index = FASTAIndex.loadOrBuild(Path.of(filePath));
+        FASTAIndex.Entry entry = index.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Secuencia no encontrada en el índice: " + name);
+        }
+        return read(Path.of(filePath), entry, 0, entry.length(), name);
+    }
+
+    /**
+     * Reads a samtools-style region: {@code name}, {@code name:start} or {@code name:start-end},
+     * with 1-based inclusive coordinates.
+     */
+    public static GeneticSequence readRegion(String filePath, String region) throws IOException {
+        FASTAIndex index = FASTAIndex.loadOrBuild(Path.of(filePath));
+        if (index.contains(region)) {
+            return readRecord(filePath, region);
+        }
+
+        int colon = region.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Secuencia no encontrada en el índice: " + region);
+        }
+        FASTAIndex.Entry entry = index.get(region.substring(0, colon));
+        if (entry == null) {
+            throw new IllegalArgumentException("Secuencia no encontrada en el índice: " + region.substring(0, colon));
+        }
+
+        String range = region.substring(colon + 1).replace(",", "");
+        long start;
+        long end;
+        try {
+            int dash = range.indexOf('-');
+            start = Long.parseLong(dash < 0 ? range : range.substring(0, dash));
+            end = dash < 0 ? entry.length() : Long.parseLong(range.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Región inválida: " + region);
+        }
+        if (start < 1 || end < start || start > entry.length()) {
+            throw new IllegalArgumentException("Región inválida: " + region);
+        }
+        return read(Path.of(filePath), entry, start - 1, Math.min(end, entry.length()), region);
+    }
+
+    @FunctionalInterface
+    private interface RangeReader {
+        int read(long position, byte[] destination, int offset, int length) throws IOException;
+    }
+
+    private static GeneticSequence read(Path file, FASTAIndex.Entry entry, long from, long to, String name) throws IOException {
+        if (to - from > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Región demasiado grande: " + name);
+        }
+        if (CompressionFormat.detect(file) == CompressionFormat.BGZF) {
+            try (BGZFFile bgzf = BGZFFile.open(file)) {
+                return read(bgzf::read, entry, from, to, name);
             }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read((position, destination, offset, length) ->
+                    channel.read(ByteBuffer.wrap(destination, offset, length), position), entry, from, to, name);
+        }
+    }
 
-            if (currentSequence != null) {
-                currentSequence.setSequence(sequenceData.toString());
-                sequences.add(currentSequence);
+    private static GeneticSequence read(RangeReader reader, FASTAIndex.Entry entry, long from, long to, String name)
+            throws IOException {
+        GeneticSequence sequence = readHeader(reader, entry);
+        byte[] bases = new byte[(int) (to - from)];
+        if (bases.length > 0) {
+            long position = entry.byteOffset(from);
+            long end = entry.byteOffset(to - 1) + 1;
+            byte[] chunk = new byte[(int) Math.min(end - position, 1 << 20)];
+            int count = 0;
+            while (position < end) {
+                int read = reader.read(position, chunk, 0, (int) Math.min(chunk.length, end - position));
+                if (read <= 0) {
+                    throw new IOException("El archivo FASTA es más corto de lo que indica su índice");
+                }
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] != '\n' && chunk[i] != '\r') {
+                        bases[count++] = chunk[i];
+                    }
+                }
+                position += read;
             }
         }
+        sequence.setName(name);
+        sequence.setBases(PackedSequence.of(bases, 0, bases.length));
+        return sequence;
+    }
 
-        return sequences;
+    private static GeneticSequence readHeader(RangeReader reader, FASTAIndex.Entry entry) throws IOException {
+        int size = (int) Math.min(entry.offset(), 1 << 16);
+        byte[] bytes = new byte[size];
+        int filled = 0;
+        while (filled < size) {
+            int read = reader.read(entry.offset() - size + filled, bytes, filled, size - filled);
+            if (read <= 0) {
+                break;
+            }
+            filled += read;
+        }
+        for (int i = filled - 2; i >= 0; i--) {
+            if (bytes[i] == '>' && (i == 0 || bytes[i - 1] == '\n')) {
+                return parseHeader(new String(bytes, i, filled - i, StandardCharsets.UTF_8).trim());
+            }
+        }
+        return new GeneticSequence(entry.name(), "", "DNA", "");
     }
 
-    private static GeneticSequence parseHeader(String header) {
+    static GeneticSequence parseHeader(String header) {
         header = header.substring(1);
 
         String[] parts = header.split("\\s+", 2);
@@ -0,0 +1,76 @@
+package master.ucaldas.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import master.ucaldas.model.GeneticSequence;
+
+/**
+ * Yields the records of a FASTA file one at a time. Input is read through a fixed-size buffer and
+ * only the records completed by the last read are held, so memory stays bounded by the buffer and
+ * the largest record instead of growing with the file. Plain, gzip and BGZF input are accepted.
+ */
+public class FASTARecordIterator implements Iterator<GeneticSequence>, Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private final ArrayDeque<GeneticSequence> pending = new ArrayDeque<>();
+    private final FASTARecordParser parser = new FASTARecordParser(pending::add);
+    private boolean exhausted;
+
+    public FASTARecordIterator(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    public FASTARecordIterator(Path file, int bufferSize) throws IOException {
+        this(CompressionFormat.open(file), bufferSize);
+    }
+
+    public FASTARecordIterator(InputStream in, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("El tamaño del búfer debe ser positivo");
+        }
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (pending.isEmpty() && !exhausted) {
+                int read = in.read(buffer);
+                if (read < 0) {
+                    parser.finish();
+                    exhausted = true;
+                } else {
+                    parser.consume(buffer, read);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public GeneticSequence next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return pending.poll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        exhausted = true;
+        pending.clear();
+        in.close();
+    }
+}
@@ -0,0 +1,108 @@
+package master.ucaldas.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.PackedSequence;
+
+/**
+ * Incremental FASTA state machine: bytes are fed in arbitrary slices and every completed
+ * record is handed to the sink. The base buffer is reused between records, so memory is
+ * bounded by the largest record rather than by the input size.
+ */
+final class FASTARecordParser {
+    private static final int MAX_RECORD_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final Consumer<GeneticSequence> sink;
+    private final ByteArrayOutputStream header = new ByteArrayOutputStream();
+    private byte[] bases = new byte[1 << 16];
+    private int baseCount;
+    private GeneticSequence current;
+    private boolean inHeader;
+    private boolean atLineStart = true;
+
+    FASTARecordParser(Consumer<GeneticSequence> sink) {
+        this.sink = sink;
+    }
+
+    void consume(byte[] slice, int length) {
+        int i = 0;
+        while (i < length) {
+            if (inHeader) {
+                int lineEnd = i;
+                while (lineEnd < length && slice[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                header.write(slice, i, lineEnd - i);
+                if (lineEnd < length) {
+                    finishHeader();
+                }
+                i = lineEnd + 1;
+                continue;
+            }
+
+            int b = slice[i] & 0xFF;
+            if (b == '\n') {
+                atLineStart = true;
+                i++;
+            } else if (b <= ' ') {
+                i++;
+            } else if (atLineStart && b == '>') {
+                finishRecord();
+                inHeader = true;
+                header.reset();
+                i++;
+            } else {
+                atLineStart = false;
+                int runEnd = i;
+                while (runEnd < length && (slice[runEnd] & 0xFF) > ' ') {
+                    runEnd++;
+                }
+                if (current != null) {
+                    append(slice, i, runEnd - i);
+                }
+                i = runEnd;
+            }
+        }
+    }
+
+    void finish() {
+        if (inHeader) {
+            finishHeader();
+        }
+        finishRecord();
+    }
+
+    private void append(byte[] source, int offset, int count) {
+        while (bases.length - baseCount < count) {
+            grow();
+        }
+        System.arraycopy(source, offset, bases, baseCount, count);
+        baseCount += count;
+    }
+
+    private void grow() {
+        if (bases.length >= MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("Registro FASTA demasiado grande: " + current.getName());
+        }
+        bases = Arrays.copyOf(bases, (int) Math.min(2L * bases.length, MAX_RECORD_LENGTH));
+    }
+
+    private void finishHeader() {
+        current = FASTAReader.parseHeader((">" + header.toString(StandardCharsets.UTF_8)).trim());
+        inHeader = false;
+        atLineStart = true;
+    }
+
+    private void finishRecord() {
+        if (current != null) {
+            current.setBases(PackedSequence.of(bases, 0, baseCount));
+            sink.accept(current);
+            current = null;
+        }
+        baseCount = 0;
+    }
+}
@@ -0,0 +1,133 @@
+package master.ucaldas.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import master.ucaldas.model.GeneticSequence;
+
+/**
+ * FASTA parser over a memory-mapped file. The file is cut into chunks that start at a
+ * {@code >} record boundary, chunks are parsed in parallel, and sequence bytes go straight
+ * into the packed representation without building per-line strings. Files larger than the
+ * 2 GB mapping limit are mapped in consecutive windows.
+ */
+public final class MappedFASTAParser {
+    private static final long MAX_MAP_SIZE = 1L << 30;
+    private static final long MIN_CHUNK_SIZE = 8L << 20;
+    private static final int SLICE_SIZE = 1 << 20;
+    private static final int BOUNDARY_PROBE = 1 << 16;
+
+    private MappedFASTAParser() {
+    }
+
+    public static List<GeneticSequence> parse(Path file) throws IOException {
+        if (CompressionFormat.detect(file) != CompressionFormat.PLAIN) {
+            try (InputStream in = CompressionFormat.open(file)) {
+                return parse(in);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel);
+            List<List<GeneticSequence>> parts;
+            try {
+                parts = IntStream.range(0, boundaries.length - 1)
+                        .parallel()
+                        .mapToObj(i -> parseChunk(channel, boundaries[i], boundaries[i + 1]))
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<GeneticSequence> sequences = new ArrayList<>();
+            for (List<GeneticSequence> part : parts) {
+                sequences.addAll(part);
+            }
+            return sequences;
+        }
+    }
+
+    /**
+     * Parses a FASTA stream sequentially; used for compressed input, where the decompressor
+     * provides the parallelism.
+     */
+    public static List<GeneticSequence> parse(InputStream in) throws IOException {
+        List<GeneticSequence> sequences = new ArrayList<>();
+        FASTARecordParser parser = new FASTARecordParser(sequences::add);
+        byte[] slice = new byte[SLICE_SIZE];
+        int read;
+        while ((read = in.read(slice)) > 0) {
+            parser.consume(slice, read);
+        }
+        parser.finish();
+        return sequences;
+    }
+
+    private static long[] findChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long chunks = Math.max(1, Math.min(size / MIN_CHUNK_SIZE, parallelism * 4L));
+        long chunkSize = size / chunks;
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        for (long c = 1; c < chunks; c++) {
+            long boundary = nextRecordStart(channel, Math.max(c * chunkSize, boundaries.get(boundaries.size() - 1) + 1));
+            if (boundary >= size) {
+                break;
+            }
+            if (boundary > boundaries.get(boundaries.size() - 1)) {
+                boundaries.add(boundary);
+            }
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    static long nextRecordStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE);
+        long position = from - 1;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i + 1 < read; i++) {
+                if (probe.get(i) == '\n' && probe.get(i + 1) == '>') {
+                    return position + i + 1;
+                }
+            }
+            position += Math.max(1, read - 1);
+        }
+    }
+
+    static List<GeneticSequence> parseChunk(FileChannel channel, long start, long end) {
+        List<GeneticSequence> sequences = new ArrayList<>();
+        FASTARecordParser parser = new FASTARecordParser(sequences::add);
+        byte[] slice = new byte[(int) Math.min(SLICE_SIZE, end - start)];
+        try {
+            for (long window = start; window < end; window += MAX_MAP_SIZE) {
+                long windowSize = Math.min(MAX_MAP_SIZE, end - window);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, window, windowSize);
+                while (mapped.hasRemaining()) {
+                    int length = Math.min(slice.length, mapped.remaining());
+                    mapped.get(slice, 0, length);
+                    parser.consume(slice, length);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        parser.finish();
+        return sequences;
+    }
+}
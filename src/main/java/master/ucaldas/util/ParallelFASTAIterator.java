@@ -0,0 +1,110 @@
+package master.ucaldas.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import master.ucaldas.model.GeneticSequence;
+
+/**
+ * Yields the records of a plain FASTA file in file order while later chunks are parsed in
+ * parallel. The file is cut at record boundaries into chunks of about {@code chunkSize} bytes,
+ * which are parsed like in {@link MappedFASTAParser}, and at most {@code lookAhead} chunks are
+ * parsed ahead of the caller, so memory stays bounded by those chunks instead of the file.
+ */
+public class ParallelFASTAIterator implements Iterator<GeneticSequence>, Closeable {
+    private final FileChannel channel;
+    private final long size;
+    private final long chunkSize;
+    private final int lookAhead;
+    private final ArrayDeque<CompletableFuture<List<GeneticSequence>>> chunks = new ArrayDeque<>();
+    private Iterator<GeneticSequence> current = Collections.emptyIterator();
+    private long nextChunkStart;
+    private boolean closed;
+
+    public ParallelFASTAIterator(Path file, int chunkSize) throws IOException {
+        this(file, chunkSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelFASTAIterator(Path file, int chunkSize, int lookAhead) throws IOException {
+        if (chunkSize < 1 || lookAhead < 1) {
+            throw new IllegalArgumentException("El tamaño de bloque y la anticipación deben ser positivos");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.chunkSize = chunkSize;
+        this.lookAhead = lookAhead;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            submitChunks();
+            CompletableFuture<List<GeneticSequence>> chunk = chunks.poll();
+            if (chunk == null) {
+                return false;
+            }
+            current = join(chunk).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public GeneticSequence next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * Number of chunks submitted but not yet handed to the caller.
+     */
+    int chunksInFlight() {
+        return chunks.size();
+    }
+
+    private void submitChunks() {
+        try {
+            while (!closed && chunks.size() < lookAhead && nextChunkStart < size) {
+                long start = nextChunkStart;
+                long end = size - start <= chunkSize ? size
+                        : Math.min(size, MappedFASTAParser.nextRecordStart(channel, start + chunkSize));
+                chunks.add(CompletableFuture.supplyAsync(() -> MappedFASTAParser.parseChunk(channel, start, end)));
+                nextChunkStart = end;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<GeneticSequence> join(CompletableFuture<List<GeneticSequence>> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        chunks.forEach(chunk -> chunk.cancel(false));
+        chunks.clear();
+        current = Collections.emptyIterator();
+        channel.close();
+    }
+}
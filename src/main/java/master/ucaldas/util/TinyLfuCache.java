@@ -0,0 +1,378 @@
+package master.ucaldas.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Weight-bounded cache with W-TinyLFU eviction. New entries enter a small LRU window (1% of the
+ * budget); entries leaving the window compete with the oldest entry of the probation segment,
+ * and the one that the {@link FrequencySketch} has seen less often is evicted. Entries hit while
+ * on probation move to the protected segment (80% of the main space). Entries may also expire a
+ * fixed time after being written. Every removal is reported to the registered listeners.
+ * <p>
+ * Lookups read a {@link ConcurrentHashMap} without locking. Accesses are recorded in a lossy
+ * buffer that is applied to the eviction policy under a lock, either by the next writer or by
+ * a reader that finds the buffer full and the lock free. Writes take the lock.
+ */
+public class TinyLfuCache<K, V> {
+    public enum RemovalCause {
+        SIZE, EXPIRED, EXPLICIT, REPLACED
+    }
+
+    @FunctionalInterface
+    public interface RemovalListener<K, V> {
+        void onRemoval(K key, V value, RemovalCause cause);
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+    private static final int READ_BUFFER_DRAIN = 64;
+    private static final int READ_BUFFER_MAXIMUM = 1024;
+
+    private final Map<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Object> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readBufferSize = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Node<K, V> window = sentinel();
+    private final Node<K, V> probation = sentinel();
+    private final Node<K, V> protectedSegment = sentinel();
+    private final List<RemovalListener<K, V>> listeners = new CopyOnWriteArrayList<>();
+    private final ToLongFunction<V> weigher;
+    private final FrequencySketch sketch;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long ttlNanos;
+    private long windowWeight;
+    private long protectedWeight;
+    private long totalWeight;
+    private long lastCleanUp = System.nanoTime();
+    private volatile long evictions;
+
+    /**
+     * @param maximumWeight   total weight budget, usually bytes
+     * @param ttl             time to live after a write, or {@code null}/zero for no expiry
+     * @param expectedEntries sizes the frequency sketch
+     */
+    public TinyLfuCache(long maximumWeight, Duration ttl, int expectedEntries, ToLongFunction<V> weigher) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("El presupuesto de memoria de la caché debe ser positivo");
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 4 / 5;
+        this.ttlNanos = ttl == null || ttl.isNegative() ? 0 : ttl.toNanos();
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    public void addRemovalListener(RemovalListener<K, V> listener) {
+        listeners.add(listener);
+    }
+
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node != null && isExpired(node, System.nanoTime())) {
+            List<Node<K, V>> removed = new ArrayList<>(1);
+            evictionLock.lock();
+            try {
+                if (data.get(key) == node) {
+                    removeNode(node, RemovalCause.EXPIRED, removed);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+            notifyListeners(removed);
+            node = null;
+        }
+        if (node == null) {
+            misses.increment();
+            recordRead(key);
+            return null;
+        }
+        hits.increment();
+        recordRead(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the cached value without counting a hit or a miss and without touching the
+     * eviction policy.
+     */
+    public V peek(K key) {
+        Node<K, V> node = data.get(key);
+        return node != null && !isExpired(node, System.nanoTime()) ? node.value : null;
+    }
+
+    public boolean containsKey(K key) {
+        return peek(key) != null;
+    }
+
+    public void put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        List<Node<K, V>> removed = new ArrayList<>(0);
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            long now = System.nanoTime();
+            Node<K, V> old = data.get(key);
+            if (old != null) {
+                removeNode(old, RemovalCause.REPLACED, removed);
+            }
+            sketch.increment(key);
+
+            Node<K, V> node = new Node<>(key, value, weight, ttlNanos > 0 ? now + ttlNanos : Long.MAX_VALUE);
+            if (weight > maximumWeight) {
+                node.cause = RemovalCause.SIZE;
+                removed.add(node);
+                evictions++;
+            } else {
+                data.put(key, node);
+                link(window, node, WINDOW);
+                windowWeight += weight;
+                totalWeight += weight;
+            }
+            if (ttlNanos > 0 && now - lastCleanUp >= ttlNanos) {
+                expireEntries(now, removed);
+            }
+            evictEntries(removed);
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyListeners(removed);
+    }
+
+    public void remove(K key) {
+        List<Node<K, V>> removed = new ArrayList<>(1);
+        evictionLock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                removeNode(node, RemovalCause.EXPLICIT, removed);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyListeners(removed);
+    }
+
+    public void clear() {
+        List<Node<K, V>> removed;
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            removed = new ArrayList<>(data.size());
+            for (Node<K, V> node : new ArrayList<>(data.values())) {
+                removeNode(node, RemovalCause.EXPLICIT, removed);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyListeners(removed);
+    }
+
+    public List<V> values() {
+        long now = System.nanoTime();
+        List<V> values = new ArrayList<>(data.size());
+        for (Node<K, V> node : data.values()) {
+            if (!isExpired(node, now)) {
+                values.add(node.value);
+            }
+        }
+        return values;
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions;
+    }
+
+    private void recordRead(Object access) {
+        if (readBufferSize.get() < READ_BUFFER_MAXIMUM) {
+            readBuffer.add(access);
+            readBufferSize.incrementAndGet();
+        }
+        if (readBufferSize.get() >= READ_BUFFER_DRAIN && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainReadBuffer() {
+        Object access;
+        while ((access = readBuffer.poll()) != null) {
+            readBufferSize.decrementAndGet();
+            if (access instanceof Node<?, ?> node) {
+                sketch.increment(node.key);
+                if (node.queue != REMOVED) {
+                    onAccess((Node<K, V>) node);
+                }
+            } else {
+                sketch.increment(access);
+            }
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> {
+                unlink(node);
+                link(window, node, WINDOW);
+            }
+            case PROBATION -> {
+                unlink(node);
+                link(protectedSegment, node, PROTECTED);
+                protectedWeight += node.weight;
+                while (protectedWeight > protectedMaximum && protectedSegment.next != node) {
+                    Node<K, V> demoted = protectedSegment.next;
+                    unlink(demoted);
+                    protectedWeight -= demoted.weight;
+                    link(probation, demoted, PROBATION);
+                }
+            }
+            default -> {
+                unlink(node);
+                link(protectedSegment, node, PROTECTED);
+            }
+        }
+    }
+
+    private void evictEntries(List<Node<K, V>> removed) {
+        while (windowWeight > windowMaximum && window.next != window) {
+            Node<K, V> candidate = window.next;
+            unlink(candidate);
+            windowWeight -= candidate.weight;
+            link(probation, candidate, PROBATION);
+        }
+        while (totalWeight > maximumWeight) {
+            Node<K, V> victim = probation.next;
+            Node<K, V> candidate = probation.prev;
+            if (victim == probation) {
+                victim = protectedSegment.next != protectedSegment ? protectedSegment.next : window.next;
+            } else if (victim != candidate && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                victim = candidate;
+            }
+            removeNode(victim, RemovalCause.SIZE, removed);
+            evictions++;
+        }
+    }
+
+    private void expireEntries(long now, List<Node<K, V>> removed) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        for (Node<K, V> node : new ArrayList<>(data.values())) {
+            if (isExpired(node, now)) {
+                removeNode(node, RemovalCause.EXPIRED, removed);
+            }
+        }
+        lastCleanUp = now;
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return node.expiresAt - now < 0;
+    }
+
+    private void removeNode(Node<K, V> node, RemovalCause cause, List<Node<K, V>> removed) {
+        data.remove(node.key, node);
+        unlink(node);
+        if (node.queue == WINDOW) {
+            windowWeight -= node.weight;
+        } else if (node.queue == PROTECTED) {
+            protectedWeight -= node.weight;
+        }
+        node.queue = REMOVED;
+        totalWeight -= node.weight;
+        node.cause = cause;
+        removed.add(node);
+    }
+
+    private void notifyListeners(List<Node<K, V>> removed) {
+        for (Node<K, V> node : removed) {
+            for (RemovalListener<K, V> listener : listeners) {
+                listener.onRemoval(node.key, node.value, node.cause);
+            }
+        }
+    }
+
+    private static <K, V> Node<K, V> sentinel() {
+        Node<K, V> node = new Node<>(null, null, 0, Long.MAX_VALUE);
+        node.prev = node;
+        node.next = node;
+        return node;
+    }
+
+    private static <K, V> void link(Node<K, V> head, Node<K, V> node, int queue) {
+        node.queue = queue;
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private static <K, V> void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long weight;
+        private final long expiresAt;
+        private int queue;
+        private RemovalCause cause;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        Node(K key, V value, long weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickTest {
+
+    private static Set<String> scan(AhoCorasick automaton, CharSequence text) {
+        Set<String> matches = new TreeSet<>();
+        automaton.scan(text, (pattern, start) -> matches.add(automaton.getPatterns().get(pattern) + "@" + start));
+        return matches;
+    }
+
+    private static Set<String> naive(List<String> motifs, String text) {
+        Set<String> matches = new TreeSet<>();
+        String upper = text.toUpperCase();
+        for (String motif : motifs) {
+            String pattern = motif.toUpperCase();
+            for (int i = upper.indexOf(pattern); i >= 0; i = upper.indexOf(pattern, i + 1)) {
+                matches.add(pattern + "@" + i);
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    void reportsOverlappingAndNestedMotifs() {
+        AhoCorasick automaton = AhoCorasick.compile(List.of("ATA", "TATA", "TA"));
+
+        assertEquals(Set.of("TA@1", "ATA@0", "TA@3", "TATA@1", "ATA@2"), scan(automaton, "ATATA"));
+    }
+
+    @Test
+    void matchesANaiveScanOnRandomText() {
+        Random random = new Random(11);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            text.append("ACGTacgtN".charAt(random.nextInt(9)));
+        }
+        List<String> motifs = new ArrayList<>();
+        for (int m = 0; m < 40; m++) {
+            int start = random.nextInt(text.length() - 8);
+            motifs.add(text.substring(start, start + 2 + random.nextInt(6)));
+        }
+        motifs.add("GAATTC");
+
+        AhoCorasick automaton = AhoCorasick.compile(motifs);
+
+        assertEquals(naive(motifs, text.toString()), scan(automaton, text));
+    }
+
+    @Test
+    void deduplicatesMotifsIgnoringCase() {
+        AhoCorasick automaton = AhoCorasick.compile(List.of("gaattc", "GAATTC", "TATA"));
+
+        assertEquals(List.of("GAATTC", "TATA"), automaton.getPatterns());
+    }
+
+    @Test
+    void foreignCharactersResetTheAutomaton() {
+        AhoCorasick automaton = AhoCorasick.compile(List.of("ACGT"));
+
+        assertEquals(Set.of(), scan(automaton, "AC-GT"));
+        assertEquals(Set.of("ACGT@3"), scan(automaton, "AC-ACGT"));
+    }
+
+    @Test
+    void rejectsEmptyPanels() {
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.compile(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.compile(List.of("ACGT", "")));
+    }
+}
@@ -0,0 +1,62 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import master.ucaldas.model.DistanceMatrix;
+import master.ucaldas.model.GeneticSequence;
+import org.junit.jupiter.api.Test;
+
+class AllPairsAlignerTest {
+
+    @Test
+    void fillsASymmetricMatrixAcrossTiles() {
+        List<GeneticSequence> sequences = new ArrayList<>();
+        String base = "ACGTACGTTGCAACGTAGCTAGCTAGGATCCA";
+        for (int i = 0; i < 7; i++) {
+            char[] mutated = base.toCharArray();
+            for (int k = 0; k < i; k++) {
+                mutated[k * 4] = mutated[k * 4] == 'A' ? 'C' : 'A';
+            }
+            sequences.add(new GeneticSequence("s" + i, null, "DNA", new String(mutated)));
+        }
+
+        DistanceMatrix matrix = new AllPairsAligner(ScoringScheme.DEFAULT, 3, ForkJoinPool.commonPool())
+                .compute(sequences);
+
+        SequenceAligner aligner = new SequenceAligner();
+        for (int i = 0; i < 7; i++) {
+            assertEquals(0.0, matrix.get(i, i));
+            for (int j = 0; j < 7; j++) {
+                assertEquals(matrix.get(i, j), matrix.get(j, i));
+            }
+        }
+        double expected = 1.0 - aligner.alignGlobal(sequences.get(2).getBases(), sequences.get(6).getBases())
+                .identityPercentage() / 100.0;
+        assertEquals(expected, matrix.get(2, 6), 1e-12);
+    }
+
+    @Test
+    void rejectsInputsWhoseMatrixCannotBeAllocated() {
+        List<GeneticSequence> huge = new AbstractList<>() {
+            @Override
+            public GeneticSequence get(int index) {
+                throw new AssertionError("no debe leer secuencias");
+            }
+
+            @Override
+            public int size() {
+                return 46_341;
+            }
+        };
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new AllPairsAligner().compute(huge));
+        assertTrue(error.getMessage().startsWith("Demasiadas secuencias"));
+    }
+}
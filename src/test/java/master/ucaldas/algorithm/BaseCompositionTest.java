@@ -0,0 +1,61 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import master.ucaldas.model.PackedSequence;
+import org.junit.jupiter.api.Test;
+
+class BaseCompositionTest {
+
+    @Test
+    void packedCountsMatchTextCountsWithExceptions() {
+        String text = ("ACGTNNNNACGTACGTAAGGCCTTACGTACGTAcgtacgtRY" + "GATTACA".repeat(20) + "SWKM").repeat(40) + "ACGTAC";
+        PackedSequence packed = PackedSequence.of(text);
+        assertTrue(packed.isPacked());
+
+        BaseComposition fromPacked = BaseComposition.of(packed);
+        BaseComposition fromText = BaseComposition.of(text);
+        for (char symbol : "ACGTNRYSWKM".toCharArray()) {
+            assertEquals(fromText.count(symbol), fromPacked.count(symbol), "símbolo " + symbol);
+        }
+        assertEquals(text.length(), fromPacked.getTotal());
+    }
+
+    @Test
+    void countsExceptionsAtTheTail() {
+        BaseComposition composition = BaseComposition.of(PackedSequence.of("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAN"));
+        assertEquals(35, composition.count('A'));
+        assertEquals(0, composition.count('T'));
+        assertEquals(1, composition.getUnknownBases());
+    }
+
+    @Test
+    void parallelCountsMatchSerialCounts() {
+        String unit = "ACGTTGCAAGGCCTTA".repeat(60) + "NNNN" + "acgt".repeat(16) + "R";
+        String text = unit.repeat((1 << 22) / unit.length() + 2);
+        PackedSequence packed = PackedSequence.of(text);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BaseComposition parallelPacked = BaseComposition.of(packed, pool);
+            BaseComposition parallelText = BaseComposition.of(new StringBuilder(text), pool);
+            BaseComposition serial = BaseComposition.of(unit);
+            long copies = text.length() / unit.length();
+            for (char symbol : "ACGTNR".toCharArray()) {
+                assertEquals(serial.count(symbol) * copies, parallelPacked.count(symbol), "símbolo " + symbol);
+                assertEquals(serial.count(symbol) * copies, parallelText.count(symbol), "símbolo " + symbol);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void computesPercentagesOverDefiniteBases() {
+        BaseComposition composition = BaseComposition.of("GGCCATNN");
+        assertEquals(4.0 / 6 * 100.0, composition.getGcPercentage(), 1e-9);
+        assertEquals(2, composition.getUnknownBases());
+    }
+}
@@ -0,0 +1,127 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import master.ucaldas.algorithm.BitParallelMatcher.ErrorModel;
+import org.junit.jupiter.api.Test;
+
+class BitParallelMatcherTest {
+
+    private static Map<Integer, Integer> scan(BitParallelMatcher matcher, CharSequence text) {
+        Map<Integer, Integer> hits = new TreeMap<>();
+        matcher.scan(text, hits::put);
+        return hits;
+    }
+
+    private static String random(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+
+    private static Map<Integer, Integer> naiveHamming(String motif, String text, int maxErrors) {
+        Map<Integer, Integer> hits = new TreeMap<>();
+        for (int start = 0; start + motif.length() <= text.length(); start++) {
+            int distance = 0;
+            for (int i = 0; i < motif.length(); i++) {
+                if (motif.charAt(i) != text.charAt(start + i)) {
+                    distance++;
+                }
+            }
+            if (distance <= maxErrors) {
+                hits.put(start, distance);
+            }
+        }
+        return hits;
+    }
+
+    // Sellers' semi-global edit distance: the best alignment of the whole motif ending at each text position.
+    private static Map<Integer, Integer> naiveEdit(String motif, String text, int maxErrors) {
+        Map<Integer, Integer> hits = new TreeMap<>();
+        int m = motif.length();
+        int[] column = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            column[i] = i;
+        }
+        for (int j = 0; j < text.length(); j++) {
+            int diagonal = column[0];
+            column[0] = 0;
+            for (int i = 1; i <= m; i++) {
+                int up = column[i];
+                int cost = motif.charAt(i - 1) == text.charAt(j) ? 0 : 1;
+                column[i] = Math.min(Math.min(column[i] + 1, column[i - 1] + 1), diagonal + cost);
+                diagonal = up;
+            }
+            if (column[m] <= maxErrors) {
+                hits.put(j, column[m]);
+            }
+        }
+        return hits;
+    }
+
+    @Test
+    void mismatchSearchMatchesHammingDistance() {
+        Random random = new Random(21);
+        String text = random(random, 3_000);
+        for (int k = 0; k <= 3; k++) {
+            String motif = random(random, 12);
+            BitParallelMatcher matcher = new BitParallelMatcher(motif, false, k, ErrorModel.MISMATCH);
+
+            assertEquals(naiveHamming(motif, text, k), scan(matcher, text), "k=" + k);
+        }
+    }
+
+    @Test
+    void editSearchMatchesSellersDynamicProgramming() {
+        Random random = new Random(22);
+        String text = random(random, 3_000);
+        for (int k = 1; k <= 3; k++) {
+            String motif = random(random, 10);
+            BitParallelMatcher matcher = new BitParallelMatcher(motif, false, k, ErrorModel.EDIT);
+
+            assertTrue(matcher.reportsEndPositions());
+            assertEquals(naiveEdit(motif, text, k), scan(matcher, text), "k=" + k);
+        }
+    }
+
+    @Test
+    void handlesFullWordMotifs() {
+        Random random = new Random(23);
+        String motif = random(random, BitParallelMatcher.MAX_MOTIF_LENGTH);
+        String text = random(random, 500) + motif + random(random, 500);
+
+        assertEquals(Map.of(500, 0), scan(new BitParallelMatcher(motif, false, 2, ErrorModel.MISMATCH), text));
+        assertEquals(0, scan(new BitParallelMatcher(motif, false, 2, ErrorModel.EDIT), text).get(563));
+    }
+
+    @Test
+    void degenerateMotifsMatchEveryBaseTheyStandFor() {
+        BitParallelMatcher matcher = new BitParallelMatcher("GRATTY", true, 0, ErrorModel.MISMATCH);
+
+        assertEquals(Map.of(0, 0, 7, 0, 14, 0), scan(matcher, "GAATTC-GGATTT-gaattc"));
+    }
+
+    @Test
+    void ambiguousTextOnlyMatchesAsAmbiguousMotif() {
+        assertEquals(Map.of(), scan(new BitParallelMatcher("ARA", true, 0, ErrorModel.MISMATCH), "ANA"));
+        assertEquals(Map.of(0, 0), scan(new BitParallelMatcher("ANA", true, 0, ErrorModel.MISMATCH), "ARA"));
+        assertEquals(Map.of(0, 0), scan(new BitParallelMatcher("ANA", true, 0, ErrorModel.MISMATCH), "ANA"));
+    }
+
+    @Test
+    void rejectsInvalidMotifs() {
+        assertThrows(IllegalArgumentException.class, () -> new BitParallelMatcher("", false, 0, ErrorModel.MISMATCH));
+        assertThrows(IllegalArgumentException.class, () -> new BitParallelMatcher("ACGT", false, 4, ErrorModel.EDIT));
+        assertThrows(IllegalArgumentException.class, () -> new BitParallelMatcher("ACXT", true, 0, ErrorModel.MISMATCH));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BitParallelMatcher("A".repeat(BitParallelMatcher.MAX_MOTIF_LENGTH + 1), false, 0, ErrorModel.MISMATCH));
+    }
+}
@@ -0,0 +1,93 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FMIndexTest {
+
+    private static String random(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("ACGTN".charAt(random.nextInt(random.nextInt(50) == 0 ? 5 : 4)));
+        }
+        return builder.toString();
+    }
+
+    private static int[] naiveLocate(String text, String pattern) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+            positions.add(i);
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void locatesEveryOccurrenceForAnySampleRate() {
+        Random random = new Random(41);
+        String text = random(random, 10_000);
+        for (int sampleRate : new int[] {1, 7, 32}) {
+            FMIndex index = FMIndex.build(text, sampleRate);
+            for (int q = 0; q < 200; q++) {
+                int start = random.nextInt(text.length() - 12);
+                String pattern = text.substring(start, start + 1 + random.nextInt(12));
+
+                int[] expected = naiveLocate(text, pattern);
+                assertEquals(expected.length, index.count(pattern));
+                assertArrayEquals(expected, index.locate(pattern));
+            }
+        }
+    }
+
+    @Test
+    void searchesCaseInsensitively() {
+        FMIndex index = FMIndex.build("acgtACGTacgt");
+
+        assertEquals(12, index.length());
+        assertArrayEquals(new int[] {0, 4, 8}, index.locate("ACGT"));
+        assertEquals(3, index.count("cGt"));
+    }
+
+    @Test
+    void absentPatternsAndSymbolsHaveNoOccurrences() {
+        FMIndex index = FMIndex.build("ACGTACGT");
+
+        assertEquals(0, index.count("TT"));
+        assertEquals(0, index.count("ACGU"));
+        assertEquals(0, index.count("ACGTACGTA"));
+        assertArrayEquals(new int[0], index.locate("N"));
+    }
+
+    @Test
+    void roundTripsThroughItsBinaryForm() throws IOException {
+        Random random = new Random(42);
+        String text = random(random, 3_000);
+        FMIndex index = FMIndex.build(text, 5);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        FMIndex restored = FMIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(index.length(), restored.length());
+        String pattern = text.substring(100, 106);
+        assertArrayEquals(naiveLocate(text, pattern), restored.locate(pattern));
+    }
+
+    @Test
+    void rejectsForeignStreams() {
+        byte[] garbage = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        assertThrows(IOException.class, () -> FMIndex.readFrom(new DataInputStream(new ByteArrayInputStream(garbage))));
+    }
+}
@@ -0,0 +1,110 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import master.ucaldas.model.DistanceMatrix;
+import master.ucaldas.model.GeneticSequence;
+import org.junit.jupiter.api.Test;
+
+class MinHashSketchTest {
+
+    private static String random(long seed, int length) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(String bases, long seed, double rate) {
+        Random random = new Random(seed);
+        char[] chars = bases.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (random.nextDouble() < rate) {
+                chars[i] = "ACGT".charAt((("ACGT".indexOf(chars[i]) + 1 + random.nextInt(3)) & 3));
+            }
+        }
+        return new String(chars);
+    }
+
+    private static String reverseComplement(String bases) {
+        StringBuilder builder = new StringBuilder(bases.length());
+        for (int i = bases.length() - 1; i >= 0; i--) {
+            builder.append(switch (bases.charAt(i)) {
+                case 'A' -> 'T';
+                case 'C' -> 'G';
+                case 'G' -> 'C';
+                default -> 'A';
+            });
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void identicalAndReverseComplementedSequencesEstimateFullIdentity() {
+        String bases = random(1, 20_000);
+        MinHashSketch sketch = MinHashSketch.build(bases, 16, 1000);
+
+        assertEquals(1000, sketch.getHashCount());
+        assertEquals(1.0, sketch.estimateIdentity(MinHashSketch.build(bases, 16, 1000)), 1e-9);
+        assertEquals(1.0, sketch.estimateIdentity(MinHashSketch.build(reverseComplement(bases), 16, 1000)), 1e-9);
+    }
+
+    @Test
+    void estimatesIdentityOfMutatedCopies() {
+        String bases = random(2, 50_000);
+        MinHashSketch sketch = MinHashSketch.build(bases, 16, 1000);
+
+        double identity = sketch.estimateIdentity(MinHashSketch.build(mutate(bases, 3, 0.05), 16, 1000));
+
+        assertEquals(0.95, identity, 0.02);
+    }
+
+    @Test
+    void unrelatedSequencesEstimateBelowHalfIdentity() {
+        MinHashSketch a = MinHashSketch.build(random(4, 20_000), 16, 1000);
+        MinHashSketch b = MinHashSketch.build(random(5, 20_000), 16, 1000);
+
+        assertEquals(0.0, a.jaccard(b));
+        assertTrue(a.estimateIdentity(b) < 0.5);
+    }
+
+    @Test
+    void proteinAndShortSequencesHaveEmptySketches() {
+        assertTrue(MinHashSketch.build("MKVLAAGIVGLLLAQPEEFWHKRRSS", 16, 1000).isEmpty());
+        assertTrue(MinHashSketch.build("ACGTACGT", 16, 1000).isEmpty());
+    }
+
+    @Test
+    void rejectsSketchesWithDifferentKmerSizes() {
+        String bases = random(6, 1_000);
+        MinHashSketch a = MinHashSketch.build(bases, 16, 100);
+        MinHashSketch b = MinHashSketch.build(bases, 21, 100);
+
+        assertThrows(IllegalArgumentException.class, () -> a.jaccard(b));
+    }
+
+    @Test
+    void prefilterRecordsUnrelatedPairsAtMaximumDistance() {
+        String base = random(7, 2_000);
+        List<GeneticSequence> sequences = List.of(
+                new GeneticSequence("a", null, "DNA", base),
+                new GeneticSequence("b", null, "DNA", mutate(base, 8, 0.02)),
+                new GeneticSequence("c", null, "DNA", random(9, 2_000)));
+
+        DistanceMatrix matrix = new AllPairsAligner(ScoringScheme.DEFAULT, 2, ForkJoinPool.commonPool())
+                .withPrefilter(0.5)
+                .compute(sequences);
+
+        assertTrue(matrix.get(0, 1) < 0.1);
+        assertEquals(1.0, matrix.get(0, 2));
+        assertEquals(1.0, matrix.get(1, 2));
+    }
+}
@@ -0,0 +1,180 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SequenceAlignerTest {
+    private static final ScoringScheme SCORING = ScoringScheme.DEFAULT;
+    private static final int NEG = Integer.MIN_VALUE / 4;
+
+    @Test
+    void globalScoreMatchesFullDynamicProgramming() {
+        Random random = new Random(11);
+        SequenceAligner aligner = new SequenceAligner(SCORING);
+        for (int trial = 0; trial < 20; trial++) {
+            String a = randomDna(random, 200 + random.nextInt(400));
+            String b = mutate(a, 0.02 + 0.02 * (trial % 5), 0.01 * (trial % 4), random);
+            Alignment alignment = aligner.alignGlobal(a, b);
+            assertEquals(bruteForce(a, b, false), alignment.score(), "prueba " + trial);
+            assertEquals(alignment.score(), scoreOfCigar(alignment, a, b));
+            assertEquals(a.length(), alignment.end1());
+            assertEquals(b.length(), alignment.end2());
+        }
+    }
+
+    @Test
+    void globalFollowsLongIndelsOutsideTheInitialBand() {
+        Random random = new Random(5);
+        String a = randomDna(random, 3000);
+        String b = a.substring(0, 1000) + randomDna(random, 300) + a.substring(1000, 2500) + a.substring(2700);
+        Alignment alignment = new SequenceAligner(SCORING).alignGlobal(a, b);
+        assertEquals(bruteForce(a, b, false), alignment.score());
+    }
+
+    @Test
+    void unrelatedLongInputsStopGrowingTheBandAtTheCellBudget() {
+        Random random = new Random(17);
+        String a = randomDna(random, 12_000);
+        String b = randomDna(random, 11_500);
+        assertTrue((long) a.length() * b.length() > SequenceAligner.MAX_BAND_CELLS);
+
+        Alignment alignment = new SequenceAligner(SCORING).alignGlobal(a, b);
+        assertEquals(a.length(), alignment.end1());
+        assertEquals(b.length(), alignment.end2());
+        assertEquals(alignment.score(), scoreOfCigar(alignment, a, b));
+        assertTrue(alignment.identityPercentage() < 70.0, alignment.toString());
+    }
+
+    @Test
+    void localScoreMatchesFullDynamicProgramming() {
+        Random random = new Random(3);
+        SequenceAligner aligner = new SequenceAligner(SCORING);
+        for (int trial = 0; trial < 20; trial++) {
+            String core = randomDna(random, 100 + random.nextInt(200));
+            String a = randomDna(random, random.nextInt(150)) + core + randomDna(random, random.nextInt(150));
+            String b = randomDna(random, random.nextInt(150)) + mutate(core, 0.05, 0.02, random)
+                    + randomDna(random, random.nextInt(150));
+            Alignment alignment = aligner.alignLocal(a, b);
+            assertEquals(bruteForce(a, b, true), alignment.score(), "prueba " + trial);
+            assertEquals(alignment.score(), scoreOfCigar(alignment, a, b));
+        }
+    }
+
+    @Test
+    void seededLocalFindsSharedRegionInLongInputs() {
+        Random random = new Random(9);
+        String core = randomDna(random, 2000);
+        String a = randomDna(random, 4000) + core + randomDna(random, 3000);
+        String b = randomDna(random, 1500) + mutate(core, 0.03, 0.01, random) + randomDna(random, 5000);
+        assertTrue((long) a.length() * b.length() > SequenceAligner.EXACT_LOCAL_CELLS);
+
+        Alignment alignment = new SequenceAligner(SCORING).alignLocal(a, b);
+        assertTrue(alignment.start1() >= 3900 && alignment.end1() <= 6100, alignment.toString());
+        assertTrue(alignment.start2() >= 1400 && alignment.end2() <= 3600, alignment.toString());
+        assertTrue(alignment.identityPercentage() > 90.0);
+        assertEquals(alignment.score(), scoreOfCigar(alignment, a, b));
+    }
+
+    @Test
+    void unrelatedShortInputsGiveEmptyLocalAlignment() {
+        Alignment alignment = new SequenceAligner(SCORING).alignLocal("AAAA", "CCCC");
+        assertEquals(0, alignment.score());
+        assertEquals("", alignment.cigar());
+    }
+
+    private static int scoreOfCigar(Alignment alignment, String a, String b) {
+        int i = alignment.start1();
+        int j = alignment.start2();
+        int score = 0;
+        String cigar = alignment.cigar();
+        int number = 0;
+        for (char c : cigar.toCharArray()) {
+            if (Character.isDigit(c)) {
+                number = number * 10 + (c - '0');
+                continue;
+            }
+            switch (c) {
+                case '=', 'X' -> {
+                    for (int k = 0; k < number; k++, i++, j++) {
+                        boolean same = a.charAt(i) == b.charAt(j);
+                        assertEquals(c == '=', same);
+                        score += same ? SCORING.match() : SCORING.mismatch();
+                    }
+                }
+                case 'D' -> {
+                    score -= SCORING.gapCost(number);
+                    i += number;
+                }
+                case 'I' -> {
+                    score -= SCORING.gapCost(number);
+                    j += number;
+                }
+                default -> throw new AssertionError(cigar);
+            }
+            number = 0;
+        }
+        assertEquals(alignment.end1(), i);
+        assertEquals(alignment.end2(), j);
+        return score;
+    }
+
+    // Textbook Gotoh with full matrices.
+    private static int bruteForce(String a, String b, boolean local) {
+        int m = a.length();
+        int n = b.length();
+        int open = SCORING.gapOpen() + SCORING.gapExtend();
+        int extend = SCORING.gapExtend();
+        int[][] h = new int[m + 1][n + 1];
+        int[][] e = new int[m + 1][n + 1];
+        int[][] f = new int[m + 1][n + 1];
+        int best = 0;
+        for (int i = 0; i <= m; i++) {
+            for (int j = 0; j <= n; j++) {
+                if (i == 0 || j == 0) {
+                    h[i][j] = local ? 0 : -SCORING.gapCost(i + j);
+                    e[i][j] = NEG;
+                    f[i][j] = NEG;
+                    continue;
+                }
+                e[i][j] = Math.max(e[i][j - 1] - extend, h[i][j - 1] - open);
+                f[i][j] = Math.max(f[i - 1][j] - extend, h[i - 1][j] - open);
+                int diagonal = h[i - 1][j - 1]
+                        + (a.charAt(i - 1) == b.charAt(j - 1) ? SCORING.match() : SCORING.mismatch());
+                h[i][j] = Math.max(diagonal, Math.max(e[i][j], f[i][j]));
+                if (local) {
+                    h[i][j] = Math.max(h[i][j], 0);
+                    best = Math.max(best, h[i][j]);
+                }
+            }
+        }
+        return local ? best : h[m][n];
+    }
+
+    private static String randomDna(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append("ACGT".charAt(random.nextInt(4)));
+        }
+        return text.toString();
+    }
+
+    private static String mutate(String text, double substitution, double indel, Random random) {
+        StringBuilder mutated = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            double roll = random.nextDouble();
+            if (roll < substitution) {
+                mutated.append("ACGT".charAt(random.nextInt(4)));
+            } else if (roll < substitution + indel / 2) {
+                continue;
+            } else if (roll < substitution + indel) {
+                mutated.append(text.charAt(i)).append("ACGT".charAt(random.nextInt(4)));
+            } else {
+                mutated.append(text.charAt(i));
+            }
+        }
+        return mutated.toString();
+    }
+}
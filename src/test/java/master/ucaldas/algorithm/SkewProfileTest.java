@@ -0,0 +1,79 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SkewProfileTest {
+
+    private static String random(long seed, int length) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("ACGTacgtN".charAt(random.nextInt(9)));
+        }
+        return builder.toString();
+    }
+
+    private static double[] window(String sequence, int start, int end) {
+        String upper = sequence.substring(start, end).toUpperCase();
+        long a = upper.chars().filter(ch -> ch == 'A').count();
+        long c = upper.chars().filter(ch -> ch == 'C').count();
+        long g = upper.chars().filter(ch -> ch == 'G').count();
+        long t = upper.chars().filter(ch -> ch == 'T').count();
+        double gc = a + c + g + t == 0 ? 0.0 : (double) (g + c) / (a + c + g + t) * 100.0;
+        double gcSkew = g + c == 0 ? 0.0 : (double) (g - c) / (g + c);
+        double atSkew = a + t == 0 ? 0.0 : (double) (a - t) / (a + t);
+        return new double[] {gc, gcSkew, atSkew};
+    }
+
+    @Test
+    void incrementalWindowsMatchRecountedWindows() {
+        String sequence = random(51, 5_003);
+        for (int[] shape : new int[][] {{100, 37}, {100, 100}, {100, 250}, {1, 1}}) {
+            SkewProfile.Profile profile = new SkewProfile(shape[0], shape[1]).compute(sequence);
+
+            assertEquals((sequence.length() - shape[0]) / shape[1] + 1, profile.size());
+            double cumulative = 0.0;
+            for (int w = 0; w < profile.size(); w++) {
+                int start = w * shape[1];
+                double[] expected = window(sequence, start, start + shape[0]);
+                cumulative += expected[1];
+
+                assertEquals(start, profile.getWindowStarts()[w]);
+                assertEquals(expected[0], profile.getGcPercentage()[w], 1e-9);
+                assertEquals(expected[1], profile.getGcSkew()[w], 1e-9);
+                assertEquals(expected[2], profile.getAtSkew()[w], 1e-9);
+                assertEquals(cumulative, profile.getCumulativeGcSkew()[w], 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void shortSequencesFormASingleWindow() {
+        SkewProfile.Profile profile = new SkewProfile(1000, 500).compute("GGGC");
+
+        assertEquals(1, profile.size());
+        assertEquals(100.0, profile.getGcPercentage()[0]);
+        assertEquals(0.5, profile.getGcSkew()[0]);
+        assertEquals(0, new SkewProfile(1000, 500).compute("").size());
+    }
+
+    @Test
+    void ambiguousWindowsReportZero() {
+        SkewProfile.Profile profile = new SkewProfile(4, 4).compute("NNNNACGT");
+
+        assertArrayEquals(new double[] {0.0, 50.0}, profile.getGcPercentage());
+        assertArrayEquals(new double[] {0.0, 0.0}, profile.getAtSkew());
+    }
+
+    @Test
+    void rejectsNonPositiveShapes() {
+        assertThrows(IllegalArgumentException.class, () -> new SkewProfile(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SkewProfile(1, 0));
+    }
+}
@@ -0,0 +1,62 @@
+package master.ucaldas.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SuffixArrayTest {
+
+    private static int[] naive(int[] text) {
+        Integer[] suffixes = new Integer[text.length];
+        for (int i = 0; i < text.length; i++) {
+            suffixes[i] = i;
+        }
+        Arrays.sort(suffixes, (a, b) -> Arrays.compare(text, a, text.length, text, b, text.length));
+        return Arrays.stream(suffixes).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] terminated(int[] symbols) {
+        int[] text = Arrays.copyOf(symbols, symbols.length + 1);
+        text[symbols.length] = 0;
+        return text;
+    }
+
+    @Test
+    void matchesNaiveSortingOnRandomTexts() {
+        Random random = new Random(31);
+        for (int round = 0; round < 50; round++) {
+            int alphabet = 1 + random.nextInt(5);
+            int[] symbols = new int[1 + random.nextInt(400)];
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = 1 + random.nextInt(alphabet);
+            }
+            int[] text = terminated(symbols);
+
+            assertArrayEquals(naive(text), SuffixArray.build(text, alphabet + 1));
+        }
+    }
+
+    @Test
+    void handlesRepetitiveTextsThatRecurse() {
+        int[] periodic = new int[999];
+        for (int i = 0; i < periodic.length; i++) {
+            periodic[i] = 1 + (i % 3 == 2 ? 1 : 0);
+        }
+        int[] run = new int[500];
+        Arrays.fill(run, 4);
+
+        assertArrayEquals(naive(terminated(periodic)), SuffixArray.build(terminated(periodic), 3));
+        assertArrayEquals(naive(terminated(run)), SuffixArray.build(terminated(run), 5));
+    }
+
+    @Test
+    void requiresTheSentinel() {
+        assertArrayEquals(new int[] {0}, SuffixArray.build(new int[] {0}, 1));
+        assertThrows(IllegalArgumentException.class, () -> SuffixArray.build(new int[] {1, 2}, 3));
+        assertThrows(IllegalArgumentException.class, () -> SuffixArray.build(new int[0], 1));
+    }
+}
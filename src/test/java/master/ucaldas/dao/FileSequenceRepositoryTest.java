@@ -0,0 +1,188 @@
+package master.ucaldas.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.model.PackedSequence;
+import master.ucaldas.model.SequenceSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSequenceRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storesAndFindsSequencesByName() {
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            assertTrue(repository.isAvailable());
+            assertTrue(repository.insert(sequence("seq1", "ACGTNNACGT")));
+
+            GeneticSequence found = repository.findByName("seq1");
+            assertNotNull(found);
+            assertTrue(found.isSequenceLoaded());
+            assertEquals("ACGTNNACGT", found.getSequence());
+            assertEquals("DNA", found.getType());
+            assertNull(repository.findByName("otra"));
+            assertEquals(1, repository.count());
+        }
+    }
+
+    @Test
+    void matchesNamesIgnoringCaseLikeTheDatabase() {
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            assertTrue(repository.insert(sequence("Gen-Alpha", "ACGT")));
+
+            assertEquals("Gen-Alpha", repository.findByName("gen-ALPHA").getName());
+            BatchInsertResult duplicate = repository.insertBatch(List.of(sequence("GEN-alpha", "TTTT")));
+            assertEquals(0, duplicate.getInserted());
+            assertEquals(1, duplicate.getFailedCount());
+
+            Map<String, GeneticSequence> found = repository.findByNames(List.of("GEN-ALPHA", "falta"));
+            assertEquals(1, found.size());
+            assertEquals("ACGT", found.get("gen-alpha").getSequence());
+        }
+    }
+
+    @Test
+    void isolatesFailuresToTheirOwnRow() {
+        GeneticSequence broken = new GeneticSequence("rota", null, "DNA", "ACGT") {
+            @Override
+            public PackedSequence getBases() {
+                throw new IllegalStateException("contenido ilegible");
+            }
+        };
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            BatchInsertResult result = repository.insertBatch(List.of(
+                    sequence("a", "AAAA"), broken, sequence("b", "CCCC"), sequence("a", "GGGG")));
+
+            assertEquals(2, result.getInserted());
+            assertEquals(2, result.getFailedCount());
+            assertEquals("CCCC", repository.findByName("b").getSequence());
+            assertEquals(List.of("a", "b"), names(repository));
+        }
+        try (FileSequenceRepository reopened = new FileSequenceRepository(directory)) {
+            assertEquals(2, reopened.count());
+            assertEquals(List.of("a", "b"), names(reopened));
+        }
+    }
+
+    @Test
+    void growsTheIndexInPlaceAndReopens() {
+        List<GeneticSequence> batch = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            batch.add(sequence("s" + i, "ACGT".repeat(1 + i % 7)));
+        }
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            assertEquals(1500, repository.insertBatch(batch).getInserted());
+            assertEquals("ACGT".repeat(1 + 1234 % 7), repository.findByName("S1234").getSequence());
+        }
+        try (FileSequenceRepository reopened = new FileSequenceRepository(directory)) {
+            assertEquals(1500, reopened.count());
+            for (int i = 0; i < 1500; i += 97) {
+                assertNotNull(reopened.findByName("s" + i), "s" + i);
+            }
+        }
+    }
+
+    @Test
+    void deleteAllEmptiesTheRepositoryAndKeepsIdsIncreasing() {
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            GeneticSequence first = sequence("x", "ACGT");
+            repository.insert(first);
+            assertTrue(repository.deleteAll());
+            assertEquals(0, repository.count());
+            assertNull(repository.findByName("x"));
+
+            GeneticSequence second = sequence("x", "TTTT");
+            assertTrue(repository.insert(second));
+            assertTrue(second.getId() > first.getId());
+            assertEquals("TTTT", repository.findByName("x").getSequence());
+        }
+    }
+
+    @Test
+    void streamFailsInsteadOfReadingAfterDeleteAll() {
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            repository.insertBatch(List.of(sequence("a", "AAAA"), sequence("b", "CCCC")));
+            try (Stream<GeneticSequence> sequences = repository.streamAll()) {
+                Iterator<GeneticSequence> iterator = sequences.iterator();
+                assertEquals("a", iterator.next().getName());
+                repository.deleteAll();
+                repository.insert(sequence("c", "GGGGGGGGGGGGGGGG"));
+                assertThrows(IllegalStateException.class, iterator::hasNext);
+            }
+        }
+    }
+
+    @Test
+    void streamsByTypeAndSummariesInInsertionOrder() {
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            repository.insertBatch(List.of(sequence("d1", "ACGT"), new GeneticSequence("r1", "prueba", "RNA", "ACGU"),
+                    sequence("d2", "GGGGCC"), new GeneticSequence("r2", "prueba", "RNA", "UUUU")));
+
+            try (Stream<GeneticSequence> rna = repository.streamByType("RNA")) {
+                assertEquals(List.of("r1", "r2"), rna.map(GeneticSequence::getName).toList());
+            }
+            try (Stream<SequenceSummary> summaries = repository.streamSummariesByType("DNA")) {
+                assertEquals(List.of(4, 6), summaries.map(SequenceSummary::getLength).toList());
+            }
+            assertEquals(List.of("d1", "r1", "d2", "r2"), names(repository));
+            assertEquals(2, repository.findByType("DNA").size());
+            assertEquals(4, repository.findAll().size());
+        }
+    }
+
+    @Test
+    void lazyDetailAnswersMetadataWithoutReadingTheBody() {
+        try (FileSequenceRepository repository = new FileSequenceRepository(directory)) {
+            repository.insert(sequence("a", "ACGTNNACGT"));
+            GeneticSequence lazy = repository.findLazyByName("A");
+
+            SequenceSummary summary = SequenceSummary.of(lazy);
+            assertEquals("a", summary.getName());
+            assertEquals(10, summary.getLength());
+            assertNotNull(summary.getDigest());
+            assertFalse(lazy.isSequenceLoaded());
+
+            assertEquals("ACGTNNACGT", lazy.getSequence());
+            assertTrue(lazy.isSequenceLoaded());
+            assertEquals(summary.getDigest(), lazy.getDigest());
+        }
+    }
+
+    @Test
+    void lazyBodyIsNotReadFromAClosedRepository() {
+        FileSequenceRepository repository = new FileSequenceRepository(directory);
+        repository.insert(sequence("a", "ACGT"));
+        GeneticSequence lazy = repository.findLazyByName("a");
+        repository.close();
+
+        assertFalse(repository.isAvailable());
+        assertFalse(lazy.isSequenceLoaded());
+        assertThrows(IllegalStateException.class, lazy::getSequence);
+    }
+
+    private static List<String> names(SequenceRepository repository) {
+        try (Stream<GeneticSequence> sequences = repository.streamAll()) {
+            return sequences.map(GeneticSequence::getName).toList();
+        }
+    }
+
+    private static GeneticSequence sequence(String name, String bases) {
+        return new GeneticSequence(name, "prueba", "DNA", bases);
+    }
+}
@@ -0,0 +1,455 @@
+package master.ucaldas.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.singleton.Configuration;
+import master.ucaldas.singleton.DatabaseConnection;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SequenceDAOTest {
+    private static final String URL = "jdbc:fake:genetic_sequences";
+    private static final FakeDatabase DATABASE = new FakeDatabase();
+
+    @BeforeAll
+    static void registerFakeDriver() throws SQLException {
+        DriverManager.registerDriver(DATABASE);
+        Configuration.getInstance().setProperty("db.url", URL);
+    }
+
+    @BeforeEach
+    void emptyTheTable() {
+        DATABASE.reset();
+    }
+
+    @Test
+    void insertsABatchInOneTransaction() {
+        SequenceDAO dao = new SequenceDAO();
+        List<GeneticSequence> sequences = List.of(sequence("a", "ACGT"), sequence("b", "CCGG"), sequence("c", "TTAA"));
+
+        BatchInsertResult result = dao.insertBatch(sequences);
+
+        assertEquals(3, result.getInserted());
+        assertEquals(0, result.getFailedCount());
+        assertEquals(1, DATABASE.batches);
+        assertEquals(1, DATABASE.commits);
+        assertEquals(0, DATABASE.savepoints);
+        assertEquals(List.of(1, 2, 3), sequences.stream().map(GeneticSequence::getId).toList());
+        assertEquals(List.of("a", "b", "c"), DATABASE.names());
+    }
+
+    @Test
+    void replaysARejectedBatchRowByRowBehindSavepoints() {
+        SequenceDAO dao = new SequenceDAO();
+        assertTrue(dao.insert(sequence("dup", "GGGG")));
+        List<GeneticSequence> sequences = List.of(sequence("a", "ACGT"), sequence("DUP", "CCCC"), sequence("b", "TTTT"));
+
+        BatchInsertResult result = dao.insertBatch(sequences);
+
+        assertEquals(2, result.getInserted());
+        assertEquals(1, result.getFailedCount());
+        assertTrue(result.getFailures().get(0).contains("DUP"), result.getFailures().get(0));
+        assertEquals(3, DATABASE.savepoints);
+        assertEquals(1, DATABASE.savepointRollbacks);
+        assertNotNull(sequences.get(0).getId());
+        assertNull(sequences.get(1).getId());
+        assertNotNull(sequences.get(2).getId());
+        assertEquals(List.of("dup", "a", "b"), DATABASE.names());
+        assertEquals("ACGT", dao.findAll().get(1).getSequence());
+    }
+
+    @Test
+    void streamsRowsLazilyFromAForwardOnlyCursor() {
+        SequenceDAO dao = new SequenceDAO();
+        dao.insertBatch(List.of(sequence("a", "ACGT"), sequence("b", "CCGG"), sequence("c", "TTAA")));
+
+        try (Stream<GeneticSequence> sequences = dao.streamAll()) {
+            Iterator<GeneticSequence> iterator = sequences.iterator();
+            assertEquals("a", iterator.next().getName());
+
+            assertEquals(1, DATABASE.rowsRead);
+            assertEquals(1, DATABASE.openCursors);
+            assertEquals(ResultSet.TYPE_FORWARD_ONLY, DATABASE.cursorType);
+            assertEquals(ResultSet.CONCUR_READ_ONLY, DATABASE.cursorConcurrency);
+            assertEquals(Configuration.getInstance().getFetchSize(), DATABASE.fetchSize);
+        }
+
+        assertEquals(0, DATABASE.openCursors);
+        assertEquals(0, DatabaseConnection.getInstance().getPoolMetrics().active());
+    }
+
+    @Test
+    void streamsByTypeInIdOrder() {
+        SequenceDAO dao = new SequenceDAO();
+        dao.insertBatch(List.of(sequence("d1", "ACGT"), new GeneticSequence("r1", "prueba", "RNA", "ACGU"),
+                sequence("d2", "GGCC"), new GeneticSequence("r2", "prueba", "RNA", "UUUU")));
+
+        try (Stream<GeneticSequence> sequences = dao.streamByType("RNA")) {
+            assertEquals(List.of("r1", "r2"), sequences.map(GeneticSequence::getName).toList());
+        }
+        assertEquals(0, DATABASE.openCursors);
+    }
+
+    private static GeneticSequence sequence(String name, String bases) {
+        return new GeneticSequence(name, "prueba", "DNA", bases);
+    }
+
+    /**
+     * In-memory stand-in for the genetic_sequences table behind a JDBC driver built from
+     * dynamic proxies. It understands the statements SequenceDAO issues: inserts by column
+     * list, selects filtered by name or type, counts and deletes, with transactions and
+     * savepoints over the uncommitted rows. Names are unique ignoring case, like the column.
+     */
+    private static final class FakeDatabase implements Driver {
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private int nextId;
+        private int batches;
+        private int commits;
+        private int savepoints;
+        private int savepointRollbacks;
+        private int rowsRead;
+        private int openCursors;
+        private int cursorType;
+        private int cursorConcurrency;
+        private int fetchSize;
+
+        synchronized void reset() {
+            rows.clear();
+            nextId = 1;
+            batches = 0;
+            commits = 0;
+            savepoints = 0;
+            savepointRollbacks = 0;
+            rowsRead = 0;
+            openCursors = 0;
+            cursorType = 0;
+            cursorConcurrency = 0;
+            fetchSize = 0;
+        }
+
+        synchronized List<String> names() {
+            return rows.stream().map(row -> (String) row.get("name")).toList();
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            return acceptsURL(url) ? new FakeConnection().proxy : null;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return URL.equals(url);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        private final class FakeConnection {
+            private final List<Map<String, Object>> pending = new ArrayList<>();
+            private boolean autoCommit = true;
+            private boolean closed;
+            private final Connection proxy = proxy(Connection.class, (self, method, args) -> switch (method.getName()) {
+                case "prepareStatement" -> {
+                    if (args.length == 3) {
+                        synchronized (FakeDatabase.this) {
+                            cursorType = (Integer) args[1];
+                            cursorConcurrency = (Integer) args[2];
+                        }
+                    }
+                    yield new FakeStatement(this, (String) args[0]).proxy;
+                }
+                case "createStatement" -> new FakeStatement(this, null).proxy;
+                case "setAutoCommit" -> {
+                    autoCommit = (Boolean) args[0];
+                    yield null;
+                }
+                case "getAutoCommit" -> autoCommit;
+                case "commit" -> {
+                    commit();
+                    yield null;
+                }
+                case "rollback" -> {
+                    rollback(args == null ? null : (Savepoint) args[0]);
+                    yield null;
+                }
+                case "setSavepoint" -> savepoint();
+                case "isValid" -> !closed;
+                case "isClosed" -> closed;
+                case "close" -> {
+                    closed = true;
+                    yield null;
+                }
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                default -> defaultValue(method.getReturnType());
+            });
+
+            private void commit() {
+                synchronized (FakeDatabase.this) {
+                    rows.addAll(pending);
+                    commits++;
+                }
+                pending.clear();
+            }
+
+            private void rollback(Savepoint savepoint) throws SQLException {
+                if (savepoint == null) {
+                    pending.clear();
+                    return;
+                }
+                pending.subList(savepoint.getSavepointId(), pending.size()).clear();
+                synchronized (FakeDatabase.this) {
+                    savepointRollbacks++;
+                }
+            }
+
+            private Savepoint savepoint() {
+                int mark = pending.size();
+                synchronized (FakeDatabase.this) {
+                    savepoints++;
+                }
+                return proxy(Savepoint.class, (self, method, args) ->
+                        "getSavepointId".equals(method.getName()) ? mark : defaultValue(method.getReturnType()));
+            }
+
+            private int insert(String sql, Map<Integer, Object> parameters) throws SQLException {
+                String[] columns = sql.substring(sql.indexOf('(') + 1, sql.indexOf(')')).split(",\\s*");
+                Map<String, Object> row = new HashMap<>();
+                for (int i = 0; i < columns.length; i++) {
+                    row.put(columns[i], parameters.get(i + 1));
+                }
+                String name = (String) row.get("name");
+                synchronized (FakeDatabase.this) {
+                    for (Map<String, Object> existing : rows) {
+                        if (name.equalsIgnoreCase((String) existing.get("name"))) {
+                            throw new SQLIntegrityConstraintViolationException("Duplicate entry '" + name + "' for key 'name'");
+                        }
+                    }
+                    for (Map<String, Object> existing : pending) {
+                        if (name.equalsIgnoreCase((String) existing.get("name"))) {
+                            throw new SQLIntegrityConstraintViolationException("Duplicate entry '" + name + "' for key 'name'");
+                        }
+                    }
+                    row.put("id", nextId++);
+                    row.put("creation_date", new Timestamp(System.currentTimeMillis()));
+                    if (autoCommit) {
+                        rows.add(row);
+                    } else {
+                        pending.add(row);
+                    }
+                }
+                return (Integer) row.get("id");
+            }
+
+            private List<Map<String, Object>> select(String sql, Map<Integer, Object> parameters) {
+                Predicate<Map<String, Object>> filter = row -> true;
+                if (sql.contains("WHERE name IN")) {
+                    filter = row -> parameters.values().stream()
+                            .anyMatch(name -> ((String) name).equalsIgnoreCase((String) row.get("name")));
+                } else if (sql.contains("WHERE name = ?")) {
+                    filter = row -> ((String) parameters.get(1)).equalsIgnoreCase((String) row.get("name"));
+                } else if (sql.contains("WHERE type = ?")) {
+                    filter = row -> parameters.get(1).equals(row.get("type"));
+                } else if (sql.contains("WHERE id = ?")) {
+                    filter = row -> parameters.get(1).equals(row.get("id"));
+                }
+                synchronized (FakeDatabase.this) {
+                    if (sql.contains("COUNT(*)")) {
+                        return List.of(Map.of("total", rows.size()));
+                    }
+                    return rows.stream().filter(filter).toList();
+                }
+            }
+        }
+
+        private final class FakeStatement {
+            private final FakeConnection connection;
+            private final String preparedSql;
+            private final Map<Integer, Object> parameters = new HashMap<>();
+            private final List<Map<Integer, Object>> batch = new ArrayList<>();
+            private final List<Integer> generatedKeys = new ArrayList<>();
+            private final Statement proxy;
+
+            FakeStatement(FakeConnection connection, String preparedSql) {
+                this.connection = connection;
+                this.preparedSql = preparedSql;
+                Class<? extends Statement> type = preparedSql != null ? PreparedStatement.class : Statement.class;
+                this.proxy = proxy(type, (self, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length == 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, "setNull".equals(name) ? null : args[1]);
+                        return null;
+                    }
+                    return switch (name) {
+                        case "addBatch" -> {
+                            batch.add(new HashMap<>(parameters));
+                            yield null;
+                        }
+                        case "clearBatch" -> {
+                            batch.clear();
+                            yield null;
+                        }
+                        case "executeBatch" -> executeBatch();
+                        case "executeUpdate" -> executeUpdate(args == null ? preparedSql : (String) args[0]);
+                        case "setFetchSize" -> {
+                            synchronized (FakeDatabase.this) {
+                                fetchSize = (Integer) args[0];
+                            }
+                            yield null;
+                        }
+                        case "executeQuery" -> cursor(connection.select(args == null ? preparedSql : (String) args[0], parameters), true);
+                        case "getGeneratedKeys" -> cursor(generatedKeys.stream().map(id -> Map.<String, Object>of("id", id)).toList(), false);
+                        case "hashCode" -> System.identityHashCode(self);
+                        case "equals" -> self == args[0];
+                        default -> defaultValue(method.getReturnType());
+                    };
+                });
+            }
+
+            private int[] executeBatch() throws SQLException {
+                synchronized (FakeDatabase.this) {
+                    batches++;
+                }
+                generatedKeys.clear();
+                int[] counts = new int[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        generatedKeys.add(connection.insert(preparedSql, batch.get(i)));
+                        counts[i] = 1;
+                    } catch (SQLException e) {
+                        throw new BatchUpdateException(e.getMessage(), counts, e);
+                    }
+                }
+                batch.clear();
+                return counts;
+            }
+
+            private int executeUpdate(String sql) throws SQLException {
+                if (sql.startsWith("DELETE")) {
+                    synchronized (FakeDatabase.this) {
+                        int deleted = rows.size();
+                        rows.clear();
+                        return deleted;
+                    }
+                }
+                generatedKeys.clear();
+                generatedKeys.add(connection.insert(sql, parameters));
+                return 1;
+            }
+        }
+
+        private ResultSet cursor(List<Map<String, Object>> rows, boolean query) {
+            int[] cursor = {-1};
+            Object[] last = {null};
+            boolean[] closed = {false};
+            synchronized (this) {
+                openCursors++;
+            }
+            return proxy(ResultSet.class, (self, method, args) -> {
+                String name = method.getName();
+                if ("next".equals(name)) {
+                    boolean found = ++cursor[0] < rows.size();
+                    if (found && query) {
+                        synchronized (this) {
+                            rowsRead++;
+                        }
+                    }
+                    return found;
+                }
+                if ("close".equals(name)) {
+                    synchronized (this) {
+                        openCursors -= closed[0] ? 0 : 1;
+                        closed[0] = true;
+                    }
+                    return null;
+                }
+                if ("wasNull".equals(name)) {
+                    return last[0] == null;
+                }
+                if (!name.startsWith("get") || args == null || args.length != 1) {
+                    return defaultValue(method.getReturnType());
+                }
+                Map<String, Object> row = rows.get(cursor[0]);
+                Object value = args[0] instanceof Integer index ? row.values().toArray()[index - 1] : row.get((String) args[0]);
+                last[0] = value;
+                return switch (name) {
+                    case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                    case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                    case "getString" -> value == null ? null : value.toString();
+                    case "getBinaryStream" -> value == null ? null : new ByteArrayInputStream((byte[]) value);
+                    default -> value;
+                };
+            });
+        }
+    }
+}
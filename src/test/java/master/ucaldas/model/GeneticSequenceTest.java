@@ -0,0 +1,68 @@
+package master.ucaldas.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class GeneticSequenceTest {
+
+    @Test
+    void lazyBodyLoadsOnceOnFirstUse() {
+        AtomicInteger loads = new AtomicInteger();
+        GeneticSequence sequence = new GeneticSequence();
+        sequence.setName("lazy");
+        sequence.setLazySequence(8, () -> {
+            loads.incrementAndGet();
+            return "ACGTACGT";
+        });
+
+        assertEquals(8, sequence.getLength());
+        assertFalse(sequence.isSequenceLoaded());
+        assertEquals(0, loads.get());
+
+        assertEquals("ACGTACGT", sequence.getSequence());
+        assertTrue(sequence.getValidation().isValid());
+        assertTrue(sequence.isSequenceLoaded());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void storedDigestIsAnsweredWithoutLoading() {
+        SequenceDigest digest = SequenceDigest.of("ACGT");
+        GeneticSequence sequence = new GeneticSequence();
+        sequence.setLazySequence(4, () -> {
+            throw new AssertionError("no debería cargarse");
+        });
+        sequence.setDigest(digest);
+
+        assertEquals(digest, sequence.getDigest());
+        assertFalse(sequence.isSequenceLoaded());
+    }
+
+    @Test
+    void failedLoadsSurfaceAsIllegalState() {
+        GeneticSequence sequence = new GeneticSequence();
+        sequence.setName("perdida");
+        sequence.setLazySequence(4, () -> null);
+
+        assertThrows(IllegalStateException.class, sequence::getBases);
+        assertFalse(sequence.isSequenceLoaded());
+    }
+
+    @Test
+    void replacingTheBodyResetsTheDigest() {
+        GeneticSequence sequence = new GeneticSequence("s", null, "DNA", "ACGT");
+        SequenceDigest before = sequence.getDigest();
+
+        sequence.setSequence("TTTT");
+
+        assertEquals(SequenceDigest.of("TTTT"), sequence.getDigest());
+        assertNotEquals(before, sequence.getDigest());
+    }
+}
@@ -0,0 +1,56 @@
+package master.ucaldas.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+class PackedSequenceCodecTest {
+
+    @Test
+    void roundTripsPackedDnaWithExceptionsAndLowerCase() throws IOException {
+        String text = ("ACGTACGTACGTNNNNACGTacgtACGTACGTACGTACGTACGTRACGT" + "T".repeat(40)).repeat(3);
+        PackedSequence sequence = PackedSequence.of(text);
+        assertTrue(sequence.isPacked());
+
+        byte[] encoded = PackedSequenceCodec.encode(sequence);
+        assertTrue(encoded.length < text.length());
+        assertEquals(text, decode(encoded).toString());
+    }
+
+    @Test
+    void roundTripsRna() throws IOException {
+        String text = "ACGUACGUUUGGCCAA".repeat(8);
+        assertEquals(text, decode(PackedSequenceCodec.encode(PackedSequence.of(text))).toString());
+    }
+
+    @Test
+    void roundTripsUnpackableTextThroughDeflate() throws IOException {
+        String text = "MKVLAAGIVGLLLAQWERTYPASDFGHKLCVNM".repeat(50);
+        PackedSequence sequence = PackedSequence.of(text);
+        assertFalse(sequence.isPacked());
+
+        byte[] encoded = PackedSequenceCodec.encode(sequence);
+        for (int i = 0; i < 200; i++) {
+            assertEquals(text, decode(encoded).toString());
+        }
+    }
+
+    @Test
+    void rejectsChecksumMismatch() {
+        byte[] encoded = PackedSequenceCodec.encode(PackedSequence.of("ACGT".repeat(40)));
+        long checksum = PackedSequenceCodec.checksum(encoded);
+        encoded[encoded.length / 2] ^= 1;
+        assertThrows(IOException.class,
+                () -> PackedSequenceCodec.read(new ByteArrayInputStream(encoded), checksum));
+    }
+
+    private static PackedSequence decode(byte[] encoded) throws IOException {
+        return PackedSequenceCodec.read(new ByteArrayInputStream(encoded), PackedSequenceCodec.checksum(encoded));
+    }
+}
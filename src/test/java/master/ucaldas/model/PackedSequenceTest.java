@@ -0,0 +1,38 @@
+package master.ucaldas.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PackedSequenceTest {
+
+    @Test
+    void exceptionPositionsHoldCodeZero() {
+        PackedSequence packed = PackedSequence.of("TTNNTTRT" + "T".repeat(56));
+        long word = packed.word(0);
+        assertEquals(0, (word >>> 4) & 0xF);
+        assertEquals(0, (word >>> 12) & 3);
+        assertEquals(-1, packed.code(2));
+        assertEquals(-1, packed.code(6));
+        assertEquals(3, packed.code(0));
+    }
+
+    @Test
+    void roundTripsMixedCaseText() {
+        String text = "acgtACGTNnRy".repeat(10);
+        assertEquals(text, PackedSequence.of(text).toString());
+    }
+
+    @Test
+    void countMatchesAgreesWithCharacterComparison() {
+        String left = "ACGTNNACGTACGTACGTACGTACGTACGTACGTAC";
+        String right = "ACGANNACGTRCGTACGTACGTACGTACGTACGTTC";
+        int expected = 0;
+        for (int i = 0; i < left.length(); i++) {
+            if (left.charAt(i) == right.charAt(i)) {
+                expected++;
+            }
+        }
+        assertEquals(expected, PackedSequence.of(left).countMatches(PackedSequence.of(right)));
+    }
+}
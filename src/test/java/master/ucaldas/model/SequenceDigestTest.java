@@ -0,0 +1,66 @@
+package master.ucaldas.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SequenceDigestTest {
+
+    private static String truncatedSha256(String text) throws NoSuchAlgorithmException {
+        boolean latin1 = text.chars().allMatch(c -> c <= 0xFF);
+        byte[] bytes = text.getBytes(latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+        return HexFormat.of().formatHex(hash, 0, 16);
+    }
+
+    private static String random(long seed, int length) {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("ACGTacgtN".charAt(random.nextInt(9)));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void isTheTruncatedSha256OfTheText() throws NoSuchAlgorithmException {
+        for (String text : new String[] {"", "ACGT", random(81, 200_000), "MKVÜ", "AC中GT"}) {
+            assertEquals(truncatedSha256(text), SequenceDigest.of(text).toHex());
+        }
+    }
+
+    @Test
+    void packedAndRawFormsAgree() {
+        String text = random(82, 100_000);
+        PackedSequence packed = PackedSequence.of(text);
+
+        assertEquals(SequenceDigest.of(text), SequenceDigest.of(packed));
+        assertEquals(SequenceDigest.of(text), new GeneticSequence("s", null, "DNA", text).getDigest());
+    }
+
+    @Test
+    void distinguishesCaseAndSingleBaseChanges() {
+        assertNotEquals(SequenceDigest.of("ACGT"), SequenceDigest.of("acgt"));
+        assertNotEquals(SequenceDigest.of("ACGTACGT"), SequenceDigest.of("ACGTACGA"));
+    }
+
+    @Test
+    void roundTripsThroughHex() {
+        SequenceDigest digest = SequenceDigest.of("ACGTACGT");
+
+        assertEquals(32, digest.toHex().length());
+        assertEquals(digest, SequenceDigest.fromHex(digest.toHex()));
+        assertEquals(digest.hashCode(), SequenceDigest.fromHex(digest.toHex()).hashCode());
+        assertThrows(IllegalArgumentException.class, () -> SequenceDigest.fromHex("abc"));
+        assertThrows(IllegalArgumentException.class, () -> SequenceDigest.fromHex("z".repeat(32)));
+        assertThrows(IllegalArgumentException.class, () -> SequenceDigest.fromHex(null));
+    }
+}
@@ -0,0 +1,50 @@
+package master.ucaldas.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import master.ucaldas.model.SequenceValidation.Alphabet;
+import org.junit.jupiter.api.Test;
+
+class SequenceValidatorTest {
+
+    @Test
+    void detectsTheNarrowestAlphabet() {
+        assertEquals(Alphabet.DNA, SequenceValidator.validate("ACGTNacgtRY").getAlphabet());
+        assertEquals(Alphabet.RNA, SequenceValidator.validate("ACGUNacgu").getAlphabet());
+        assertEquals(Alphabet.PROTEIN, SequenceValidator.validate("MKVLAAGIEQ").getAlphabet());
+        assertEquals(Alphabet.MIXED, SequenceValidator.validate("ACGTU").getAlphabet());
+    }
+
+    @Test
+    void reportsInvalidPositions() {
+        SequenceValidation validation = SequenceValidator.validate("AC*GT#");
+        assertFalse(validation.isValid());
+        assertEquals(2, validation.getInvalidCount());
+        assertArrayEquals(new int[]{2, 5}, validation.getInvalidPositions());
+        assertEquals(2, validation.getFirstInvalidPosition());
+    }
+
+    @Test
+    void capsReportedPositionsButCountsAll() {
+        String text = "A" + "*".repeat(SequenceValidation.MAX_REPORTED_POSITIONS + 10);
+        SequenceValidation validation = SequenceValidator.validate(text);
+        assertEquals(SequenceValidation.MAX_REPORTED_POSITIONS + 10, validation.getInvalidCount());
+        assertEquals(SequenceValidation.MAX_REPORTED_POSITIONS, validation.getInvalidPositions().length);
+    }
+
+    @Test
+    void packedAndTextValidationAgree() {
+        String text = "ACGT".repeat(40) + "NNNN" + "acgt".repeat(10) + "**" + "ACGT".repeat(20) + "R";
+        PackedSequence packed = PackedSequence.of(text);
+        assertTrue(packed.isPacked());
+
+        SequenceValidation fromPacked = SequenceValidator.validate(packed);
+        SequenceValidation fromText = SequenceValidator.validate(text);
+        assertEquals(fromText.getAlphabet(), fromPacked.getAlphabet());
+        assertEquals(fromText.getInvalidCount(), fromPacked.getInvalidCount());
+        assertArrayEquals(fromText.getInvalidPositions(), fromPacked.getInvalidPositions());
+    }
+}
@@ -0,0 +1,131 @@
+package master.ucaldas.proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import master.ucaldas.model.AnalysisResult;
+import master.ucaldas.model.GeneticSequence;
+import master.ucaldas.singleton.Configuration;
+import master.ucaldas.strategy.IAnalysisStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class AnalysisProxyTest {
+
+    private static final class CountingAnalysis implements IAnalysisStrategy {
+        private final String signature = UUID.randomUUID().toString();
+        private final AtomicInteger executions = new AtomicInteger();
+        private final long delayMillis;
+        private final boolean failFirst;
+
+        CountingAnalysis(long delayMillis, boolean failFirst) {
+            this.delayMillis = delayMillis;
+            this.failFirst = failFirst;
+        }
+
+        @Override
+        public AnalysisResult execute(GeneticSequence... sequences) {
+            int execution = executions.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failFirst && execution == 1) {
+                throw new IllegalStateException("fallo simulado");
+            }
+            AnalysisResult result = new AnalysisResult(getAnalysisType());
+            result.addData("sequence_name", sequences[0].getName());
+            return result;
+        }
+
+        @Override
+        public String getAnalysisType() {
+            return "Prueba";
+        }
+
+        @Override
+        public String getParameterSignature() {
+            return signature;
+        }
+    }
+
+    @BeforeAll
+    static void disableDiskCache() {
+        Configuration.getInstance().setProperty("cache.disk.enabled", "false");
+    }
+
+    private static GeneticSequence sequence(String name) {
+        return new GeneticSequence(name, null, "DNA", "ACGTACGTACGTACGTACGT");
+    }
+
+    @Test
+    void concurrentIdenticalRequestsRunTheAnalysisOnce() throws Exception {
+        CountingAnalysis analysis = new CountingAnalysis(200, false);
+        AnalysisProxy proxy = new AnalysisProxy(analysis);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<AnalysisResult>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return proxy.execute(sequence("s"));
+                }));
+            }
+            start.countDown();
+            AnalysisResult first = futures.get(0).get();
+            for (Future<AnalysisResult> future : futures) {
+                assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, analysis.executions.get());
+    }
+
+    @Test
+    void identicalContentIsServedFromCacheUnderTheCallersName() {
+        CountingAnalysis analysis = new CountingAnalysis(0, false);
+        AnalysisProxy proxy = new AnalysisProxy(analysis);
+
+        proxy.execute(sequence("original"));
+        AnalysisResult copy = proxy.execute(sequence("copia"));
+
+        assertEquals(1, analysis.executions.get());
+        assertEquals("copia", copy.getData("sequence_name"));
+        assertEquals("original", proxy.execute(sequence("original")).getData("sequence_name"));
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        CountingAnalysis analysis = new CountingAnalysis(0, true);
+        AnalysisProxy proxy = new AnalysisProxy(analysis);
+
+        assertThrows(IllegalStateException.class, () -> proxy.execute(sequence("s")));
+        assertEquals("s", proxy.execute(sequence("s")).getData("sequence_name"));
+        assertEquals(2, analysis.executions.get());
+    }
+
+    @Test
+    void rejectsInvalidOrShortSequences() {
+        AnalysisProxy proxy = new AnalysisProxy(new CountingAnalysis(0, false));
+
+        assertThrows(IllegalArgumentException.class, () -> proxy.execute());
+        assertThrows(IllegalArgumentException.class,
+                () -> proxy.execute(new GeneticSequence("corta", null, "DNA", "ACGT")));
+        assertThrows(IllegalArgumentException.class,
+                () -> proxy.execute(new GeneticSequence("mala", null, "DNA", "ACGTACGTAC#GTACGT")));
+    }
+}
@@ -0,0 +1,181 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import master.ucaldas.model.GeneticSequence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BGZFFileTest {
+
+    @TempDir
+    Path directory;
+
+    // Writes data as BGZF blocks of at most blockData bytes, followed by the standard empty EOF block.
+    private static byte[] bgzf(byte[] data, int blockData) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int from = 0; from < data.length; from += blockData) {
+            writeBlock(out, Arrays.copyOfRange(data, from, Math.min(data.length, from + blockData)));
+        }
+        writeBlock(out, new byte[0]);
+        return out.toByteArray();
+    }
+
+    private static void writeBlock(ByteArrayOutputStream out, byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        byte[] compressed = new byte[data.length + 1024];
+        int length;
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            length = deflater.deflate(compressed);
+        } finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteBuffer block = ByteBuffer.allocate(18 + length + 8).order(ByteOrder.LITTLE_ENDIAN);
+        block.put(new byte[] {0x1F, (byte) 0x8B, 8, 4, 0, 0, 0, 0, 0, (byte) 0xFF, 6, 0, 'B', 'C', 2, 0});
+        block.putShort((short) (block.capacity() - 1));
+        block.put(compressed, 0, length);
+        block.putInt((int) crc.getValue());
+        block.putInt(data.length);
+        out.write(block.array(), 0, block.capacity());
+    }
+
+    private static byte[] fasta(Random random, int records, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int r = 0; r < records; r++) {
+            builder.append(">s").append(r).append('\n');
+            for (int i = 0; i < length; i++) {
+                builder.append("ACGT".charAt(random.nextInt(4)));
+                if (i % 60 == 59 || i == length - 1) {
+                    builder.append('\n');
+                }
+            }
+        }
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void detectsTheCompressionFormat() throws IOException {
+        byte[] data = "ACGT".getBytes(StandardCharsets.US_ASCII);
+        Path plain = Files.write(directory.resolve("a.fa"), data);
+        Path bgzf = Files.write(directory.resolve("a.fa.bgz"), bgzf(data, 1000));
+        Path gzip = directory.resolve("a.fa.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(data);
+        }
+
+        assertEquals(CompressionFormat.PLAIN, CompressionFormat.detect(plain));
+        assertEquals(CompressionFormat.BGZF, CompressionFormat.detect(bgzf));
+        assertEquals(CompressionFormat.GZIP, CompressionFormat.detect(gzip));
+        assertArrayEquals(data, readAll(CompressionFormat.open(gzip)));
+    }
+
+    @Test
+    void streamsBatchesOfBlocksInOrder() throws IOException {
+        byte[] data = fasta(new Random(71), 50, 6_000);
+        Path file = Files.write(directory.resolve("b.fa.gz"), bgzf(data, 1_000));
+
+        try (BGZFFile bgzf = BGZFFile.open(file)) {
+            assertEquals(data.length, bgzf.getUncompressedSize());
+            assertEquals((data.length + 999) / 1_000 + 1, bgzf.getBlockCount());
+        }
+        assertArrayEquals(data, readAll(CompressionFormat.open(file)));
+    }
+
+    @Test
+    void randomReadsCrossBlockBoundaries() throws IOException {
+        Random random = new Random(72);
+        byte[] data = fasta(random, 10, 5_000);
+        Path file = Files.write(directory.resolve("c.fa.gz"), bgzf(data, 777));
+
+        try (BGZFFile bgzf = BGZFFile.open(file)) {
+            for (int q = 0; q < 200; q++) {
+                int position = random.nextInt(data.length);
+                int length = 1 + random.nextInt(3_000);
+                byte[] buffer = new byte[length];
+
+                int read = bgzf.read(position, buffer, 0, length);
+
+                assertEquals(Math.min(length, data.length - position), read);
+                assertArrayEquals(Arrays.copyOfRange(data, position, position + read), Arrays.copyOf(buffer, read));
+            }
+            assertEquals(-1, bgzf.read(data.length, new byte[1], 0, 1));
+        }
+    }
+
+    @Test
+    void writesAndReusesTheGziTable() throws IOException {
+        byte[] data = fasta(new Random(73), 5, 4_000);
+        Path file = Files.write(directory.resolve("d.fa.gz"), bgzf(data, 1_000));
+
+        int blocks;
+        try (BGZFFile bgzf = BGZFFile.open(file)) {
+            blocks = bgzf.getBlockCount();
+        }
+        Path gzi = BGZFFile.indexPath(file);
+
+        assertEquals(8 + 16L * (blocks - 1), Files.size(gzi));
+        assertEquals(blocks - 1, ByteBuffer.wrap(Files.readAllBytes(gzi)).order(ByteOrder.LITTLE_ENDIAN).getLong(0));
+        try (BGZFFile bgzf = BGZFFile.open(file)) {
+            byte[] buffer = new byte[500];
+            bgzf.read(2_500, buffer, 0, buffer.length);
+            assertArrayEquals(Arrays.copyOfRange(data, 2_500, 3_000), buffer);
+        }
+    }
+
+    @Test
+    void rejectsBlocksWithABadChecksum() throws IOException {
+        byte[] compressed = bgzf(fasta(new Random(74), 1, 500), 1_000);
+        int firstBlock = ((compressed[16] & 0xFF) | (compressed[17] & 0xFF) << 8) + 1;
+        compressed[firstBlock - 8] ^= 1;
+        Path file = Files.write(directory.resolve("e.fa.gz"), compressed);
+
+        try (BGZFFile bgzf = BGZFFile.open(file)) {
+            assertThrows(IOException.class, () -> bgzf.read(0, new byte[10], 0, 10));
+        }
+    }
+
+    @Test
+    void parsesAndIndexesCompressedFasta() throws IOException {
+        byte[] data = fasta(new Random(75), 20, 3_000);
+        Path plain = Files.write(directory.resolve("f.fa"), data);
+        Path file = Files.write(directory.resolve("f.fa.gz"), bgzf(data, 4_000));
+
+        List<GeneticSequence> expected = MappedFASTAParser.parse(plain);
+        List<GeneticSequence> parsed = MappedFASTAParser.parse(file);
+
+        assertEquals(expected.size(), parsed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            assertEquals(expected.get(i).getDigest(), parsed.get(i).getDigest());
+        }
+        assertEquals(expected.get(7).getSequence().substring(99, 200),
+                FASTAReader.readRegion(file.toString(), "s7:100-200").getSequence());
+    }
+}
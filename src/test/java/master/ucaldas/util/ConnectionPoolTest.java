@@ -0,0 +1,128 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolTest {
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void reusesReturnedConnections() throws SQLException {
+        pool = newPool(2, 60_000);
+        try (Connection first = pool.getConnection()) {
+            assertFalse(first.isClosed());
+        }
+        try (Connection second = pool.getConnection()) {
+            assertFalse(second.isClosed());
+        }
+        assertEquals(1, opened.size());
+        assertEquals(1, pool.getMetrics().idle());
+        assertEquals(2, pool.getMetrics().borrowed());
+    }
+
+    @Test
+    void closingTheProxyReturnsInsteadOfClosing() throws SQLException {
+        pool = newPool(1, 60_000);
+        Connection connection = pool.getConnection();
+        connection.close();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        assertFalse(opened.get(0).closed.get());
+        assertThrows(SQLException.class, connection::getAutoCommit);
+        assertEquals(0, pool.getMetrics().active());
+    }
+
+    @Test
+    void timesOutWhenExhausted() throws SQLException {
+        pool = newPool(1, 60_000);
+        try (Connection held = pool.getConnection()) {
+            assertFalse(held.isClosed());
+            assertThrows(SQLException.class, pool::getConnection);
+            assertEquals(1, pool.getMetrics().timeouts());
+        }
+    }
+
+    @Test
+    void neverUnwrapsToThePhysicalConnection() throws SQLException {
+        pool = newPool(1, 60_000);
+        try (Connection connection = pool.getConnection()) {
+            assertSame(connection, connection.unwrap(Connection.class));
+            assertTrue(connection.isWrapperFor(Connection.class));
+            assertFalse(connection.isWrapperFor(FakeConnection.class));
+            assertThrows(SQLException.class, () -> connection.unwrap(FakeConnection.class));
+        }
+    }
+
+    @Test
+    void reportsLeaksWithTheBorrowersStack() throws Exception {
+        pool = newPool(1, 1);
+        Connection leaked = pool.getConnection();
+        Thread.sleep(10);
+
+        PrintStream original = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            pool.houseKeep();
+            pool.houseKeep();
+        } finally {
+            System.setErr(original);
+        }
+        String report = captured.toString(StandardCharsets.UTF_8);
+        assertTrue(report.startsWith("Posible fuga de conexión"), report);
+        assertTrue(report.contains("reportsLeaksWithTheBorrowersStack"), report);
+        assertEquals(1, pool.getMetrics().leaks());
+        leaked.close();
+    }
+
+    private ConnectionPool newPool(int maxSize, long leakThresholdMs) {
+        return new ConnectionPool(() -> {
+            FakeConnection fake = new FakeConnection();
+            opened.add(fake);
+            return fake.proxy;
+        }, 0, maxSize, 50, 60_000, leakThresholdMs);
+    }
+
+    // Connection stand-in built from a dynamic proxy, so only the methods the pool calls exist.
+    private static final class FakeConnection {
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Connection proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (self, method, args) -> switch (method.getName()) {
+                    case "close" -> {
+                        closed.set(true);
+                        yield null;
+                    }
+                    case "isClosed" -> closed.get();
+                    case "isValid", "getAutoCommit" -> true;
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> "FakeConnection";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,156 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import master.ucaldas.model.AnalysisResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsResultsBackAfterReopening() throws IOException {
+        Path file = directory.resolve("results.dat");
+        try (DiskResultStore store = DiskResultStore.open(file)) {
+            assertTrue(store.put("k1", "MOTIF", 1, result("MOTIF", 7)));
+            assertTrue(store.put("k2", "MOTIF", 1, result("MOTIF", 8)));
+            assertTrue(store.put("k1", "MOTIF", 1, result("MOTIF", 9)));
+            assertEquals(9, store.get("k1").getData("count"));
+        }
+        try (DiskResultStore reopened = DiskResultStore.open(file)) {
+            assertEquals(2, reopened.size());
+            assertEquals(9, reopened.get("k1").getData("count"));
+            assertEquals(List.of(1, 5, 9), reopened.get("k2").getData("positions"));
+            assertNull(reopened.get("falta"));
+        }
+    }
+
+    @Test
+    void refusesKeysTooLongToEncode() throws IOException {
+        try (DiskResultStore store = DiskResultStore.open(directory.resolve("results.dat"))) {
+            String longKey = "k".repeat(70_000);
+            assertFalse(store.put(longKey, "MOTIF", 1, result("MOTIF", 1)));
+            assertNull(store.get(longKey));
+            assertEquals(0, store.size());
+            assertTrue(store.put("k1", "MOTIF", 1, result("MOTIF", 2)));
+        }
+    }
+
+    @Test
+    void truncatesATornTail() throws IOException {
+        Path file = directory.resolve("results.dat");
+        long intact;
+        try (DiskResultStore store = DiskResultStore.open(file)) {
+            store.put("k1", "MOTIF", 1, result("MOTIF", 1));
+            intact = store.fileSize();
+            store.put("k2", "MOTIF", 1, result("MOTIF", 2));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (DiskResultStore reopened = DiskResultStore.open(file)) {
+            assertEquals(intact, reopened.fileSize());
+            assertEquals(1, reopened.get("k1").getData("count"));
+            assertNull(reopened.get("k2"));
+        }
+    }
+
+    @Test
+    void newerAlgorithmVersionRetiresOlderResults() throws IOException {
+        Path file = directory.resolve("results.dat");
+        try (DiskResultStore store = DiskResultStore.open(file)) {
+            store.put("ALIGNMENT@1|a", "ALIGNMENT", 1, result("ALIGNMENT", 1));
+            store.put("MOTIF@1|a", "MOTIF", 1, result("MOTIF", 1));
+            store.put("ALIGNMENT@2|b", "ALIGNMENT", 2, result("ALIGNMENT", 2));
+
+            assertNull(store.get("ALIGNMENT@1|a"));
+            assertEquals(1, store.get("MOTIF@1|a").getData("count"));
+            assertEquals(2, store.size());
+        }
+        try (DiskResultStore reopened = DiskResultStore.open(file)) {
+            assertNull(reopened.get("ALIGNMENT@1|a"));
+            assertEquals(2, reopened.get("ALIGNMENT@2|b").getData("count"));
+        }
+    }
+
+    @Test
+    void readsAcrossSegmentsWithoutRemapping() throws IOException {
+        try (DiskResultStore store = DiskResultStore.open(directory.resolve("results.dat"), 4096)) {
+            for (int i = 0; i < 200; i++) {
+                store.put("k" + i, "MOTIF", 1, result("MOTIF", i));
+            }
+            assertTrue(store.fileSize() > 4 * 4096);
+            for (int i = 0; i < 200; i++) {
+                assertEquals(i, store.get("k" + i).getData("count"), "k" + i);
+            }
+            int mapped = store.mappedSegments();
+            assertEquals(store.fileSize() / 4096, mapped);
+
+            store.put("extra", "MOTIF", 1, result("MOTIF", -1));
+            assertEquals(-1, store.get("extra").getData("count"));
+            assertEquals(0, store.get("k0").getData("count"));
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyLiveRecords() throws IOException {
+        try (DiskResultStore store = DiskResultStore.open(directory.resolve("results.dat"), 4096)) {
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 20; i++) {
+                    store.put("k" + i, "MOTIF", 1, result("MOTIF", round * 100 + i));
+                }
+            }
+            long before = store.fileSize();
+            store.compact();
+
+            assertTrue(store.fileSize() < before / 3);
+            assertEquals(20, store.size());
+            assertEquals(419, store.get("k19").getData("count"));
+        }
+    }
+
+    @Test
+    void clearEmptiesTheStore() throws IOException {
+        try (DiskResultStore store = DiskResultStore.open(directory.resolve("results.dat"))) {
+            store.put("k1", "MOTIF", 1, result("MOTIF", 1));
+            store.get("k1");
+            store.clear();
+            assertNull(store.get("k1"));
+            assertEquals(0, store.size());
+            assertTrue(store.put("k1", "MOTIF", 1, result("MOTIF", 3)));
+            assertEquals(3, store.get("k1").getData("count"));
+        }
+    }
+
+    @Test
+    void codecRoundTripsSupportedValues() throws IOException {
+        AnalysisResult original = result("MOTIF", 42);
+        original.addData("name", "seq");
+        original.addData("ratio", 0.25);
+        original.addData("flag", true);
+        original.addData("total", 1L << 40);
+
+        AnalysisResult decoded = AnalysisResultCodec.decode(AnalysisResultCodec.encode(original));
+        assertEquals(original.getAnalysisType(), decoded.getAnalysisType());
+        assertEquals(original.getAllData(), decoded.getAllData());
+    }
+
+    private static AnalysisResult result(String type, int count) {
+        AnalysisResult result = new AnalysisResult(type);
+        result.addData("count", count);
+        result.addData("positions", List.of(1, 5, 9));
+        return result;
+    }
+}
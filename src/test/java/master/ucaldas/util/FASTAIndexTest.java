@@ -0,0 +1,70 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FASTAIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    void buildsSamtoolsCompatibleEntries() throws IOException {
+        Path fasta = write("a.fasta", ">a first record\nACGTA\nCG\n>b\nAAAAA\nAAAAA\nA\n>c\r\nACG\r\nT\r\n");
+
+        FASTAIndex index = FASTAIndex.build(fasta);
+        index.write(FASTAIndex.indexPath(fasta));
+
+        assertEquals(List.of("a\t7\t16\t5\t6", "b\t11\t28\t5\t6", "c\t4\t46\t3\t5"),
+                Files.readAllLines(FASTAIndex.indexPath(fasta)));
+        assertEquals(3, FASTAIndex.read(FASTAIndex.indexPath(fasta)).size());
+    }
+
+    @Test
+    void readsRecordsAndRegionsWithoutScanning() throws IOException {
+        Path fasta = write("b.fasta", ">chr1 description=uno\nACGTACGTAC\nGTACGTACGT\nACG\n>chr2\nTTTTT\nGG\n");
+
+        assertEquals("ACGTACGTACGTACGTACGTACG", FASTAReader.readRecord(fasta.toString(), "chr1").getSequence());
+        assertEquals("uno", FASTAReader.readRecord(fasta.toString(), "chr1").getDescription());
+        assertEquals("TACGTA", FASTAReader.readRegion(fasta.toString(), "chr1:8-13").getSequence());
+        assertEquals("TTGG", FASTAReader.readRegion(fasta.toString(), "chr2:4").getSequence());
+        assertEquals("T", FASTAReader.readRegion(fasta.toString(), "chr2:1-1").getSequence());
+        assertTrue(Files.isRegularFile(FASTAIndex.indexPath(fasta)));
+    }
+
+    @Test
+    void rejectsInvalidRegions() throws IOException {
+        Path fasta = write("c.fasta", ">chr1\nACGT\n");
+
+        assertThrows(IllegalArgumentException.class, () -> FASTAReader.readRegion(fasta.toString(), "chr9:1-2"));
+        assertThrows(IllegalArgumentException.class, () -> FASTAReader.readRegion(fasta.toString(), "chr1:0-2"));
+        assertThrows(IllegalArgumentException.class, () -> FASTAReader.readRegion(fasta.toString(), "chr1:3-2"));
+        assertThrows(IllegalArgumentException.class, () -> FASTAReader.readRegion(fasta.toString(), "chr1:x"));
+    }
+
+    @Test
+    void rejectsRaggedLinesAndDuplicateNames() throws IOException {
+        Path ragged = write("d.fasta", ">chr1\nACGT\nAC\nACGT\n");
+        Path longer = write("e.fasta", ">chr1\nACG\nACGT\n");
+        Path duplicate = write("f.fasta", ">chr1\nACGT\n>chr1\nACGT\n");
+
+        assertThrows(IOException.class, () -> FASTAIndex.build(ragged));
+        assertThrows(IOException.class, () -> FASTAIndex.build(longer));
+        assertThrows(IOException.class, () -> FASTAIndex.build(duplicate));
+    }
+}
@@ -0,0 +1,97 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import master.ucaldas.model.GeneticSequence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FASTARecordIteratorTest {
+
+    private static final String FASTA = ">alpha description=primera type=DNA\nACGTACGT\nAC\r\n"
+            + ">beta\n\nggcc\nNNAA\n"
+            + ">gamma type=RNA\nACGU";
+
+    @TempDir
+    Path directory;
+
+    private static List<GeneticSequence> drain(FASTARecordIterator iterator) {
+        List<GeneticSequence> records = new ArrayList<>();
+        iterator.forEachRemaining(records::add);
+        return records;
+    }
+
+    @Test
+    void recordsSurviveAnyBufferSplit() {
+        for (int bufferSize : new int[] {1, 2, 3, 7, 64, FASTARecordIterator.DEFAULT_BUFFER_SIZE}) {
+            List<GeneticSequence> records = drain(new FASTARecordIterator(
+                    new ByteArrayInputStream(FASTA.getBytes(StandardCharsets.UTF_8)), bufferSize));
+
+            assertEquals(List.of("alpha", "beta", "gamma"), records.stream().map(GeneticSequence::getName).toList());
+            assertEquals("ACGTACGTAC", records.get(0).getSequence());
+            assertEquals("primera", records.get(0).getDescription());
+            assertEquals("ggccNNAA", records.get(1).getSequence());
+            assertEquals("RNA", records.get(2).getType());
+            assertEquals("ACGU", records.get(2).getSequence());
+        }
+    }
+
+    @Test
+    void readsOnlyAsFarAsTheRecordsConsumed() {
+        StringBuilder fasta = new StringBuilder();
+        for (int r = 0; r < 1_000; r++) {
+            fasta.append(">r").append(r).append("\nACGTACGTACGTACGTACGT\n");
+        }
+        byte[] bytes = fasta.toString().getBytes(StandardCharsets.US_ASCII);
+        int[] consumed = {0};
+        InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                int read = super.read(b, off, len);
+                consumed[0] += Math.max(read, 0);
+                return read;
+            }
+        };
+
+        FASTARecordIterator iterator = new FASTARecordIterator(in, 256);
+
+        assertEquals("r0", iterator.next().getName());
+        assertTrue(consumed[0] <= 256);
+        assertEquals(1_000, 1 + drain(iterator).size());
+        assertEquals(bytes.length, consumed[0]);
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void streamsRecordsFromAFile() throws IOException {
+        Path file = Files.writeString(directory.resolve("a.fasta"), FASTA);
+
+        try (Stream<GeneticSequence> records = FASTAReader.stream(file.toString(), 5)) {
+            assertEquals(List.of(10, 8, 4), records.map(GeneticSequence::getLength).toList());
+        }
+        List<String> names = new ArrayList<>();
+        FASTAReader.forEachRecord(file.toString(), 3, sequence -> names.add(sequence.getName()));
+        assertEquals(List.of("alpha", "beta", "gamma"), names);
+    }
+
+    @Test
+    void rejectsEmptyBuffers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FASTARecordIterator(new ByteArrayInputStream(new byte[0]), 0));
+    }
+}
@@ -0,0 +1,40 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsUpToFifteen() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("hot");
+        }
+
+        assertEquals(5, sketch.frequency("hot"));
+        assertEquals(0, sketch.frequency("cold"));
+
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(15, sketch.frequency("hot"));
+    }
+
+    @Test
+    void agesCountersAfterTheSamplePeriod() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        for (int i = 0; i < 15; i++) {
+            sketch.increment("hot");
+        }
+
+        for (int i = 0; i < 10 * 1024; i++) {
+            sketch.increment(i);
+        }
+
+        int frequency = sketch.frequency("hot");
+        assertTrue(frequency >= 7 && frequency <= 8, "frecuencia " + frequency);
+    }
+}
@@ -0,0 +1,72 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import master.ucaldas.model.GeneticSequence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFASTAParserTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parsesHeadersWrappedLinesAndLineEndings() throws IOException {
+        String fasta = ">seq1 description=first type=DNA\r\nACGT\r\nacgN\r\n\n"
+                + ">seq2 type=RNA\nACGU\nAC\n"
+                + ">empty\n"
+                + ">last\nGGGG";
+        Path file = directory.resolve("small.fasta");
+        Files.writeString(file, fasta);
+
+        List<GeneticSequence> sequences = MappedFASTAParser.parse(file);
+
+        assertEquals(List.of("seq1", "seq2", "empty", "last"), sequences.stream().map(GeneticSequence::getName).toList());
+        assertEquals("ACGTacgN", sequences.get(0).getSequence());
+        assertEquals("first", sequences.get(0).getDescription());
+        assertEquals("ACGUAC", sequences.get(1).getSequence());
+        assertEquals("RNA", sequences.get(1).getType());
+        assertEquals("", sequences.get(2).getSequence());
+        assertEquals("GGGG", sequences.get(3).getSequence());
+    }
+
+    @Test
+    void parallelChunksMatchASequentialParse() throws IOException {
+        Path file = directory.resolve("large.fasta");
+        Random random = new Random(61);
+        char[] line = new char[60];
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int record = 0; record < 400; record++) {
+                writer.write(">r" + record + "\n");
+                int lines = 500 + random.nextInt(500);
+                for (int l = 0; l < lines; l++) {
+                    for (int i = 0; i < line.length; i++) {
+                        line[i] = "ACGT".charAt(random.nextInt(4));
+                    }
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        }
+
+        List<GeneticSequence> mapped = MappedFASTAParser.parse(file);
+        List<GeneticSequence> sequential = MappedFASTAParser.parse(new ByteArrayInputStream(Files.readAllBytes(file)));
+
+        assertEquals(400, mapped.size());
+        assertEquals(sequential.size(), mapped.size());
+        for (int i = 0; i < mapped.size(); i++) {
+            assertEquals("r" + i, mapped.get(i).getName());
+            assertEquals(sequential.get(i).getDigest(), mapped.get(i).getDigest());
+        }
+    }
+}
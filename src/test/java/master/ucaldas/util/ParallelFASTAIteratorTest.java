@@ -0,0 +1,111 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import master.ucaldas.model.GeneticSequence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelFASTAIteratorTest {
+
+    @TempDir
+    Path directory;
+
+    private static String fasta(int records, long seed) {
+        Random random = new Random(seed);
+        StringBuilder fasta = new StringBuilder();
+        for (int r = 0; r < records; r++) {
+            fasta.append(">r").append(r).append(r % 3 == 0 ? " type=RNA" : "").append('\n');
+            int lines = 1 + random.nextInt(6);
+            for (int l = 0; l < lines; l++) {
+                int length = 1 + random.nextInt(70);
+                for (int i = 0; i < length; i++) {
+                    fasta.append("ACGTN".charAt(random.nextInt(5)));
+                }
+                fasta.append(l % 2 == 0 ? "\n" : "\r\n");
+            }
+        }
+        return fasta.toString();
+    }
+
+    private static List<String> drain(ParallelFASTAIterator iterator) {
+        List<String> records = new ArrayList<>();
+        iterator.forEachRemaining(sequence -> records.add(sequence.getName() + ":" + sequence.getType()
+                + ":" + sequence.getSequence()));
+        return records;
+    }
+
+    @Test
+    void yieldsRecordsInFileOrderForAnyChunkSize() throws IOException {
+        Path file = Files.writeString(directory.resolve("a.fasta"), fasta(300, 19));
+        List<String> expected = new ArrayList<>();
+        for (GeneticSequence sequence : MappedFASTAParser.parse(file)) {
+            expected.add(sequence.getName() + ":" + sequence.getType() + ":" + sequence.getSequence());
+        }
+
+        for (int chunkSize : new int[] {1, 7, 100, 4_096, 1 << 20}) {
+            for (int lookAhead : new int[] {1, 2, 8}) {
+                try (ParallelFASTAIterator iterator = new ParallelFASTAIterator(file, chunkSize, lookAhead)) {
+                    assertEquals(expected, drain(iterator));
+                    assertFalse(iterator.hasNext());
+                    assertThrows(NoSuchElementException.class, iterator::next);
+                }
+            }
+        }
+    }
+
+    @Test
+    void parsesAtMostTheLookAheadBeyondTheCurrentChunk() throws IOException {
+        Path file = Files.writeString(directory.resolve("b.fasta"), fasta(1_000, 23));
+
+        try (ParallelFASTAIterator iterator = new ParallelFASTAIterator(file, 256, 3)) {
+            int records = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                records++;
+                assertTrue(iterator.chunksInFlight() <= 3);
+            }
+            assertEquals(1_000, records);
+        }
+    }
+
+    @Test
+    void readerStreamsPlainAndCompressedFilesAlike() throws IOException {
+        String text = fasta(200, 29);
+        Path plain = Files.writeString(directory.resolve("c.fasta"), text);
+        Path gzip = directory.resolve("c.fasta.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        List<String> fromPlain = new ArrayList<>();
+        FASTAReader.forEachRecord(plain.toString(), 512, sequence -> fromPlain.add(sequence.getSequence()));
+        List<String> fromGzip = new ArrayList<>();
+        FASTAReader.forEachRecord(gzip.toString(), 512, sequence -> fromGzip.add(sequence.getSequence()));
+
+        assertEquals(200, fromPlain.size());
+        assertEquals(fromPlain, fromGzip);
+    }
+
+    @Test
+    void rejectsNonPositiveShapes() throws IOException {
+        Path file = Files.writeString(directory.resolve("d.fasta"), ">a\nACGT\n");
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelFASTAIterator(file, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelFASTAIterator(file, 1, 0));
+    }
+}
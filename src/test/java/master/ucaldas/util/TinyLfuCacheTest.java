@@ -0,0 +1,138 @@
+package master.ucaldas.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import master.ucaldas.util.TinyLfuCache.RemovalCause;
+import org.junit.jupiter.api.Test;
+
+class TinyLfuCacheTest {
+
+    private static TinyLfuCache<Integer, String> cache(long maximumWeight, Duration ttl) {
+        return new TinyLfuCache<>(maximumWeight, ttl, 1024, String::length);
+    }
+
+    @Test
+    void staysWithinTheWeightBudget() {
+        TinyLfuCache<Integer, String> cache = cache(100, null);
+        Map<RemovalCause, AtomicInteger> causes = new ConcurrentHashMap<>();
+        cache.addRemovalListener((key, value, cause) -> causes.computeIfAbsent(cause, c -> new AtomicInteger()).incrementAndGet());
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, "x".repeat(1 + i % 4));
+        }
+
+        assertTrue(cache.weightedSize() <= 100);
+        assertEquals(cache.weightedSize(), cache.values().stream().mapToLong(String::length).sum());
+        assertEquals(cache.evictionCount(), causes.get(RemovalCause.SIZE).get());
+        assertEquals(1_000, cache.size() + cache.evictionCount());
+    }
+
+    @Test
+    void frequentlyReadEntriesSurviveAScan() {
+        TinyLfuCache<Integer, String> cache = cache(100, null);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, "v");
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(i);
+            }
+        }
+
+        for (int i = 1_000; i < 5_000; i++) {
+            cache.put(i, "v");
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("v", cache.peek(i), "clave " + i);
+        }
+    }
+
+    @Test
+    void reportsReplacementsRemovalsAndOversizedValues() {
+        TinyLfuCache<Integer, String> cache = cache(10, null);
+        List<String> events = new ArrayList<>();
+        cache.addRemovalListener((key, value, cause) -> events.add(key + ":" + value + ":" + cause));
+
+        cache.put(1, "a");
+        cache.put(1, "b");
+        cache.put(2, "x".repeat(11));
+        cache.remove(1);
+
+        assertEquals(List.of("1:a:REPLACED", "2:" + "x".repeat(11) + ":SIZE", "1:b:EXPLICIT"), events);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        TinyLfuCache<Integer, String> cache = cache(10, null);
+        cache.put(1, "a");
+
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+        cache.peek(2);
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void expiresEntriesAfterTheirTimeToLive() throws InterruptedException {
+        TinyLfuCache<Integer, String> cache = cache(10, Duration.ofMillis(20));
+        List<RemovalCause> causes = new ArrayList<>();
+        cache.addRemovalListener((key, value, cause) -> causes.add(cause));
+        cache.put(1, "a");
+
+        Thread.sleep(50);
+
+        assertNull(cache.get(1));
+        assertEquals(List.of(RemovalCause.EXPIRED), causes);
+    }
+
+    @Test
+    void concurrentReadersAndWritersKeepTheAccountingConsistent() throws Exception {
+        TinyLfuCache<Integer, String> cache = cache(500, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = random.nextInt(2_000);
+                        if (random.nextInt(4) == 0) {
+                            cache.put(key, "x".repeat(1 + key % 8));
+                        } else {
+                            String value = cache.get(key);
+                            assertTrue(value == null || value.length() == 1 + key % 8);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cache.weightedSize() <= 500);
+        assertEquals(cache.weightedSize(), cache.values().stream().mapToLong(String::length).sum());
+    }
+}